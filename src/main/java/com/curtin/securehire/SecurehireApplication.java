@@ -4,10 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories("com.curtin.securehire.repository.db")
 @EnableElasticsearchRepositories("com.curtin.securehire.repository.es")
+@EnableScheduling
+@EnableAsync
 public class SecurehireApplication {
 
 	public static void main(String[] args) {
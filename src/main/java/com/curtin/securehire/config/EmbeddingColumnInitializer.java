@@ -0,0 +1,79 @@
+package com.curtin.securehire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sizes the {@code embedding vector(n)} columns to {@code recommendation.embedding.dimension}.
+ *
+ * <p>Hibernate creates them as {@code vector(1536)} and never alters an existing column, so a different
+ * dimension (e.g. the hashing provider's) would fail on the first insert. Empty tables are altered in
+ * place and the embedding cache is emptied first, since cached vectors of another size are useless. A
+ * table that already holds embeddings of another size stops startup: those rows have to be deleted and
+ * re-embedded. Runs before the vector indexes are loaded.</p>
+ */
+@Component
+public class EmbeddingColumnInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingColumnInitializer.class);
+
+    private static final List<String> TABLES = List.of("job_embeddings", "user_embeddings");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${recommendation.embedding.dimension:1536}")
+    private int dimension;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void resizeEmbeddingColumns() {
+        if (needsResize("embedding_cache")) {
+            jdbcTemplate.update("DELETE FROM embedding_cache");
+            resize("embedding_cache");
+        }
+        for (String table : TABLES) {
+            if (!needsResize(table)) {
+                continue;
+            }
+            Boolean populated = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE embedding IS NOT NULL)", Boolean.class);
+            if (Boolean.TRUE.equals(populated)) {
+                throw new IllegalStateException(table + ".embedding holds vectors of " + columnDimension(table) +
+                        " dimensions but recommendation.embedding.dimension is " + dimension +
+                        "; delete its rows so they are re-embedded, or set the dimension back");
+            }
+            resize(table);
+        }
+    }
+
+    private boolean needsResize(String table) {
+        Integer current = columnDimension(table);
+        return current != null && current != dimension;
+    }
+
+    /**
+     * Declared dimension of {@code table.embedding} (pgvector keeps it in the type modifier), or null if
+     * the table does not exist yet.
+     */
+    private Integer columnDimension(String table) {
+        List<Integer> typmod = jdbcTemplate.queryForList(
+                "SELECT atttypmod FROM pg_attribute WHERE attrelid = to_regclass(?) AND attname = 'embedding'",
+                Integer.class, table);
+        return typmod.isEmpty() ? null : typmod.get(0);
+    }
+
+    private void resize(String table) {
+        logger.info("Resizing {}.embedding from vector({}) to vector({})", table, columnDimension(table), dimension);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN embedding TYPE vector(" + dimension + ")");
+    }
+}
@@ -0,0 +1,71 @@
+package com.curtin.securehire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the Postgres full-text search columns and indexes behind {@code searchFullText} /
+ * {@code suggestFullText} in the repositories, which serve search while Elasticsearch is unavailable.
+ *
+ * <p>Each searchable table gets a generated {@code search_vector tsvector} column, with the name-like
+ * column at weight A so prefix suggestions can be restricted to it, and a GIN index on it. The name
+ * column also gets a pg_trgm GIN index, used for fuzzy matching and by the existing {@code LIKE '%x%'}
+ * queries. Runs once the schema is up to date (Hibernate creates the tables); every statement is
+ * idempotent. The {@code pg_trgm} extension itself is created in {@code schema.sql}.</p>
+ */
+@Component
+public class FullTextSearchInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(FullTextSearchInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchColumns() {
+        List<String> statements = new ArrayList<>();
+        statements.addAll(searchVector("jobs", "title", "requirement", "responsibility", "description"));
+        statements.addAll(searchVector("candidates", "name", "email"));
+        statements.addAll(searchVector("recruiters", "company_name", "email", "description"));
+        statements.addAll(searchVector("skills", "name"));
+        statements.addAll(searchVector("locations", "name"));
+
+        int failed = 0;
+        for (String statement : statements) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (Exception e) {
+                // Only the Postgres search fallback depends on these; the next start tries again
+                logger.error("Failed to prepare full-text search: {} ({})", statement, e.getMessage());
+                failed++;
+            }
+        }
+        if (failed == 0) {
+            logger.info("Full-text search columns and indexes are in place");
+        }
+    }
+
+    /**
+     * Generated tsvector over {@code columns}, weighted A, B, C, D in order, with its GIN index and a
+     * trigram index on the first column.
+     */
+    private static List<String> searchVector(String table, String... columns) {
+        List<String> parts = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            parts.add("setweight(to_tsvector('simple', coalesce(" + columns[i] + ", '')), '" + (char) ('A' + Math.min(i, 3)) + "')");
+        }
+        return List.of(
+                "ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                        "GENERATED ALWAYS AS (" + String.join(" || ", parts) + ") STORED",
+                "CREATE INDEX IF NOT EXISTS " + table + "_search_vector_idx ON " + table + " USING gin (search_vector)",
+                "CREATE INDEX IF NOT EXISTS " + table + "_" + columns[0] + "_trgm_idx ON " + table +
+                        " USING gin (" + columns[0] + " gin_trgm_ops)");
+    }
+}
@@ -0,0 +1,37 @@
+package com.curtin.securehire.config;
+
+import com.curtin.securehire.constant.EmbeddingStorage;
+import com.curtin.securehire.service.db.vector.HnswVectorIndex;
+import com.curtin.securehire.service.db.vector.VectorIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class VectorIndexConfig {
+
+    @Value("${recommendation.embedding.dimension:1536}")
+    private int dimension;
+
+    @Value("${recommendation.embedding.storage:FLOAT32}")
+    private EmbeddingStorage storage;
+
+    @Value("${recommendation.vector-index.m:16}")
+    private int m;
+
+    @Value("${recommendation.vector-index.ef-construction:200}")
+    private int efConstruction;
+
+    @Value("${recommendation.vector-index.ef-search:64}")
+    private int efSearch;
+
+    @Bean
+    public VectorIndex jobVectorIndex() {
+        return new HnswVectorIndex(dimension, m, efConstruction, efSearch, storage == EmbeddingStorage.INT8);
+    }
+
+    @Bean
+    public VectorIndex userVectorIndex() {
+        return new HnswVectorIndex(dimension, m, efConstruction, efSearch, storage == EmbeddingStorage.INT8);
+    }
+}
@@ -0,0 +1,200 @@
+package com.curtin.securehire.config;
+
+import com.curtin.securehire.constant.EmbeddingStorage;
+import com.curtin.securehire.service.db.vector.QuantizedVector;
+import com.curtin.securehire.service.db.vector.VectorIndex;
+import com.curtin.securehire.service.db.vector.Vectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the in-memory job and user vector indexes from {@code job_embeddings} and {@code user_embeddings}
+ * once the application is ready. Until loading finishes, recommendation queries fall back to pgvector.
+ *
+ * <p>Embeddings are written by whichever node ran the embedding task, so every {@code refresh-interval-ms}
+ * each node reloads the rows whose {@code updated_at} moved since its last refresh (less an overlap for
+ * late commits), and drops ids whose rows were deleted elsewhere once the index holds more vectors than
+ * the table.</p>
+ */
+@Component
+public class VectorIndexLoader implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(VectorIndexLoader.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("jobVectorIndex")
+    private VectorIndex jobVectorIndex;
+
+    @Autowired
+    @Qualifier("userVectorIndex")
+    private VectorIndex userVectorIndex;
+
+    @Value("${recommendation.vector-index.engine:hnsw}")
+    private String engine;
+
+    @Value("${recommendation.embedding.storage:FLOAT32}")
+    private EmbeddingStorage storage;
+
+    private volatile boolean jobIndexLoaded = false;
+
+    private volatile boolean userIndexLoaded = false;
+
+    // Database time each table was last read up to
+    private volatile Timestamp jobsLoadedAt;
+
+    private volatile Timestamp usersLoadedAt;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!"hnsw".equalsIgnoreCase(engine)) {
+            logger.info("Vector index engine is '{}', skipping in-memory index load", engine);
+            return;
+        }
+
+        logger.info("Loading job embeddings into in-memory HNSW index...");
+        long start = System.currentTimeMillis();
+        try {
+            jobsLoadedAt = databaseNow();
+            int loaded = loadTable("job_embeddings", "job_id", jobVectorIndex, null);
+            jobIndexLoaded = true;
+            logger.info("Loaded {} job embeddings into HNSW index in {} ms", loaded, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to load job embeddings into HNSW index, pgvector will be used instead", e);
+        }
+
+        logger.info("Loading user embeddings into in-memory HNSW index...");
+        start = System.currentTimeMillis();
+        try {
+            usersLoadedAt = databaseNow();
+            int loaded = loadTable("user_embeddings", "user_id", userVectorIndex, null);
+            userIndexLoaded = true;
+            logger.info("Loaded {} user embeddings into HNSW index in {} ms", loaded, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to load user embeddings into HNSW index, pgvector will be used instead", e);
+        }
+    }
+
+    /**
+     * Apply embeddings written or deleted by other nodes since the last load or refresh.
+     */
+    @Scheduled(fixedDelayString = "${recommendation.vector-index.refresh-interval-ms:30000}",
+            initialDelayString = "${recommendation.vector-index.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (jobIndexLoaded) {
+            try {
+                jobsLoadedAt = refreshTable("job_embeddings", "job_id", jobVectorIndex, jobsLoadedAt);
+            } catch (Exception e) {
+                logger.error("Failed to refresh the job HNSW index: {}", e.getMessage(), e);
+            }
+        }
+        if (userIndexLoaded) {
+            try {
+                usersLoadedAt = refreshTable("user_embeddings", "user_id", userVectorIndex, usersLoadedAt);
+            } catch (Exception e) {
+                logger.error("Failed to refresh the user HNSW index: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    public boolean isJobIndexLoaded() {
+        return jobIndexLoaded;
+    }
+
+    public boolean isUserIndexLoaded() {
+        return userIndexLoaded;
+    }
+
+    /**
+     * @return the database time the table has now been read up to
+     */
+    private Timestamp refreshTable(String table, String idColumn, VectorIndex index, Timestamp since) {
+        Timestamp now = databaseNow();
+        int changed = loadTable(table, idColumn, index, Timestamp.from(since.toInstant().minus(REFRESH_OVERLAP)));
+
+        int removed = 0;
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE embedding IS NOT NULL", Long.class);
+        if (rows != null && index.size() > rows) {
+            // Snapshot first: ids added to the index after this point were committed before they were added,
+            // so they are in the id list read next and are never removed by mistake
+            int[] indexed = index.ids();
+            Set<Integer> stored = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT " + idColumn + " FROM " + table + " WHERE embedding IS NOT NULL", Integer.class));
+            for (int id : indexed) {
+                if (!stored.contains(id)) {
+                    index.remove(id);
+                    removed++;
+                }
+            }
+        }
+        if (changed > 0 || removed > 0) {
+            logger.info("Refreshed HNSW index from {}: {} changed, {} removed", table, changed, removed);
+        }
+        return now;
+    }
+
+    private Timestamp databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT now()", Timestamp.class);
+    }
+
+    /**
+     * Page through an embedding table by primary key so only one page of vectors is held in memory at a time.
+     * In INT8 storage mode the quantized column is read when present, which moves about a tenth of the bytes
+     * of the text-encoded float column.
+     *
+     * @param updatedAfter only rows updated after this time, or every row when null
+     */
+    private int loadTable(String table, String idColumn, VectorIndex index, Timestamp updatedAfter) {
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger lastId = new AtomicInteger(Integer.MIN_VALUE);
+        boolean int8 = storage == EmbeddingStorage.INT8;
+        String columns = int8
+                ? "embedding_int8, embedding_scale, CASE WHEN embedding_int8 IS NULL THEN embedding::text END"
+                : "NULL, NULL, embedding::text";
+        String sql = "SELECT " + idColumn + ", " + columns + " FROM " + table +
+                " WHERE embedding IS NOT NULL AND " + idColumn + " > ?" +
+                (updatedAfter != null ? " AND updated_at > ?" : "") +
+                " ORDER BY " + idColumn + " LIMIT ?";
+
+        int pageCount;
+        do {
+            AtomicInteger rows = new AtomicInteger();
+            jdbcTemplate.query(sql, rs -> {
+                int id = rs.getInt(1);
+                byte[] codes = rs.getBytes(2);
+                if (codes != null) {
+                    index.upsert(id, new QuantizedVector(codes, rs.getFloat(3)));
+                } else {
+                    index.upsert(id, Vectors.parse(rs.getString(4)));
+                }
+                lastId.set(id);
+                rows.incrementAndGet();
+            }, updatedAfter != null
+                    ? new Object[]{lastId.get(), updatedAfter, PAGE_SIZE}
+                    : new Object[]{lastId.get(), PAGE_SIZE});
+            pageCount = rows.get();
+            loaded.addAndGet(pageCount);
+        } while (pageCount == PAGE_SIZE);
+
+        return loaded.get();
+    }
+}
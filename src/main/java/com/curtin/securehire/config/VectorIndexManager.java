@@ -0,0 +1,382 @@
+package com.curtin.securehire.config;
+
+import com.curtin.securehire.dto.VectorIndexState;
+import com.curtin.securehire.exception.NotFoundException;
+import com.curtin.securehire.service.db.impl.AdvisoryLockService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the lifecycle of the pgvector ANN indexes on {@code job_embeddings} and {@code user_embeddings}.
+ *
+ * <ul>
+ *     <li>Sizing: ivfflat {@code lists} is rows / 1000 up to a million rows and sqrt(rows) beyond; hnsw
+ *     {@code m}/{@code ef_construction} step up past a million rows. Tables below {@code min-rows} get no
+ *     index, since an exact scan is fast there and ivfflat centroids trained on a handful of rows are
+ *     useless once the table grows.</li>
+ *     <li>Rebuild: the row count an index was built for is stored in its comment. Once the table has grown
+ *     by {@code rebuild-growth-factor} the index is rebuilt with {@code CREATE INDEX CONCURRENTLY} under a
+ *     temporary name and swapped in by rename, so queries always have an index.</li>
+ *     <li>Search parameter: after each build, sampled stored vectors are used as queries and the smallest
+ *     {@code ivfflat.probes} (or {@code hnsw.ef_search}) reaching {@code target-recall} within
+ *     {@code max-query-latency-ms} is kept. {@link #applySearchParameters} sets it per transaction.</li>
+ * </ul>
+ *
+ * <p>Checks and builds run one at a time on a background thread, and a build also takes a Postgres
+ * advisory lock, so two nodes never build the same index at once.</p>
+ */
+@Component
+public class VectorIndexManager {
+    private static final Logger logger = LoggerFactory.getLogger(VectorIndexManager.class);
+
+    private static final Map<String, String> ID_COLUMNS = Map.of(
+            "job_embeddings", "job_id",
+            "user_embeddings", "user_id");
+
+    private static final String BUILT_FOR_PREFIX = "rows=";
+
+    // pg_try_advisory_lock key shared by every node maintaining the pgvector indexes
+    private static final long INDEX_BUILD_LOCK = 0x564543494E444558L;
+
+    private static final String DESCRIBE_INDEX_SQL =
+            "SELECT am.amname, c.reloptions, obj_description(c.oid, 'pg_class'), i.indisvalid " +
+                    "FROM pg_class c " +
+                    "JOIN pg_index i ON i.indexrelid = c.oid " +
+                    "JOIN pg_am am ON am.oid = c.relam " +
+                    "WHERE c.relname = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AdvisoryLockService advisoryLockService;
+
+    @Value("${recommendation.pgvector.method:ivfflat}")
+    private String method;
+
+    @Value("${recommendation.pgvector.min-rows:1000}")
+    private long minRows;
+
+    @Value("${recommendation.pgvector.rebuild-growth-factor:2.0}")
+    private double growthFactor;
+
+    @Value("${recommendation.pgvector.target-recall:0.95}")
+    private double targetRecall;
+
+    @Value("${recommendation.pgvector.max-query-latency-ms:50}")
+    private double maxQueryLatencyMs;
+
+    @Value("${recommendation.pgvector.calibration-queries:20}")
+    private int calibrationQueries;
+
+    @Value("${recommendation.pgvector.calibration-k:10}")
+    private int calibrationK;
+
+    private final Map<String, VectorIndexState> states = new ConcurrentHashMap<>();
+
+    // Index builds are heavy; never run two at once
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    // Builds take minutes, so they run here rather than on the scheduler or a request thread
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("vector-index-build").factory());
+
+    @Scheduled(initialDelayString = "${recommendation.pgvector.check-initial-delay-ms:10000}",
+            fixedDelayString = "${recommendation.pgvector.check-interval-ms:900000}")
+    public void checkAll() {
+        for (String table : ID_COLUMNS.keySet()) {
+            executor.execute(() -> check(table, false));
+        }
+    }
+
+    /**
+     * Rebuild a table's index in the background, regardless of growth.
+     *
+     * @return the index state at the time of the request; poll {@link #getStates} for progress
+     */
+    public VectorIndexState rebuild(String table) {
+        if (!ID_COLUMNS.containsKey(table)) {
+            throw new NotFoundException("No managed vector index for table: " + table);
+        }
+        executor.execute(() -> check(table, true));
+        return states.computeIfAbsent(table, this::newState);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<VectorIndexState> getStates() {
+        List<VectorIndexState> result = new ArrayList<>();
+        for (String table : ID_COLUMNS.keySet()) {
+            result.add(states.computeIfAbsent(table, this::newState));
+        }
+        return result;
+    }
+
+    /**
+     * Set the calibrated {@code ivfflat.probes} / {@code hnsw.ef_search} for the current transaction.
+     * {@code SET LOCAL} only lasts until commit, so this is a no-op outside a transaction.
+     */
+    public void applySearchParameters(String table) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        VectorIndexState state = states.get(table);
+        if (state == null || state.getStatus() != VectorIndexState.Status.READY || state.getSearchParameter() <= 0) {
+            return;
+        }
+        jdbcTemplate.execute("SET LOCAL " + searchGuc(state.getMethod()) + " = " + state.getSearchParameter());
+    }
+
+    private void check(String table, boolean force) {
+        if (!buildLock.tryLock()) {
+            logger.info("Vector index build in progress, skipping check of {}", table);
+            return;
+        }
+        VectorIndexState state = states.computeIfAbsent(table, this::newState);
+        try {
+            long rows = estimateRows(table);
+            state.setRows(rows);
+            ExistingIndex existing = describeIndex(state.getIndexName());
+            if (existing != null && state.getRowsAtBuild() == 0) {
+                state.setRowsAtBuild(existing.rowsAtBuild);
+                state.setMethod(existing.method);
+                state.setBuildParameter(existing.buildParameter);
+            }
+
+            if (rows < minRows && !force) {
+                state.setStatus(existing != null ? VectorIndexState.Status.READY : VectorIndexState.Status.NOT_NEEDED);
+                return;
+            }
+
+            boolean stale = existing == null
+                    || !existing.valid
+                    || !existing.method.equalsIgnoreCase(method)
+                    || rows >= existing.rowsAtBuild * growthFactor;
+            if (force || stale) {
+                boolean built = advisoryLockService.tryRun(INDEX_BUILD_LOCK, () -> {
+                    build(state, rows, existing != null);
+                    calibrate(state);
+                });
+                if (!built) {
+                    logger.info("Another node is building a vector index, skipping build of {}", table);
+                    state.setStatus(existing != null && existing.valid
+                            ? VectorIndexState.Status.READY : VectorIndexState.Status.MISSING);
+                }
+            } else {
+                state.setStatus(VectorIndexState.Status.READY);
+                if (state.getCalibratedRecall() < 0) {
+                    calibrate(state);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Vector index maintenance failed for {}", table, e);
+            state.setStatus(VectorIndexState.Status.FAILED);
+            state.setLastError(e.getMessage());
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void build(VectorIndexState state, long rows, boolean replace) {
+        String table = state.getTable();
+        String indexName = state.getIndexName();
+        String building = indexName + "_new";
+        String retired = indexName + "_old";
+
+        String with;
+        if ("hnsw".equalsIgnoreCase(method)) {
+            int m = rows < 1_000_000 ? 16 : 24;
+            int efConstruction = rows < 1_000_000 ? 64 : 128;
+            with = "m = " + m + ", ef_construction = " + efConstruction;
+            state.setBuildParameter(m);
+            state.setEfConstruction(efConstruction);
+            state.setSearchParameter(40);
+        } else {
+            int lists = (int) Math.max(1, rows <= 1_000_000 ? rows / 1000 : Math.sqrt(rows));
+            with = "lists = " + lists;
+            state.setBuildParameter(lists);
+            state.setEfConstruction(0);
+            state.setSearchParameter((int) Math.max(1, Math.round(Math.sqrt(lists))));
+        }
+
+        logger.info("Building {} index on {} for {} rows ({})", method, table, rows, with);
+        state.setStatus(VectorIndexState.Status.BUILDING);
+        state.setMethod(method.toLowerCase());
+        state.setLastBuildStartedAt(Instant.now());
+        state.setLastError(null);
+        long start = System.currentTimeMillis();
+
+        // A failed concurrent build leaves an invalid index behind
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + building);
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + retired);
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY " + building + " ON " + table +
+                " USING " + method.toLowerCase() + " (embedding vector_cosine_ops) WITH (" + with + ")");
+        if (replace) {
+            jdbcTemplate.execute("ALTER INDEX " + indexName + " RENAME TO " + retired);
+        }
+        jdbcTemplate.execute("ALTER INDEX " + building + " RENAME TO " + indexName);
+        jdbcTemplate.execute("COMMENT ON INDEX " + indexName + " IS '" + BUILT_FOR_PREFIX + rows + "'");
+        if (replace) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + retired);
+        }
+
+        state.setRowsAtBuild(rows);
+        state.setLastBuildDurationMs(System.currentTimeMillis() - start);
+        state.setCalibratedRecall(-1);
+        state.setStatus(VectorIndexState.Status.READY);
+        logger.info("Built {} in {} ms", indexName, state.getLastBuildDurationMs());
+    }
+
+    /**
+     * Pick the smallest search parameter that reaches the recall target within the latency budget, using
+     * stored vectors as queries and an exact scan as ground truth.
+     */
+    private void calibrate(VectorIndexState state) {
+        String table = state.getTable();
+        List<String> samples = jdbcTemplate.queryForList(
+                "SELECT embedding::text FROM " + table + " WHERE embedding IS NOT NULL ORDER BY random() LIMIT ?",
+                String.class, calibrationQueries);
+        if (samples.isEmpty()) {
+            return;
+        }
+
+        List<Set<Integer>> truth = new ArrayList<>(samples.size());
+        for (String sample : samples) {
+            truth.add(new HashSet<>(transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+                return nearestIds(table, sample);
+            })));
+        }
+
+        boolean hnsw = "hnsw".equalsIgnoreCase(state.getMethod());
+        int maxValue = hnsw ? 1000 : Math.max(1, state.getBuildParameter());
+        int chosen = -1;
+        double chosenRecall = 0;
+        double chosenLatency = 0;
+        for (int value = hnsw ? calibrationK : 1; value <= maxValue; value = nextCandidate(value, maxValue)) {
+            int current = value;
+            long start = System.nanoTime();
+            int found = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL " + searchGuc(state.getMethod()) + " = " + current);
+                int hits = 0;
+                for (int i = 0; i < samples.size(); i++) {
+                    for (Integer id : nearestIds(table, samples.get(i))) {
+                        if (truth.get(i).contains(id)) {
+                            hits++;
+                        }
+                    }
+                }
+                return hits;
+            });
+            double latencyMs = (System.nanoTime() - start) / 1e6 / samples.size();
+            double recall = found / (double) truth.stream().mapToInt(Set::size).sum();
+
+            if (latencyMs > maxQueryLatencyMs && chosen > 0) {
+                break;
+            }
+            chosen = current;
+            chosenRecall = recall;
+            chosenLatency = latencyMs;
+            if (recall >= targetRecall) {
+                break;
+            }
+        }
+
+        state.setSearchParameter(chosen);
+        state.setCalibratedRecall(chosenRecall);
+        state.setCalibratedLatencyMs(chosenLatency);
+        logger.info("Calibrated {} for {}: {} = {} gives recall@{} {} at {} ms/query",
+                state.getIndexName(), table, searchGuc(state.getMethod()), chosen, calibrationK,
+                String.format("%.3f", chosenRecall), String.format("%.1f", chosenLatency));
+    }
+
+    private static int nextCandidate(int value, int maxValue) {
+        return value == maxValue ? maxValue + 1 : Math.min(value * 2, maxValue);
+    }
+
+    private List<Integer> nearestIds(String table, String vector) {
+        return jdbcTemplate.queryForList("SELECT " + ID_COLUMNS.get(table) + " FROM " + table +
+                        " ORDER BY embedding <=> CAST(? AS vector) LIMIT ?",
+                Integer.class, vector, calibrationK);
+    }
+
+    private long estimateRows(String table) {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(reltuples), -1)::bigint FROM pg_class WHERE relname = ?", Long.class, table);
+        if (estimate == null || estimate <= 0) {
+            // Never analysed (or truly empty): count, which is cheap exactly when the estimate is missing
+            estimate = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        }
+        return estimate != null ? estimate : 0;
+    }
+
+    private ExistingIndex describeIndex(String indexName) {
+        List<ExistingIndex> found = jdbcTemplate.query(DESCRIBE_INDEX_SQL, (rs, rowNum) -> {
+            ExistingIndex index = new ExistingIndex();
+            index.method = rs.getString(1);
+            Array options = rs.getArray(2);
+            if (options != null) {
+                for (String option : (String[]) options.getArray()) {
+                    String[] pair = option.split("=", 2);
+                    if (pair[0].equals("lists") || pair[0].equals("m")) {
+                        index.buildParameter = Integer.parseInt(pair[1]);
+                    }
+                }
+            }
+            String comment = rs.getString(3);
+            if (comment != null && comment.startsWith(BUILT_FOR_PREFIX)) {
+                index.rowsAtBuild = Long.parseLong(comment.substring(BUILT_FOR_PREFIX.length()));
+            }
+            index.valid = rs.getBoolean(4);
+            return index;
+        }, indexName);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private VectorIndexState newState(String table) {
+        VectorIndexState state = new VectorIndexState();
+        state.setTable(table);
+        state.setIndexName("idx_" + table + "_vector");
+        state.setMethod(method.toLowerCase());
+        state.setStatus(VectorIndexState.Status.MISSING);
+        return state;
+    }
+
+    private static String searchGuc(String method) {
+        return "hnsw".equalsIgnoreCase(method) ? "hnsw.ef_search" : "ivfflat.probes";
+    }
+
+    private static final class ExistingIndex {
+        private String method;
+        private int buildParameter;
+        // 0 when the index predates this manager, so it is treated as built on an empty table
+        private long rowsAtBuild;
+        private boolean valid;
+    }
+}
@@ -0,0 +1,6 @@
+package com.curtin.securehire.constant;
+
+public enum EmbeddingStorage {
+    FLOAT32, // float[] only
+    INT8     // float[] plus a scalar-quantized copy used by the in-memory index
+}
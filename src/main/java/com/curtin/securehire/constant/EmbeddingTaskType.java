@@ -0,0 +1,6 @@
+package com.curtin.securehire.constant;
+
+public enum EmbeddingTaskType {
+    JOB,       // job_embeddings, entity id is the job id
+    CANDIDATE  // user_embeddings, entity id is the candidate id
+}
@@ -0,0 +1,9 @@
+package com.curtin.securehire.constant;
+
+public enum SearchBootstrapState {
+    PENDING,  // application still starting, nothing checked yet
+    RUNNING,  // checking freshness or indexing
+    READY,    // index matches the database
+    DEFERRED, // another node held the sync lock at startup; READY after this node's first scheduled sync
+    FAILED    // left to the scheduled sync, which resumes from the last checkpoint
+}
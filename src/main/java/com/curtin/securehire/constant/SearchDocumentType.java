@@ -0,0 +1,9 @@
+package com.curtin.securehire.constant;
+
+public enum SearchDocumentType {
+    CANDIDATE,
+    RECRUITER,
+    SKILL,
+    LOCATION,
+    JOB
+}
@@ -0,0 +1,40 @@
+package com.curtin.securehire.controller;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.dto.SearchSyncState;
+import com.curtin.securehire.service.es.ElasticsearchSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Elasticsearch sync state and full rebuilds. Admins only, through the {@code /api/admin/**} rule in
+ * {@code SecurityConfig}: a rebuild re-reads every table.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/search-sync")
+public class AdminSearchSyncController {
+
+    @Autowired
+    private ElasticsearchSyncService elasticsearchSyncService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchSyncState>> getSyncState() {
+        log.info("Received request for Elasticsearch sync state");
+        return ResponseEntity.ok(elasticsearchSyncService.getStates());
+    }
+
+    /**
+     * Start a full re-index of one document type, or of all of them when {@code type} is omitted.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<SearchSyncState>> rebuild(@RequestParam(required = false) SearchDocumentType type) {
+        log.info("Received request to rebuild Elasticsearch documents for {}", type == null ? "all types" : type);
+        elasticsearchSyncService.rebuild(type);
+        return ResponseEntity.accepted().body(elasticsearchSyncService.getStates());
+    }
+}
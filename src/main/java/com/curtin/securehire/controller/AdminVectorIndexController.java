@@ -0,0 +1,33 @@
+package com.curtin.securehire.controller;
+
+import com.curtin.securehire.config.VectorIndexManager;
+import com.curtin.securehire.dto.VectorIndexState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/vector-indexes")
+public class AdminVectorIndexController {
+
+    @Autowired
+    private VectorIndexManager vectorIndexManager;
+
+    @GetMapping
+    public ResponseEntity<List<VectorIndexState>> getVectorIndexes() {
+        log.info("Received request for vector index state");
+        return ResponseEntity.ok(vectorIndexManager.getStates());
+    }
+
+    @PostMapping("/{table}/rebuild")
+    public ResponseEntity<VectorIndexState> rebuildVectorIndex(@PathVariable String table) {
+        log.info("Received request to rebuild vector index on {}", table);
+        VectorIndexState state = vectorIndexManager.rebuild(table);
+        log.info("Vector index rebuild on {} queued, currently {}", table, state.getStatus());
+        return ResponseEntity.accepted().body(state);
+    }
+}
@@ -1,10 +1,23 @@
 package com.curtin.securehire.controller;
 
+import com.curtin.securehire.constant.EmployementType;
+import com.curtin.securehire.constant.JobType;
+import com.curtin.securehire.dto.CrossEntitySearchResult;
+import com.curtin.securehire.dto.FacetedJobSearchResponse;
+import com.curtin.securehire.dto.HybridSearchResponse;
+import com.curtin.securehire.dto.JobFacetFilter;
+import com.curtin.securehire.dto.SearchPage;
 import com.curtin.securehire.entity.es.CandidateDocument;
 import com.curtin.securehire.entity.es.LocationDocument;
 import com.curtin.securehire.entity.es.RecruiterDocument;
 import com.curtin.securehire.entity.es.SkillDocument;
+import com.curtin.securehire.exception.BadRequestException;
 import com.curtin.securehire.service.es.CandidateSearchService;
+import com.curtin.securehire.service.es.CrossEntitySearchService;
+import com.curtin.securehire.service.es.CrossEntitySearchService.Section;
+import com.curtin.securehire.service.es.CursorSearchService;
+import com.curtin.securehire.service.es.HybridJobSearchService;
+import com.curtin.securehire.service.es.JobSearchService;
 import com.curtin.securehire.service.es.LocationSearchService;
 import com.curtin.securehire.service.es.RecruiterSearchService;
 import com.curtin.securehire.service.es.SkillSearchService;
@@ -35,11 +48,26 @@ public class EsSearchController {
     @Autowired
     private LocationSearchService locationSearchService;
 
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private HybridJobSearchService hybridJobSearchService;
+
+    @Autowired
+    private CrossEntitySearchService crossEntitySearchService;
+
+    @Autowired
+    private CursorSearchService cursorSearchService;
+
     @GetMapping("/candidates")
-    public ResponseEntity<List<CandidateDocument>> searchCandidates(@RequestParam String query) {
-        log.info("Received request to search candidates with query: {}", query);
-        List<CandidateDocument> results = candidateSearchService.searchCandidates(query);
-        log.info("Found {} candidates matching query: {}", results.size(), query);
+    public ResponseEntity<SearchPage<CandidateDocument>> searchCandidates(@RequestParam String query,
+                                                                          @RequestParam(defaultValue = "20") int size,
+                                                                          @RequestParam(required = false) String cursor) {
+        log.info("Received request to search candidates with query: {}, size: {}", query, size);
+        checkPageSize(size);
+        SearchPage<CandidateDocument> results = cursorSearchService.search(Section.CANDIDATES, CandidateDocument.class, query, size, cursor);
+        log.info("Found {} candidates matching query: {}", results.getItems().size(), query);
         return ResponseEntity.ok(results);
     }
 
@@ -52,10 +80,13 @@ public class EsSearchController {
     }
 
     @GetMapping("/recruiters")
-    public ResponseEntity<List<RecruiterDocument>> searchRecruiters(@RequestParam String query) {
-        log.info("Received request to search recruiters with query: {}", query);
-        List<RecruiterDocument> results = recruiterSearchService.searchRecruiters(query);
-        log.info("Found {} recruiters matching query: {}", results.size(), query);
+    public ResponseEntity<SearchPage<RecruiterDocument>> searchRecruiters(@RequestParam String query,
+                                                                          @RequestParam(defaultValue = "20") int size,
+                                                                          @RequestParam(required = false) String cursor) {
+        log.info("Received request to search recruiters with query: {}, size: {}", query, size);
+        checkPageSize(size);
+        SearchPage<RecruiterDocument> results = cursorSearchService.search(Section.RECRUITERS, RecruiterDocument.class, query, size, cursor);
+        log.info("Found {} recruiters matching query: {}", results.getItems().size(), query);
         return ResponseEntity.ok(results);
     }
 
@@ -68,10 +99,13 @@ public class EsSearchController {
     }
 
     @GetMapping("/skills")
-    public ResponseEntity<List<SkillDocument>> searchSkills(@RequestParam String query) {
-        log.info("Received request to search skills with query: {}", query);
-        List<SkillDocument> results = skillSearchService.searchSkills(query);
-        log.info("Found {} skills matching query: {}", results.size(), query);
+    public ResponseEntity<SearchPage<SkillDocument>> searchSkills(@RequestParam String query,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Received request to search skills with query: {}, size: {}", query, size);
+        checkPageSize(size);
+        SearchPage<SkillDocument> results = cursorSearchService.search(Section.SKILLS, SkillDocument.class, query, size, cursor);
+        log.info("Found {} skills matching query: {}", results.getItems().size(), query);
         return ResponseEntity.ok(results);
     }
 
@@ -84,10 +118,13 @@ public class EsSearchController {
     }
 
     @GetMapping("/locations")
-    public ResponseEntity<List<LocationDocument>> searchLocations(@RequestParam String query) {
-        log.info("Received request to search locations with query: {}", query);
-        List<LocationDocument> results = locationSearchService.searchLocations(query);
-        log.info("Found {} locations matching query: {}", results.size(), query);
+    public ResponseEntity<SearchPage<LocationDocument>> searchLocations(@RequestParam String query,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        @RequestParam(required = false) String cursor) {
+        log.info("Received request to search locations with query: {}, size: {}", query, size);
+        checkPageSize(size);
+        SearchPage<LocationDocument> results = cursorSearchService.search(Section.LOCATIONS, LocationDocument.class, query, size, cursor);
+        log.info("Found {} locations matching query: {}", results.getItems().size(), query);
         return ResponseEntity.ok(results);
     }
 
@@ -99,52 +136,73 @@ public class EsSearchController {
         return ResponseEntity.ok(suggestions);
     }
 
+    @GetMapping("/jobs/hybrid")
+    public ResponseEntity<HybridSearchResponse> searchJobsHybrid(@RequestParam String query,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        log.info("Received request for hybrid job search with query: {}, page: {}, size: {}", query, page, size);
+        if (page < 0 || size < 1 || size > 100) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and 100");
+        }
+        HybridSearchResponse response = hybridJobSearchService.search(query, page, size);
+        log.info("Returning {} hybrid job results for query: {}", response.getHits().size(), query);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * One page of jobs with the sidebar facet counts (employment type, job type, location, salary band,
+     * posted date) in a single request. Answers 503 while Elasticsearch is unavailable, as Postgres
+     * cannot compute the facets.
+     */
+    @GetMapping("/jobs/faceted")
+    public ResponseEntity<FacetedJobSearchResponse> searchJobsFaceted(@RequestParam(required = false) String query,
+                                                                      @RequestParam(required = false) List<EmployementType> employmentTypes,
+                                                                      @RequestParam(required = false) List<JobType> jobTypes,
+                                                                      @RequestParam(required = false) List<String> locations,
+                                                                      @RequestParam(required = false) Integer locationId,
+                                                                      @RequestParam(required = false) Integer minSalary,
+                                                                      @RequestParam(required = false) Integer maxSalary,
+                                                                      @RequestParam(required = false) Integer postedWithinDays,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "20") int size) {
+        log.info("Received request for faceted job search with query: {}, page: {}, size: {}", query, page, size);
+        if (page < 0 || (long) (page + 1) * size > 10000) {
+            throw new BadRequestException("page must be >= 0 and page * size within the first 10000 results");
+        }
+        checkPageSize(size);
+        JobFacetFilter filter = new JobFacetFilter();
+        filter.setQuery(query);
+        if (employmentTypes != null) filter.setEmploymentTypes(employmentTypes);
+        if (jobTypes != null) filter.setJobTypes(jobTypes);
+        if (locations != null) filter.setLocations(locations);
+        filter.setLocationId(locationId);
+        filter.setMinSalary(minSalary);
+        filter.setMaxSalary(maxSalary);
+        filter.setPostedWithinDays(postedWithinDays);
+        FacetedJobSearchResponse response = jobSearchService.facetedSearch(filter, page, size);
+        log.info("Returning {} of {} faceted job results for query: {}", response.getHits().size(), response.getTotal(), query);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Search every entity type at once. Any type that fails or misses the deadline comes back empty and
+     * is listed under {@code partialSources}.
+     */
     @GetMapping("/all")
-    public ResponseEntity<SearchResult> searchAll(@RequestParam String query) {
+    public ResponseEntity<CrossEntitySearchResult> searchAll(@RequestParam String query) {
         log.info("Received request to search all entities with query: {}", query);
 
-        List<CandidateDocument> candidates = candidateSearchService.searchCandidates(query);
-        List<RecruiterDocument> recruiters = recruiterSearchService.searchRecruiters(query);
-        List<SkillDocument> skills = skillSearchService.searchSkills(query);
-        List<LocationDocument> locations = locationSearchService.searchLocations(query);
-
-        SearchResult result = new SearchResult(candidates, recruiters, skills, locations);
+        CrossEntitySearchResult result = crossEntitySearchService.searchAll(query);
 
-        log.info("Found {} results across all entities for query: {}",
-                (candidates.size() + recruiters.size() + skills.size() + locations.size()), query);
+        log.info("Found {} results across all entities for query: {}{}", result.size(), query,
+                result.isPartial() ? " (partial, missing " + result.getPartialSources() + ")" : "");
 
         return ResponseEntity.ok(result);
     }
 
-    // Inner class to hold combined search results
-    private static class SearchResult {
-        private final List<CandidateDocument> candidates;
-        private final List<RecruiterDocument> recruiters;
-        private final List<SkillDocument> skills;
-        private final List<LocationDocument> locations;
-
-        public SearchResult(List<CandidateDocument> candidates, List<RecruiterDocument> recruiters,
-                            List<SkillDocument> skills, List<LocationDocument> locations) {
-            this.candidates = candidates;
-            this.recruiters = recruiters;
-            this.skills = skills;
-            this.locations = locations;
-        }
-
-        public List<CandidateDocument> getCandidates() {
-            return candidates;
-        }
-
-        public List<RecruiterDocument> getRecruiters() {
-            return recruiters;
-        }
-
-        public List<SkillDocument> getSkills() {
-            return skills;
-        }
-
-        public List<LocationDocument> getLocations() {
-            return locations;
+    private static void checkPageSize(int size) {
+        if (size < 1 || size > 100) {
+            throw new BadRequestException("size must be between 1 and 100");
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.curtin.securehire.controller;
 
+import com.curtin.securehire.constant.EmployementType;
+import com.curtin.securehire.constant.JobType;
+import com.curtin.securehire.dto.JobVectorFilter;
 import com.curtin.securehire.entity.db.Job;
 import com.curtin.securehire.entity.db.Candidate;
 import com.curtin.securehire.service.db.CandidateService;
@@ -13,6 +16,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.constraints.Min;
+import java.util.Date;
 import java.util.List;
 
 @RestController
@@ -34,9 +38,25 @@ public class RecommendationController {
     @GetMapping("/users/{userId}/jobs")
     public ResponseEntity<List<Job>> getRecommendedJobsForUser(
             @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId,
-            @RequestParam(defaultValue = "10") int limit) {
-        logger.info("Received request to get recommended jobs for user with ID: {}, limit: {}", userId, limit);
-        List<Job> recommendedJobs = recommendationService.getRecommendedJobsForUser(userId, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean exact,
+            @RequestParam(required = false) List<Integer> locationIds,
+            @RequestParam(required = false) Double minSalary,
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(required = false) JobType jobType,
+            @RequestParam(required = false) EmployementType employementType,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(defaultValue = "false") boolean matchProfile) {
+        logger.info("Received request to get recommended jobs for user with ID: {}, limit: {}, exact: {}", userId, limit, exact);
+        JobVectorFilter filter = new JobVectorFilter();
+        if (locationIds != null) filter.setLocationIds(locationIds);
+        filter.setMinSalary(minSalary);
+        filter.setMaxSalary(maxSalary);
+        filter.setJobType(jobType);
+        filter.setEmployementType(employementType);
+        if (activeOnly) filter.setDeadlineFrom(new Date());
+        filter.setMatchProfile(matchProfile);
+        List<Job> recommendedJobs = recommendationService.getRecommendedJobsForUser(userId, limit, exact, filter);
         logger.info("Returning {} recommended jobs for user with ID: {}", recommendedJobs.size(), userId);
         return ResponseEntity.ok(recommendedJobs);
     }
@@ -62,6 +82,19 @@ public class RecommendationController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Queue embedding tasks for the given jobs, or for all jobs, and return the number queued. The
+     * embeddings are generated in the background by the task workers. Admins only (see SecurityConfig).
+     */
+    @PostMapping("/jobs/generate-embeddings")
+    public ResponseEntity<Integer> generateJobEmbeddings(@RequestBody(required = false) List<Integer> jobIds) {
+        logger.info("Received request to generate embeddings for {} jobs",
+                jobIds == null || jobIds.isEmpty() ? "all" : jobIds.size());
+        int queued = recommendationService.enqueueJobEmbeddings(jobIds);
+        logger.info("Queued embeddings for {} jobs", queued);
+        return ResponseEntity.accepted().body(queued);
+    }
+
     @PostMapping("/users/{userId}/generate-embedding")
     public ResponseEntity<Void> generateUserEmbedding(
             @PathVariable @Min(value = 1, message = "User ID must be positive") Integer userId) {
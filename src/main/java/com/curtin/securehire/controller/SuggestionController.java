@@ -8,6 +8,7 @@ import com.curtin.securehire.service.es.CandidateSearchService;
 import com.curtin.securehire.service.es.JobSearchService;
 import com.curtin.securehire.service.es.SkillSearchService;
 import com.curtin.securehire.service.es.LocationSearchService;
+import com.curtin.securehire.service.es.SearchFanOut;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +42,9 @@ public class SuggestionController {
     @Autowired
     private JobSearchService jobSearchService;
 
+    @Autowired
+    private SearchFanOut searchFanOut;
+
     /**
      * Get candidate suggestions based on name prefix
      *
@@ -98,7 +102,8 @@ public class SuggestionController {
     }
 
     /**
-     * Get all types of suggestions in a single request
+     * Get all types of suggestions in a single request. The entity types are queried concurrently; any
+     * that fail or miss the deadline come back empty and are listed under {@code partialSources}.
      *
      * @param prefix The text prefix to search for
      * @return Map containing suggestions for all entity types
@@ -107,24 +112,33 @@ public class SuggestionController {
     public ResponseEntity<Map<String, Object>> suggestAll(@RequestParam String prefix) {
         log.info("Received request for all suggestions with prefix: {}", prefix);
 
+        SearchFanOut.Batch batch = searchFanOut.suggestions();
+        SearchFanOut.Source<CandidateDocument> candidates = batch.submit("candidates", () -> candidateSearchService.suggestCandidates(prefix));
+        SearchFanOut.Source<SkillDocument> skills = batch.submit("skills", () -> skillSearchService.suggestSkills(prefix));
+        SearchFanOut.Source<LocationDocument> locations = batch.submit("locations", () -> locationSearchService.suggestLocations(prefix));
+        SearchFanOut.Source<JobDocument> jobs = batch.submit("jobs", () -> jobSearchService.suggestJobs(prefix));
+
         Map<String, Object> allSuggestions = new HashMap<>();
 
-        List<CandidateDocument> candidateSuggestions = candidateSearchService.suggestCandidates(prefix);
-        List<SkillDocument> skillSuggestions = skillSearchService.suggestSkills(prefix);
-        List<LocationDocument> locationSuggestions = locationSearchService.suggestLocations(prefix);
-        List<JobDocument> jobSuggestions = jobSearchService.suggestJobs(prefix);
+        List<CandidateDocument> candidateSuggestions = candidates.get();
+        List<SkillDocument> skillSuggestions = skills.get();
+        List<LocationDocument> locationSuggestions = locations.get();
+        List<JobDocument> jobSuggestions = jobs.get();
 
         allSuggestions.put("candidates", candidateSuggestions);
         allSuggestions.put("skills", skillSuggestions);
         allSuggestions.put("locations", locationSuggestions);
         allSuggestions.put("jobs", jobSuggestions);
+        allSuggestions.put("partial", batch.isPartial());
+        allSuggestions.put("partialSources", batch.getPartialSources());
 
-        log.info("Found suggestions for prefix '{}': {} candidates, {} skills, {} locations, {} jobs",
+        log.info("Found suggestions for prefix '{}': {} candidates, {} skills, {} locations, {} jobs{}",
                 prefix,
                 candidateSuggestions.size(),
                 skillSuggestions.size(),
                 locationSuggestions.size(),
-                jobSuggestions.size());
+                jobSuggestions.size(),
+                batch.isPartial() ? " (partial, missing " + batch.getPartialSources() + ")" : "");
 
         return ResponseEntity.ok(allSuggestions);
     }
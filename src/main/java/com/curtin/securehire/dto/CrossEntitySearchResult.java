@@ -0,0 +1,39 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.entity.es.CandidateDocument;
+import com.curtin.securehire.entity.es.JobDocument;
+import com.curtin.securehire.entity.es.LocationDocument;
+import com.curtin.securehire.entity.es.RecruiterDocument;
+import com.curtin.securehire.entity.es.SkillDocument;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Matches for one query across every searchable entity type")
+public class CrossEntitySearchResult {
+
+    private List<CandidateDocument> candidates = new ArrayList<>();
+
+    private List<RecruiterDocument> recruiters = new ArrayList<>();
+
+    private List<SkillDocument> skills = new ArrayList<>();
+
+    private List<LocationDocument> locations = new ArrayList<>();
+
+    private List<JobDocument> jobs = new ArrayList<>();
+
+    @Schema(description = "Entity types that failed or ran out of time and are returned empty")
+    private List<String> partialSources = new ArrayList<>();
+
+    @Schema(description = "True when any entity type is missing from the results")
+    public boolean isPartial() {
+        return !partialSources.isEmpty();
+    }
+
+    public int size() {
+        return candidates.size() + recruiters.size() + skills.size() + locations.size() + jobs.size();
+    }
+}
@@ -0,0 +1,43 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.entity.es.JobDocument;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Schema(description = "One page of job hits with the facet counts for the sidebar")
+public class FacetedJobSearchResponse {
+
+    @Schema(description = "Zero-based page number")
+    private int page;
+
+    @Schema(description = "Requested page size")
+    private int size;
+
+    @Schema(description = "Jobs matching the query and every facet selection")
+    private long total;
+
+    private List<JobDocument> hits = new ArrayList<>();
+
+    @Schema(description = "Buckets per facet (employmentType, jobType, location, salary, posted). Each facet is "
+            + "counted with every selection except its own, so picking a value never hides its alternatives")
+    private Map<String, List<Bucket>> facets = new LinkedHashMap<>();
+
+    @Data
+    @Schema(description = "A facet value and how many jobs it would match")
+    public static class Bucket {
+
+        @Schema(description = "Value to send back as a filter; for salary, the lower bound of the band")
+        private String key;
+
+        @Schema(description = "Upper bound of a salary band, null for other facets")
+        private Integer to;
+
+        private long count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.entity.es.JobDocument;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "One page of hybrid (keyword + semantic) job search results")
+public class HybridSearchResponse {
+
+    @Schema(description = "Zero-based page number")
+    private int page;
+
+    @Schema(description = "Requested page size")
+    private int size;
+
+    @Schema(description = "Fused results for this page, best first")
+    private List<Hit> hits = new ArrayList<>();
+
+    @Schema(description = "True when the keyword retriever failed or ran out of time and was left out")
+    private boolean lexicalPartial;
+
+    @Schema(description = "True when the vector retriever failed or ran out of time and was left out")
+    private boolean vectorPartial;
+
+    @Data
+    @Schema(description = "A fused job hit")
+    public static class Hit {
+        private JobDocument job;
+
+        @Schema(description = "Reciprocal-rank fusion score")
+        private double score;
+
+        @Schema(description = "1-based rank in the keyword results, null if not retrieved there")
+        private Integer lexicalRank;
+
+        @Schema(description = "1-based rank in the vector results, null if not retrieved there")
+        private Integer vectorRank;
+    }
+}
@@ -0,0 +1,40 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.constant.EmployementType;
+import com.curtin.securehire.constant.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selections in the job search sidebar. Values within one facet are OR-ed, facets are AND-ed; null (or
+ * empty) means "no constraint".
+ */
+@Data
+@Schema(description = "Facet selections for faceted job search")
+public class JobFacetFilter {
+
+    @Schema(description = "Free-text query; blank matches every job")
+    private String query;
+
+    private List<EmployementType> employmentTypes = new ArrayList<>();
+
+    private List<JobType> jobTypes = new ArrayList<>();
+
+    @Schema(description = "Location names, as returned in the location facet")
+    private List<String> locations = new ArrayList<>();
+
+    @Schema(description = "Only jobs at this location or anywhere under it (e.g. a country id matches its states and cities)")
+    private Integer locationId;
+
+    @Schema(description = "Jobs whose salary range reaches at least this amount")
+    private Integer minSalary;
+
+    @Schema(description = "Jobs whose salary range starts at or below this amount")
+    private Integer maxSalary;
+
+    @Schema(description = "Jobs posted within this many days")
+    private Integer postedWithinDays;
+}
@@ -0,0 +1,43 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.constant.EmployementType;
+import com.curtin.securehire.constant.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Predicates applied while retrieving similar jobs. Every field is optional; null (or empty) means
+ * "no constraint".
+ */
+@Data
+@Schema(description = "Filters applied during vector job retrieval")
+public class JobVectorFilter {
+
+    @Schema(description = "Jobs located in any of these locations or their descendants")
+    private List<Integer> locationIds = new ArrayList<>();
+
+    @Schema(description = "Jobs whose salary range reaches at least this amount")
+    private Double minSalary;
+
+    @Schema(description = "Jobs whose salary range starts at or below this amount")
+    private Double maxSalary;
+
+    @Schema(description = "Jobs whose deadline is on or after this date")
+    private Date deadlineFrom;
+
+    private JobType jobType;
+
+    private EmployementType employementType;
+
+    @Schema(description = "Also restrict to the candidate's preferred locations and salary range")
+    private boolean matchProfile;
+
+    public boolean isEmpty() {
+        return (locationIds == null || locationIds.isEmpty()) && minSalary == null && maxSalary == null
+                && deadlineFrom == null && jobType == null && employementType == null && !matchProfile;
+    }
+}
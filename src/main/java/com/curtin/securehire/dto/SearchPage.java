@@ -0,0 +1,18 @@
+package com.curtin.securehire.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "One page of search results with a cursor to the next")
+public class SearchPage<T> {
+
+    @Schema(description = "Results for this page, best first")
+    private List<T> items = new ArrayList<>();
+
+    @Schema(description = "Opaque cursor for the next page, passed back as ?cursor= with the same query; null on the last page")
+    private String nextCursor;
+}
@@ -0,0 +1,38 @@
+package com.curtin.securehire.dto;
+
+import com.curtin.securehire.constant.SearchBootstrapState;
+import com.curtin.securehire.constant.SearchDocumentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Schema(description = "Progress of the incremental Elasticsearch sync for one document type")
+public class SearchSyncState {
+
+    private SearchDocumentType documentType;
+
+    @Schema(description = "Concrete index the alias currently points at, e.g. jobs_v3")
+    private String activeIndex;
+
+    @Schema(description = "Rows updated after this time (less the overlap) are picked up by the next run; null before the first run")
+    private Instant watermark;
+
+    private Instant lastRunAt;
+
+    @Schema(description = "Documents indexed by the last run")
+    private int lastSynced;
+
+    @Schema(description = "Documents deleted by the last run")
+    private int lastDeleted;
+
+    @Schema(description = "Deleted rows whose documents have not been removed yet")
+    private long pendingTombstones;
+
+    @Schema(description = "Last id indexed by an unfinished full pass, which resumes after it; null when none is running")
+    private Integer fullSyncAfterId;
+
+    @Schema(description = "Progress of the startup freshness check and catch-up for this node")
+    private SearchBootstrapState bootstrapState;
+}
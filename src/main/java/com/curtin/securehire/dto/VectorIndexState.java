@@ -0,0 +1,53 @@
+package com.curtin.securehire.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Schema(description = "State of a pgvector ANN index managed by VectorIndexManager")
+public class VectorIndexState {
+
+    public enum Status {
+        // Table too small to benefit from an ANN index; queries scan exactly
+        NOT_NEEDED,
+        MISSING,
+        BUILDING,
+        READY,
+        FAILED
+    }
+
+    private String table;
+    private String indexName;
+
+    @Schema(description = "ivfflat or hnsw")
+    private String method;
+
+    private Status status;
+
+    @Schema(description = "Estimated row count at the last check")
+    private long rows;
+
+    @Schema(description = "Row count the current index was built for")
+    private long rowsAtBuild;
+
+    @Schema(description = "ivfflat lists, or hnsw m")
+    private int buildParameter;
+
+    @Schema(description = "hnsw ef_construction (0 for ivfflat)")
+    private int efConstruction;
+
+    @Schema(description = "Per-query ivfflat.probes or hnsw.ef_search")
+    private int searchParameter;
+
+    @Schema(description = "Recall@k measured for searchParameter at the last calibration, -1 if not calibrated")
+    private double calibratedRecall = -1;
+
+    @Schema(description = "Mean query latency in ms measured at the last calibration")
+    private double calibratedLatencyMs;
+
+    private Instant lastBuildStartedAt;
+    private long lastBuildDurationMs;
+    private String lastError;
+}
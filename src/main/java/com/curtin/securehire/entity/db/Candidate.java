@@ -1,12 +1,18 @@
 package com.curtin.securehire.entity.db;
 
+import com.curtin.securehire.entity.db.listener.SearchTombstoneListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchTombstoneListener.class)
 @Table(name = "candidates")
 @Data
 public class Candidate {
@@ -43,6 +49,7 @@ public class Candidate {
             inverseJoinColumns = @JoinColumn(name = "location_id")
     )
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Location> preferredLocations = new ArrayList<>();
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
@@ -51,9 +58,11 @@ public class Candidate {
             joinColumns = @JoinColumn(name = "candidate_id"),
             inverseJoinColumns = @JoinColumn(name = "skill_id")
     )
+    @Fetch(FetchMode.SUBSELECT)
     private List<Skill> skills = new ArrayList<>();
 
     @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Resume> resumes = new ArrayList<>();
 
     @OneToOne
@@ -66,6 +75,10 @@ public class Candidate {
             joinColumns = @JoinColumn(name = "candidate_id"),
             inverseJoinColumns = @JoinColumn(name = "job_id")
     )
+    @Fetch(FetchMode.SUBSELECT)
     private List<Job> appliedJobs = new ArrayList<>();
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
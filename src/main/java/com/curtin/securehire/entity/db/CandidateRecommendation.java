@@ -0,0 +1,42 @@
+package com.curtin.securehire.entity.db;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A precomputed job recommendation for a candidate. The primary key (user_id, rank) is also the read
+ * path: a user's top-K is one index range scan in rank order.
+ */
+@Entity
+@Table(name = "candidate_recommendations")
+@IdClass(CandidateRecommendation.Key.class)
+@Data
+public class CandidateRecommendation {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    @Column(name = "rank")
+    private Integer rank;
+
+    @Column(name = "job_id", nullable = false)
+    private Integer jobId;
+
+    // Cosine similarity between the user and job embeddings
+    @Column(name = "score")
+    private Float score;
+
+    @Column(name = "computed_at")
+    private Instant computedAt;
+
+    @Data
+    public static class Key implements Serializable {
+        private Integer userId;
+        private Integer rank;
+    }
+}
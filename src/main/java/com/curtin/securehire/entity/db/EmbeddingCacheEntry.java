@@ -0,0 +1,33 @@
+package com.curtin.securehire.entity.db;
+
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+
+/**
+ * An embedding keyed by the SHA-256 of the model id and the normalised input text, so identical
+ * inputs are never sent to the provider twice.
+ */
+@Entity
+@Table(name = "embedding_cache")
+@Data
+public class EmbeddingCacheEntry {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "model_id")
+    private String modelId;
+
+    // Created as vector(1536); EmbeddingColumnInitializer resizes it to recommendation.embedding.dimension
+    @Type(PgVectorType.class)
+    @Column(name = "embedding", columnDefinition = "vector(1536)")
+    private float[] embedding;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,54 @@
+package com.curtin.securehire.entity.db;
+
+import com.curtin.securehire.constant.EmbeddingTaskType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Outbox row asking for an entity's embedding to be (re)generated. Written in the same transaction as
+ * the entity change and deleted once the embedding is stored; at most one row exists per entity, so
+ * repeated edits coalesce into a single task.
+ */
+@Entity
+@Table(name = "embedding_tasks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_embedding_tasks_entity", columnNames = {"entity_type", "entity_id"}),
+        indexes = @Index(name = "idx_embedding_tasks_next_attempt", columnList = "next_attempt_at"))
+@Data
+public class EmbeddingTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EmbeddingTaskType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    // Bumped whenever the task is re-enqueued, so a worker that finishes an older request does not delete a newer one
+    @Column(name = "generation", nullable = false)
+    private int generation;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Null once the task has exhausted its attempts; it is then only retried if enqueued again
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 128)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
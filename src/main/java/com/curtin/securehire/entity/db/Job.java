@@ -4,14 +4,18 @@ package com.curtin.securehire.entity.db;
 import com.curtin.securehire.constant.EmployementType;
 import com.curtin.securehire.constant.JobType;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.curtin.securehire.entity.db.listener.SearchTombstoneListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchTombstoneListener.class)
 @Table(name = "jobs")
 @Data
 public class Job {
@@ -61,5 +65,8 @@ public class Job {
     private JobType jobType;
     private Date postedDate;
     private Date deadline;
-}
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -4,11 +4,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "job_embeddings")
+@Table(name = "job_embeddings", indexes = @Index(name = "job_embeddings_updated_at_idx", columnList = "updated_at"))
 @Data
 @Getter
 @Setter
@@ -18,11 +20,30 @@ public class JobEmbedding {
     @Column(name = "job_id")
     private Integer jobId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id", referencedColumnName = "id", insertable = false, updatable = false)
     private Job job;
 
-    @JdbcTypeCode(SqlTypes.ARRAY)
+    // Created as vector(1536); EmbeddingColumnInitializer resizes it to recommendation.embedding.dimension
+    @Type(PgVectorType.class)
     @Column(name = "embedding", columnDefinition = "vector(1536)")
-    private double[] embedding;
+    private float[] embedding;
+
+    // Optional int8 copy of the normalised embedding (value ~= code * scale), written in INT8 storage mode
+    @Column(name = "embedding_int8")
+    private byte[] embeddingInt8;
+
+    @Column(name = "embedding_scale")
+    private Float embeddingScale;
+
+    // SHA-256 of model id + normalised input text; unchanged hash means the embedding is still current
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "model_id")
+    private String modelId;
+
+    // Set on every upsert; other nodes reload rows changed since their last refresh into their in-memory index
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
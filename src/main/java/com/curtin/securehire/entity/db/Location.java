@@ -2,16 +2,20 @@
 package com.curtin.securehire.entity.db;
 
 import com.curtin.securehire.constant.LocationType;
+import com.curtin.securehire.entity.db.listener.SearchTombstoneListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchTombstoneListener.class)
 @Table(name = "locations")
 @Data
 public class Location {
@@ -33,6 +37,7 @@ public class Location {
     @JsonManagedReference
     private List<Location> children = new ArrayList<>();
 
-
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
-
@@ -4,13 +4,17 @@ package com.curtin.securehire.entity.db;
 import com.curtin.securehire.constant.BusinessSecTor;
 import com.curtin.securehire.constant.CompanyType;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.curtin.securehire.entity.db.listener.SearchTombstoneListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchTombstoneListener.class)
 @Table(name = "recruiters")
 @Data
 public class Recruiter {
@@ -44,5 +48,8 @@ public class Recruiter {
 
     private String website;
     private String description;
-}
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
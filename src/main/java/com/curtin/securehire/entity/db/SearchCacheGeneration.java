@@ -0,0 +1,24 @@
+package com.curtin.securehire.entity.db;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Cluster-wide invalidation counter for one document type's cached search results. Every node bumps it
+ * after writing to the type's index and polls it, so a write on one node empties the caches of all of
+ * them.
+ */
+@Entity
+@Table(name = "search_cache_generations")
+@Data
+public class SearchCacheGeneration {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", length = 16)
+    private SearchDocumentType documentType;
+
+    @Column(name = "generation", nullable = false)
+    private long generation;
+}
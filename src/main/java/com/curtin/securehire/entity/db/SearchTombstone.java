@@ -0,0 +1,31 @@
+package com.curtin.securehire.entity.db;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A deleted row whose Elasticsearch document still has to be removed. Written by
+ * {@link com.curtin.securehire.entity.db.listener.SearchTombstoneListener} and consumed by the sync.
+ */
+@Entity
+@Table(name = "search_tombstones", indexes = @Index(name = "idx_search_tombstones_type", columnList = "document_type, id"))
+@Data
+public class SearchTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false, length = 16)
+    private SearchDocumentType documentType;
+
+    @Column(name = "document_id", nullable = false)
+    private Integer documentId;
+
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+}
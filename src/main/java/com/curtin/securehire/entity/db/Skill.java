@@ -3,10 +3,15 @@ package com.curtin.securehire.entity.db;
 
 import com.curtin.securehire.constant.SkillSubType;
 import com.curtin.securehire.constant.SkillType;
+import com.curtin.securehire.entity.db.listener.SearchTombstoneListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@EntityListeners(SearchTombstoneListener.class)
 @Table(name = "skills")
 @Data
 public class Skill {
@@ -20,4 +25,8 @@ public class Skill {
 
     @Enumerated(EnumType.STRING)
     private SkillSubType subType;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
@@ -0,0 +1,45 @@
+package com.curtin.securehire.entity.db;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Progress of the incremental Elasticsearch sync for one document type: rows updated after
+ * {@code watermark} (less the configured overlap) are picked up by the next run.
+ *
+ * <p>While a full pass is running, {@code fullSyncStartedAt} and {@code fullSyncAfterId} record where it
+ * got to, so a pass interrupted by a restart carries on from that id instead of starting over.</p>
+ */
+@Entity
+@Table(name = "sync_watermarks")
+@Data
+public class SyncWatermark {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", length = 16)
+    private SearchDocumentType documentType;
+
+    @Column(name = "watermark", nullable = false)
+    private Instant watermark;
+
+    @Column(name = "last_run_at")
+    private Instant lastRunAt;
+
+    @Column(name = "last_synced")
+    private int lastSynced;
+
+    @Column(name = "last_deleted")
+    private int lastDeleted;
+
+    // Start of the unfinished full pass; becomes the watermark once it completes
+    @Column(name = "full_sync_started_at")
+    private Instant fullSyncStartedAt;
+
+    // Every id up to this one has been indexed by the unfinished full pass
+    @Column(name = "full_sync_after_id")
+    private Integer fullSyncAfterId;
+}
@@ -0,0 +1,47 @@
+package com.curtin.securehire.entity.db.listener;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.entity.db.*;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records a {@code search_tombstones} row when an indexed entity is deleted, so the incremental
+ * Elasticsearch sync can remove its document. The insert runs on the deleting transaction's connection
+ * and therefore only survives if the delete commits.
+ *
+ * <p>Deletes are the one change the sync cannot find through {@code updated_at}. Everything else is
+ * found by the repositories' {@code findIdsUpdatedSince} queries, from the {@code @UpdateTimestamp}
+ * column on each indexed entity. Hibernate only sets it when a column of the row itself changes, so
+ * services that change nothing but a collection (skills, preferred locations) set it themselves.</p>
+ */
+@Component
+public class SearchTombstoneListener {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_tombstones (document_type, document_id, deleted_at) VALUES (?, ?, now())";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Candidate candidate) {
+            record(SearchDocumentType.CANDIDATE, candidate.getId());
+        } else if (entity instanceof Recruiter recruiter) {
+            record(SearchDocumentType.RECRUITER, recruiter.getId());
+        } else if (entity instanceof Skill skill) {
+            record(SearchDocumentType.SKILL, skill.getId());
+        } else if (entity instanceof Location location) {
+            record(SearchDocumentType.LOCATION, location.getId());
+        } else if (entity instanceof Job job) {
+            record(SearchDocumentType.JOB, job.getId());
+        }
+    }
+
+    private void record(SearchDocumentType type, Integer id) {
+        jdbcTemplate.update(INSERT_SQL, type.name(), id);
+    }
+}
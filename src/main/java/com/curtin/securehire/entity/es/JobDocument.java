@@ -7,19 +7,28 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
+import org.springframework.data.elasticsearch.core.Range;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "jobs")
+@Document(indexName = "jobs", createIndex = false)
+@Setting(settingPath = "/elasticsearch/autocomplete-settings.json")
 public class JobDocument {
 
     @Id
     private String id;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "autocomplete", type = FieldType.Text,
+                    analyzer = "autocomplete", searchAnalyzer = "autocomplete_search"))
     private String title;
 
     @Field(type = FieldType.Text, analyzer = "standard")
@@ -37,12 +46,25 @@ public class JobDocument {
     @Field(type = FieldType.Integer)
     private Integer recruiterId;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword))
     private String location;
 
+    // Ids of the job's location and every ancestor (city, state, country), so "jobs in X" is one term filter
+    @Field(type = FieldType.Keyword)
+    private List<String> locationIds;
+
+    // Location names from the country down, e.g. "Australia > Western Australia > Perth"
+    @Field(type = FieldType.Keyword)
+    private String locationPath;
+
     @Field(type = FieldType.Keyword)
     private String employmentType;
 
+    @Field(type = FieldType.Keyword)
+    private String jobType;
+
     @Field(type = FieldType.Text, analyzer = "standard")
     private String skills;
 
@@ -58,6 +80,10 @@ public class JobDocument {
     @Field(type = FieldType.Integer)
     private Integer salaryRangeHigh;
 
+    // Both bounds as one range, so the salary histogram counts a job in every band it overlaps
+    @Field(type = FieldType.Integer_Range)
+    private Range<Integer> salaryRange;
+
     @Field(type = FieldType.Keyword)
     private String status;
 }
@@ -7,17 +7,24 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "locations")
+@Document(indexName = "locations", createIndex = false)
+@Setting(settingPath = "/elasticsearch/autocomplete-settings.json")
 public class LocationDocument {
 
     @Id
     private String id;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "autocomplete", type = FieldType.Text,
+                    analyzer = "autocomplete", searchAnalyzer = "autocomplete_search"))
     private String name;
 
     @Field(type = FieldType.Keyword)
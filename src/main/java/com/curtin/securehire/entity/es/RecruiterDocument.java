@@ -8,17 +8,24 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+import org.springframework.data.elasticsearch.annotations.Setting;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "recruiters")
+@Document(indexName = "recruiters", createIndex = false)
+@Setting(settingPath = "/elasticsearch/autocomplete-settings.json")
 public class RecruiterDocument {
 
     @Id
     private String id;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "autocomplete", type = FieldType.Text,
+                    analyzer = "autocomplete", searchAnalyzer = "autocomplete_search"))
     private String companyName;
 
     @Field(type = FieldType.Text, analyzer = "standard")
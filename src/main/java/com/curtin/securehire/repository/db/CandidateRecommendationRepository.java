@@ -0,0 +1,15 @@
+package com.curtin.securehire.repository.db;
+
+import com.curtin.securehire.entity.db.CandidateRecommendation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CandidateRecommendationRepository extends JpaRepository<CandidateRecommendation, CandidateRecommendation.Key> {
+
+    @Query("SELECT r.jobId FROM CandidateRecommendation r WHERE r.userId = :userId ORDER BY r.rank")
+    List<Integer> findJobIdsByUserId(@Param("userId") Integer userId, Pageable pageable);
+}
@@ -2,10 +2,13 @@ package com.curtin.securehire.repository.db;
 
 import com.curtin.securehire.entity.db.Role;
 import com.curtin.securehire.entity.db.Candidate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +19,33 @@ public interface CandidateRepository extends JpaRepository<Candidate, Integer> {
     Optional<Candidate> findByUsername(String username);
     @Query("SELECT c FROM Candidate c WHERE c.refreshToken = :refreshToken")
     Optional<Candidate> findByRefreshToken(String refreshToken);
+
+    // Keyset-paged ids for the Elasticsearch sync; candidate documents embed skill names
+    @Query("SELECT c.id FROM Candidate c WHERE (c.updatedAt > :since OR EXISTS (" +
+            "SELECT 1 FROM Candidate c2 JOIN c2.skills s WHERE c2.id = c.id AND s.updatedAt > :since)) " +
+            "AND c.id > :afterId ORDER BY c.id")
+    List<Integer> findIdsUpdatedSince(@Param("since") Instant since, @Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT c.id FROM Candidate c WHERE c.id > :afterId ORDER BY c.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Postgres full-text search over the name and email ({@code search_vector}), plus pg_trgm fuzzy matching
+     * on the name. Best matches first.
+     */
+    @Query(value = "SELECT c.* FROM candidates c " +
+            "WHERE c.search_vector @@ websearch_to_tsquery('simple', :query) OR c.name % :query " +
+            "ORDER BY ts_rank(c.search_vector, websearch_to_tsquery('simple', :query)) + similarity(c.name, :query) DESC",
+            nativeQuery = true)
+    List<Candidate> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Rows whose name (weight A of {@code search_vector}) matches a prefix {@code tsquery} such as
+     * {@code 'jav:*A & dev:*A'}.
+     */
+    @Query(value = "SELECT c.* FROM candidates c " +
+            "WHERE c.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', :prefixQuery)) DESC",
+            nativeQuery = true)
+    List<Candidate> suggestFullText(@Param("prefixQuery") String prefixQuery, Pageable pageable);
 }
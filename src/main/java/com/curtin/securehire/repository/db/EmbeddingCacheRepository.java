@@ -0,0 +1,9 @@
+package com.curtin.securehire.repository.db;
+
+import com.curtin.securehire.entity.db.EmbeddingCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmbeddingCacheRepository extends JpaRepository<EmbeddingCacheEntry, String> {
+}
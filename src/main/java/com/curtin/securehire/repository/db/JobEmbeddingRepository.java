@@ -8,11 +8,22 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface JobEmbeddingRepository extends JpaRepository<JobEmbedding, Integer> {
+    // userEmbedding is the pgvector text literal, see PgVectorType.toText
     @Query(value =
-            "SELECT j.job_id, j.embedding <=> :userEmbedding AS distance " +
+            "SELECT j.job_id, j.embedding <=> CAST(:userEmbedding AS vector) AS distance " +
                     "FROM job_embeddings j " +
                     "ORDER BY distance " +
                     "LIMIT :limit",
             nativeQuery = true)
-    List<Object[]> findSimilarJobsByEmbedding(@Param("userEmbedding") double[] userEmbedding, @Param("limit") int limit);
+    List<Object[]> findSimilarJobsByEmbedding(@Param("userEmbedding") String userEmbedding, @Param("limit") int limit);
+
+    // As findSimilarJobsByEmbedding, leaving out jobs past their deadline
+    @Query(value =
+            "SELECT e.job_id, e.embedding <=> CAST(:userEmbedding AS vector) AS distance " +
+                    "FROM job_embeddings e JOIN jobs j ON j.id = e.job_id " +
+                    "WHERE j.deadline IS NULL OR j.deadline >= now() " +
+                    "ORDER BY distance " +
+                    "LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findSimilarOpenJobsByEmbedding(@Param("userEmbedding") String userEmbedding, @Param("limit") int limit);
 }
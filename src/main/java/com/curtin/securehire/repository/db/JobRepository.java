@@ -5,8 +5,10 @@ import com.curtin.securehire.constant.JobType;
 import com.curtin.securehire.entity.db.Job;
 
 import java.sql.Date;
+import java.time.Instant;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -110,6 +112,25 @@ public interface JobRepository extends JpaRepository<Job, Integer> {
 
 
 
+    /**
+     * Ids of the jobs matching the vector search filters, see JobVectorFilter. Salary bounds test overlap
+     * with the job's range; pass {@code anyLocation = true} (with any non-empty list) to skip the location test.
+     */
+    @Query("SELECT j.id FROM Job j LEFT JOIN j.location l " +
+            "WHERE (:anyLocation = true OR l.id IN :locationIds) " +
+            "AND (:minSalary IS NULL OR j.salaryRange.max >= :minSalary) " +
+            "AND (:maxSalary IS NULL OR j.salaryRange.min <= :maxSalary) " +
+            "AND (:deadlineFrom IS NULL OR j.deadline >= :deadlineFrom) " +
+            "AND (:jobType IS NULL OR j.jobType = :jobType) " +
+            "AND (:employementType IS NULL OR j.employementType = :employementType)")
+    List<Integer> findIdsForVectorFilter(@Param("anyLocation") boolean anyLocation,
+                                         @Param("locationIds") List<Integer> locationIds,
+                                         @Param("minSalary") Double minSalary,
+                                         @Param("maxSalary") Double maxSalary,
+                                         @Param("deadlineFrom") java.util.Date deadlineFrom,
+                                         @Param("jobType") JobType jobType,
+                                         @Param("employementType") EmployementType employementType);
+
     /**
      * Finds all jobs at a specified location and all its descendent locations (any depth).
      * Uses a PostgreSQL recursive query to handle hierarchies of any depth.
@@ -128,4 +149,54 @@ public interface JobRepository extends JpaRepository<Job, Integer> {
             nativeQuery = true)
     List<Job> findJobsByLocationHierarchy(@Param("locationId") Integer locationId);
 
+    /**
+     * Keyset-paged ids of jobs whose search document may have changed since the given time: the job itself, or the
+     * recruiter, location (or any of its ancestors, as walked by the document's location path) or skills whose names
+     * are copied into the document.
+     */
+    @Query(value = "WITH RECURSIVE changed_locations AS (" +
+            "  SELECT id FROM locations WHERE updated_at > :since " +
+            "  UNION " +
+            "  SELECT l.id FROM locations l " +
+            "  JOIN changed_locations cl ON l.parent = cl.id" +
+            ") " +
+            "SELECT j.id FROM jobs j LEFT JOIN recruiters r ON r.id = j.recruiter_id " +
+            "WHERE (j.updated_at > :since OR r.updated_at > :since " +
+            "OR j.location_id IN (SELECT id FROM changed_locations) " +
+            "OR EXISTS (SELECT 1 FROM job_technical_skills js JOIN skills s ON s.id = js.skill_id " +
+            "WHERE js.job_id = j.id AND s.updated_at > :since) " +
+            "OR EXISTS (SELECT 1 FROM job_soft_skills js JOIN skills s ON s.id = js.skill_id " +
+            "WHERE js.job_id = j.id AND s.updated_at > :since)) " +
+            "AND j.id > :afterId ORDER BY j.id",
+            nativeQuery = true)
+    List<Integer> findIdsUpdatedSince(@Param("since") Instant since, @Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT j.id FROM Job j WHERE j.id > :afterId ORDER BY j.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * The ids among {@code ids} of jobs that still exist and whose deadline is not before {@code now}.
+     */
+    @Query("SELECT j.id FROM Job j WHERE j.id IN :ids AND (j.deadline IS NULL OR j.deadline >= :now)")
+    List<Integer> findOpenIds(@Param("ids") List<Integer> ids, @Param("now") java.util.Date now);
+
+    /**
+     * Postgres full-text search over the title, requirements, responsibilities and description ({@code search_vector}), plus pg_trgm fuzzy matching
+     * on the title. Best matches first.
+     */
+    @Query(value = "SELECT j.* FROM jobs j " +
+            "WHERE j.search_vector @@ websearch_to_tsquery('simple', :query) OR j.title % :query " +
+            "ORDER BY ts_rank(j.search_vector, websearch_to_tsquery('simple', :query)) + similarity(j.title, :query) DESC",
+            nativeQuery = true)
+    List<Job> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Rows whose title (weight A of {@code search_vector}) matches a prefix {@code tsquery} such as
+     * {@code 'jav:*A & dev:*A'}.
+     */
+    @Query(value = "SELECT j.* FROM jobs j " +
+            "WHERE j.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(j.search_vector, to_tsquery('simple', :prefixQuery)) DESC",
+            nativeQuery = true)
+    List<Job> suggestFullText(@Param("prefixQuery") String prefixQuery, Pageable pageable);
 }
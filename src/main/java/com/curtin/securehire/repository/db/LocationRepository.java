@@ -3,11 +3,13 @@ package com.curtin.securehire.repository.db;
 import com.curtin.securehire.constant.LocationType;
 import com.curtin.securehire.entity.db.Location;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +21,44 @@ public interface LocationRepository extends JpaRepository<Location, Integer> {
     List<Location> findByParent(@Param("parentId") Integer parentId);
     List<Location> findByNameContaining(String name);
     boolean existsByName(String name);
+
+    /**
+     * Ids of the given locations and all of their descendants (any depth).
+     */
+    @Query(value = "WITH RECURSIVE location_hierarchy AS (" +
+            "  SELECT id FROM locations WHERE id IN (:locationIds) " +
+            "  UNION " +
+            "  SELECT l.id FROM locations l " +
+            "  JOIN location_hierarchy lh ON l.parent = lh.id" +
+            ") " +
+            "SELECT id FROM location_hierarchy",
+            nativeQuery = true)
+    List<Integer> findDescendantIds(@Param("locationIds") List<Integer> locationIds);
+
+    // Keyset-paged ids for the Elasticsearch sync
+    @Query("SELECT l.id FROM Location l WHERE l.updatedAt > :since AND l.id > :afterId ORDER BY l.id")
+    List<Integer> findIdsUpdatedSince(@Param("since") Instant since, @Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT l.id FROM Location l WHERE l.id > :afterId ORDER BY l.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Postgres full-text search over the name ({@code search_vector}), plus pg_trgm fuzzy matching
+     * on the name. Best matches first.
+     */
+    @Query(value = "SELECT l.* FROM locations l " +
+            "WHERE l.search_vector @@ websearch_to_tsquery('simple', :query) OR l.name % :query " +
+            "ORDER BY ts_rank(l.search_vector, websearch_to_tsquery('simple', :query)) + similarity(l.name, :query) DESC",
+            nativeQuery = true)
+    List<Location> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Rows whose name (weight A of {@code search_vector}) matches a prefix {@code tsquery} such as
+     * {@code 'jav:*A & dev:*A'}.
+     */
+    @Query(value = "SELECT l.* FROM locations l " +
+            "WHERE l.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(l.search_vector, to_tsquery('simple', :prefixQuery)) DESC",
+            nativeQuery = true)
+    List<Location> suggestFullText(@Param("prefixQuery") String prefixQuery, Pageable pageable);
 }
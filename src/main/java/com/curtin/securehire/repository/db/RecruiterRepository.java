@@ -4,11 +4,13 @@ package com.curtin.securehire.repository.db;
 import com.curtin.securehire.constant.BusinessSecTor;
 import com.curtin.securehire.constant.CompanyType;
 import com.curtin.securehire.entity.db.Recruiter;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,10 +33,6 @@ public interface RecruiterRepository extends JpaRepository<Recruiter, Integer> {
     // Block status queries
     List<Recruiter> findByIsBlocked(boolean isBlocked);
 
-    // Search queries
-    List<Recruiter> findByCompanyNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-            String companyName, String description);
-
     // Advanced queries
     @Query("SELECT r FROM Recruiter r WHERE " +
             "(:companyType IS NULL OR r.companyType = :companyType) AND " +
@@ -56,4 +54,43 @@ public interface RecruiterRepository extends JpaRepository<Recruiter, Integer> {
 
     // Recruiters with website containing domain
     List<Recruiter> findByWebsiteContaining(String domain);
+
+    // Keyset-paged ids for the Elasticsearch sync
+    @Query("SELECT r.id FROM Recruiter r WHERE r.updatedAt > :since AND r.id > :afterId ORDER BY r.id")
+    List<Integer> findIdsUpdatedSince(@Param("since") Instant since, @Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM Recruiter r WHERE r.id > :afterId ORDER BY r.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Postgres full-text search over the company name, email and description ({@code search_vector}), plus pg_trgm fuzzy matching
+     * on the company name. Best matches first.
+     */
+    @Query(value = "SELECT r.* FROM recruiters r " +
+            "WHERE r.search_vector @@ websearch_to_tsquery('simple', :query) OR r.company_name % :query " +
+            "ORDER BY ts_rank(r.search_vector, websearch_to_tsquery('simple', :query)) + similarity(r.company_name, :query) DESC",
+            nativeQuery = true)
+    List<Recruiter> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * {@link #searchFullText} plus substring matches on the company name, so partial words such as
+     * {@code soft} still find {@code Microsoft}. {@code :pattern} is the {@code ILIKE} pattern for the
+     * keyword; the company name's pg_trgm index serves both it and the similarity match.
+     */
+    @Query(value = "SELECT r.* FROM recruiters r " +
+            "WHERE r.search_vector @@ websearch_to_tsquery('simple', :query) OR r.company_name % :query " +
+            "OR r.company_name ILIKE :pattern " +
+            "ORDER BY ts_rank(r.search_vector, websearch_to_tsquery('simple', :query)) + similarity(r.company_name, :query) DESC",
+            nativeQuery = true)
+    List<Recruiter> searchByKeyword(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Rows whose company name (weight A of {@code search_vector}) matches a prefix {@code tsquery} such as
+     * {@code 'jav:*A & dev:*A'}.
+     */
+    @Query(value = "SELECT r.* FROM recruiters r " +
+            "WHERE r.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(r.search_vector, to_tsquery('simple', :prefixQuery)) DESC",
+            nativeQuery = true)
+    List<Recruiter> suggestFullText(@Param("prefixQuery") String prefixQuery, Pageable pageable);
 }
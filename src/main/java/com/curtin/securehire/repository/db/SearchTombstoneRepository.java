@@ -0,0 +1,18 @@
+package com.curtin.securehire.repository.db;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.entity.db.SearchTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SearchTombstoneRepository extends JpaRepository<SearchTombstone, Long> {
+
+    // Oldest first, one page at a time
+    List<SearchTombstone> findByDocumentTypeOrderByIdAsc(SearchDocumentType documentType, Pageable pageable);
+
+    long countByDocumentType(SearchDocumentType documentType);
+}
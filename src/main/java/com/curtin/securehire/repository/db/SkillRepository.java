@@ -3,11 +3,13 @@ package com.curtin.securehire.repository.db;
 import com.curtin.securehire.constant.SkillSubType;
 import com.curtin.securehire.constant.SkillType;
 import com.curtin.securehire.entity.db.Skill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
@@ -39,4 +41,31 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
 
     // Check if skill exists by name
     boolean existsByName(String name);
+
+    // Keyset-paged ids for the Elasticsearch sync
+    @Query("SELECT s.id FROM Skill s WHERE s.updatedAt > :since AND s.id > :afterId ORDER BY s.id")
+    List<Integer> findIdsUpdatedSince(@Param("since") Instant since, @Param("afterId") int afterId, Pageable pageable);
+
+    @Query("SELECT s.id FROM Skill s WHERE s.id > :afterId ORDER BY s.id")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Postgres full-text search over the name ({@code search_vector}), plus pg_trgm fuzzy matching
+     * on the name. Best matches first.
+     */
+    @Query(value = "SELECT s.* FROM skills s " +
+            "WHERE s.search_vector @@ websearch_to_tsquery('simple', :query) OR s.name % :query " +
+            "ORDER BY ts_rank(s.search_vector, websearch_to_tsquery('simple', :query)) + similarity(s.name, :query) DESC",
+            nativeQuery = true)
+    List<Skill> searchFullText(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Rows whose name (weight A of {@code search_vector}) matches a prefix {@code tsquery} such as
+     * {@code 'jav:*A & dev:*A'}.
+     */
+    @Query(value = "SELECT s.* FROM skills s " +
+            "WHERE s.search_vector @@ to_tsquery('simple', :prefixQuery) " +
+            "ORDER BY ts_rank(s.search_vector, to_tsquery('simple', :prefixQuery)) DESC",
+            nativeQuery = true)
+    List<Skill> suggestFullText(@Param("prefixQuery") String prefixQuery, Pageable pageable);
 }
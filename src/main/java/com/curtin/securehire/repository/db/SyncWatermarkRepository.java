@@ -0,0 +1,10 @@
+package com.curtin.securehire.repository.db;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.entity.db.SyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, SearchDocumentType> {
+}
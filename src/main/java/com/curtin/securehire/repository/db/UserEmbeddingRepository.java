@@ -2,7 +2,18 @@ package com.curtin.securehire.repository.db;
 
 import com.curtin.securehire.entity.db.UserEmbedding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface UserEmbeddingRepository extends JpaRepository<UserEmbedding, Integer> {
+import java.util.List;
 
-}
\ No newline at end of file
+public interface UserEmbeddingRepository extends JpaRepository<UserEmbedding, Integer> {
+    // jobEmbedding is the pgvector text literal, see PgVectorType.toText
+    @Query(value =
+            "SELECT u.user_id, u.embedding <=> CAST(:jobEmbedding AS vector) AS distance " +
+                    "FROM user_embeddings u " +
+                    "ORDER BY distance " +
+                    "LIMIT :limit",
+            nativeQuery = true)
+    List<Object[]> findSimilarUsersByEmbedding(@Param("jobEmbedding") String jobEmbedding, @Param("limit") int limit);
+}
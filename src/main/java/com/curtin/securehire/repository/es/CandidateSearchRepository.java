@@ -1,6 +1,8 @@
 package com.curtin.securehire.repository.es;
 
 import com.curtin.securehire.entity.es.CandidateDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +11,10 @@ import java.util.List;
 @Repository
 public interface CandidateSearchRepository extends ElasticsearchRepository<CandidateDocument, Integer> {
     List<CandidateDocument> findByFirstNameContainingOrLastNameContainingOrEmailContainingOrSkillsContaining(
-            String firstName, String lastName, String email, String skills);
+            String firstName, String lastName, String email, String skills, Pageable pageable);
 
-    List<CandidateDocument> findByFirstNameStartingWithOrLastNameStartingWith(String firstName, String lastName);
+    // cross_fields so "jane sm" matches first and last name together
+    @Query("{\"multi_match\": {\"query\": \"?0\", \"type\": \"cross_fields\", \"operator\": \"and\", "
+            + "\"fields\": [\"firstName.autocomplete\", \"lastName.autocomplete\"]}}")
+    List<CandidateDocument> suggestByName(String prefix, Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package com.curtin.securehire.repository.es;
 
 import com.curtin.securehire.entity.es.JobDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,9 +12,10 @@ import java.util.List;
 public interface JobSearchRepository extends ElasticsearchRepository<JobDocument, String> {
 
     List<JobDocument> findByTitleContainingOrDescriptionContainingOrSkillsContaining(
-            String title, String description, String skills);
+            String title, String description, String skills, Pageable pageable);
 
-    List<JobDocument> findByTitleStartingWith(String prefix);
+    @Query("{\"match\": {\"title.autocomplete\": {\"query\": \"?0\", \"operator\": \"and\"}}}")
+    List<JobDocument> suggestByTitle(String prefix, Pageable pageable);
 
     List<JobDocument> findByRecruiterId(Integer recruiterId);
 
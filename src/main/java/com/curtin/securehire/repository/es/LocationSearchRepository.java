@@ -1,6 +1,8 @@
 package com.curtin.securehire.repository.es;
 
 import com.curtin.securehire.entity.es.LocationDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,7 +10,8 @@ import java.util.List;
 
 @Repository
 public interface LocationSearchRepository extends ElasticsearchRepository<LocationDocument, Integer> {
-    List<LocationDocument> findByNameContaining(String name);
+    List<LocationDocument> findByNameContaining(String name, Pageable pageable);
 
-    List<LocationDocument> findByNameStartingWith(String prefix);
+    @Query("{\"match\": {\"name.autocomplete\": {\"query\": \"?0\", \"operator\": \"and\"}}}")
+    List<LocationDocument> suggestByName(String prefix, Pageable pageable);
 }
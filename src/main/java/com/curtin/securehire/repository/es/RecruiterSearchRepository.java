@@ -1,6 +1,8 @@
 package com.curtin.securehire.repository.es;
 
 import com.curtin.securehire.entity.es.RecruiterDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,7 +10,8 @@ import java.util.List;
 
 @Repository
 public interface RecruiterSearchRepository extends ElasticsearchRepository<RecruiterDocument, Integer> {
-    List<RecruiterDocument> findByCompanyNameContainingOrEmailContaining(String companyName, String email);
+    List<RecruiterDocument> findByCompanyNameContainingOrEmailContaining(String companyName, String email, Pageable pageable);
 
-    List<RecruiterDocument> findByCompanyNameStartingWith(String companyName);
+    @Query("{\"match\": {\"companyName.autocomplete\": {\"query\": \"?0\", \"operator\": \"and\"}}}")
+    List<RecruiterDocument> suggestByCompanyName(String prefix, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.curtin.securehire.repository.es;
 
 import com.curtin.securehire.entity.es.ResumeDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,7 +11,7 @@ import java.util.List;
 public interface ResumeSearchRepository extends ElasticsearchRepository<ResumeDocument, String> {
 
     List<ResumeDocument> findByContentContainingOrNameContainingOrSkillsContaining(
-            String contentText, String nameText, String skillsText);
+            String contentText, String nameText, String skillsText, Pageable pageable);
 
     List<ResumeDocument> findByNameStartingWith(String prefix);
 
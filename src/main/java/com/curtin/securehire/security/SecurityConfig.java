@@ -3,10 +3,12 @@ package com.curtin.securehire.security;
 import java.util.Arrays;
 import java.util.List;
 
+import com.curtin.securehire.constant.RoleName;
 import com.curtin.securehire.security.jwt.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -70,6 +72,14 @@ public class SecurityConfig {
                                 "/api-docs/**",
                                 "/register"
                         ).permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Metrics expose internals (query volumes, cache hit rates); admins only
+                        .requestMatchers("/actuator/**").hasAuthority(RoleName.ADMIN.getValue())
+                        // Index rebuilds and sync state; anonymous callers could start them on the production database
+                        .requestMatchers("/api/admin/**").hasAuthority(RoleName.ADMIN.getValue())
+                        // Queues a paid embedding call for every job
+                        .requestMatchers(HttpMethod.POST, "/api/recommendations/jobs/generate-embeddings")
+                        .hasAuthority(RoleName.ADMIN.getValue())
 //                        .anyRequest().authenticated())
                         .anyRequest().permitAll())
                 .addFilterBefore(jwtAuthenticatorfilter, UsernamePasswordAuthenticationFilter.class)
@@ -1,14 +1,23 @@
 package com.curtin.securehire.service.db;
 
 
+import com.curtin.securehire.dto.JobVectorFilter;
 import com.curtin.securehire.entity.db.Job;
 import com.curtin.securehire.entity.db.Candidate;
 import java.util.List;
 
 public interface RecommendationService {
     List<Job> getRecommendedJobsForUser(Integer userId, int limit);
+    // exact = true bypasses the in-memory ANN index and queries pgvector directly
+    List<Job> getRecommendedJobsForUser(Integer userId, int limit, boolean exact);
+    // Only jobs matching the filter are considered during retrieval, so up to limit valid jobs come back
+    List<Job> getRecommendedJobsForUser(Integer userId, int limit, boolean exact, JobVectorFilter filter);
     List<Candidate> getRecommendedCandidatesForJob(Integer jobId, int limit);
     void generateEmbeddingsForJob(Job job);
     void generateEmbeddingsForUser(Candidate candidate);
+    // Queue embedding tasks for these jobs, or for every job when jobIds is null or empty; returns the number queued
+    int enqueueJobEmbeddings(List<Integer> jobIds);
+    // Ids of the jobs nearest to an embedding, closest first
+    List<Integer> findSimilarJobIds(float[] embedding, int limit, boolean exact);
 }
 
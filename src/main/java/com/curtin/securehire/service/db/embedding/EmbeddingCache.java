@@ -0,0 +1,150 @@
+package com.curtin.securehire.service.db.embedding;
+
+import com.curtin.securehire.entity.db.EmbeddingCacheEntry;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import com.curtin.securehire.repository.db.EmbeddingCacheRepository;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent embedding cache keyed by a hash of the model id and the normalised input text.
+ *
+ * <p>Counters (exposed through {@code /actuator/metrics/embedding.cache}):</p>
+ * <ul>
+ *     <li>{@code result=unchanged}: the entity's stored hash already matched, nothing was looked up</li>
+ *     <li>{@code result=hit}: the text was embedded before, served from {@code embedding_cache}</li>
+ *     <li>{@code result=miss}: the provider had to be called</li>
+ * </ul>
+ *
+ * <p>{@link #prune} keeps the table bounded: rows written under another model can never be hit again, and
+ * rows older than {@code recommendation.embedding.cache.ttl} are dropped whether or not they are still
+ * hit; a text still in use is embedded once more and cached afresh.</p>
+ */
+@Component
+public class EmbeddingCache {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO embedding_cache (content_hash, model_id, embedding, created_at) " +
+                    "VALUES (?, ?, CAST(? AS vector), ?) ON CONFLICT (content_hash) DO NOTHING";
+
+    // Batched so a large prune never holds one long-running delete
+    private static final String PRUNE_SQL =
+            "DELETE FROM embedding_cache WHERE content_hash IN (" +
+                    "SELECT content_hash FROM embedding_cache " +
+                    "WHERE model_id IS DISTINCT FROM ? OR created_at < ? LIMIT ?)";
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingCache.class);
+
+    @Autowired
+    private EmbeddingCacheRepository embeddingCacheRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmbeddingProvider embeddingProvider;
+
+    @Value("${recommendation.embedding.cache.ttl:90d}")
+    private Duration ttl;
+
+    @Value("${recommendation.embedding.cache.prune-batch-size:10000}")
+    private int pruneBatchSize;
+
+    private Counter unchangedCounter;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void registerMeters() {
+        unchangedCounter = meterRegistry.counter("embedding.cache", "result", "unchanged");
+        hitCounter = meterRegistry.counter("embedding.cache", "result", "hit");
+        missCounter = meterRegistry.counter("embedding.cache", "result", "miss");
+    }
+
+    /**
+     * Cache key for a text under a model: SHA-256 over the model id and the Unicode-normalised text
+     * with runs of whitespace collapsed, so formatting-only edits map to the same key.
+     */
+    public String key(String modelId, String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .trim();
+        return Hashing.sha256()
+                .hashString(modelId + '\u0000' + normalized, StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    /**
+     * Look up cached vectors for the given keys; the returned map only contains hits.
+     */
+    public Map<String, float[]> getAll(Collection<String> keys) {
+        Map<String, float[]> found = new HashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        for (EmbeddingCacheEntry entry : embeddingCacheRepository.findAllById(keys)) {
+            found.put(entry.getContentHash(), entry.getEmbedding());
+        }
+        hitCounter.increment(found.size());
+        missCounter.increment(keys.size() - found.size());
+        return found;
+    }
+
+    public void putAll(String modelId, Map<String, float[]> vectors) {
+        if (vectors.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(vectors.size());
+        vectors.forEach((key, vector) -> rows.add(new Object[]{key, modelId, PgVectorType.toText(vector), now}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    public void recordUnchanged(int count) {
+        unchangedCounter.increment(count);
+    }
+
+    /**
+     * Delete entries of other models and entries past the TTL. Idempotent, so every node may run it.
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(cron = "${recommendation.embedding.cache.prune-cron:0 0 4 * * ?}")
+    public int prune() {
+        String modelId = embeddingProvider.modelId();
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(ttl));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PRUNE_SQL, modelId, cutoff, pruneBatchSize);
+            total += deleted;
+        } while (deleted == pruneBatchSize);
+        if (total > 0) {
+            logger.info("Pruned {} embedding cache entries (model {}, older than {})", total, modelId, cutoff);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,22 @@
+package com.curtin.securehire.service.db.embedding;
+
+import java.util.List;
+
+/**
+ * Turns text into embedding vectors. Implementations are expected to accept many inputs per call so
+ * callers can amortise one round trip over a whole batch.
+ */
+public interface EmbeddingProvider {
+
+    /**
+     * Identifier of the model producing the vectors, e.g. {@code text-embedding-ada-002}.
+     */
+    String modelId();
+
+    int dimension();
+
+    /**
+     * Embed every input, returning one vector per input in the same order.
+     */
+    List<float[]> embed(List<String> inputs);
+}
@@ -0,0 +1,131 @@
+package com.curtin.securehire.service.db.embedding;
+
+import com.curtin.securehire.constant.EmbeddingTaskType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JDBC access to the {@code embedding_tasks} outbox.
+ *
+ * <p>{@link #enqueue} joins the caller's transaction, so the task commits or rolls back with the entity
+ * change. Workers claim tasks by taking a time-limited lease with {@code FOR UPDATE SKIP LOCKED}, which
+ * lets several nodes drain the same table without handing a task to two of them; a lease that expires
+ * (e.g. the node died) makes the task claimable again.</p>
+ */
+@Component
+public class EmbeddingTaskQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingTaskQueue.class);
+
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO embedding_tasks (entity_type, entity_id, generation, attempts, next_attempt_at, created_at) " +
+                    "VALUES (?, ?, 0, 0, now(), now()) " +
+                    "ON CONFLICT (entity_type, entity_id) DO UPDATE SET generation = embedding_tasks.generation + 1, " +
+                    "attempts = 0, next_attempt_at = now(), last_error = NULL";
+
+    private static final String CLAIM_SQL =
+            "UPDATE embedding_tasks SET lease_owner = ?, lease_until = now() + ? * interval '1 millisecond', " +
+                    "attempts = attempts + 1 " +
+                    "WHERE id IN (SELECT id FROM embedding_tasks " +
+                    "  WHERE next_attempt_at <= now() AND (lease_until IS NULL OR lease_until < now()) " +
+                    "  ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                    "RETURNING id, entity_type, entity_id, generation, attempts";
+
+    private static final String COMPLETE_SQL =
+            "DELETE FROM embedding_tasks WHERE id = ? AND generation = ? AND lease_owner = ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE embedding_tasks SET lease_owner = NULL, lease_until = NULL WHERE id = ? AND lease_owner = ?";
+
+    private static final String RETRY_SQL =
+            "UPDATE embedding_tasks SET lease_owner = NULL, lease_until = NULL, last_error = ?, " +
+                    "next_attempt_at = CASE WHEN ? THEN NULL ELSE now() + ? * interval '1 millisecond' END " +
+                    "WHERE id = ? AND generation = ? AND lease_owner = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${recommendation.embedding.tasks.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${recommendation.embedding.tasks.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${recommendation.embedding.tasks.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${recommendation.embedding.tasks.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    /**
+     * Ask for an entity's embedding to be regenerated. A pending task for the same entity is reused.
+     */
+    public void enqueue(EmbeddingTaskType type, int entityId) {
+        jdbcTemplate.update(ENQUEUE_SQL, type.name(), entityId);
+    }
+
+    /**
+     * {@link #enqueue} for many entities of one type, in a single JDBC batch.
+     */
+    public void enqueueAll(EmbeddingTaskType type, List<Integer> entityIds) {
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, entityIds.stream()
+                .map(id -> new Object[]{type.name(), id})
+                .toList());
+    }
+
+    /**
+     * Lease up to {@code max} due tasks to {@code owner}.
+     */
+    public List<ClaimedTask> claim(String owner, int max) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ClaimedTask(
+                rs.getLong(1),
+                EmbeddingTaskType.valueOf(rs.getString(2)),
+                rs.getInt(3),
+                rs.getInt(4),
+                rs.getInt(5)), owner, leaseMs, max);
+    }
+
+    /**
+     * Delete a finished task. If it was re-enqueued while running, it is released instead so the newer
+     * request is processed too.
+     */
+    public void complete(ClaimedTask task, String owner) {
+        if (jdbcTemplate.update(COMPLETE_SQL, task.id(), task.generation(), owner) == 0) {
+            jdbcTemplate.update(RELEASE_SQL, task.id(), owner);
+        }
+    }
+
+    /**
+     * Schedule a retry with exponential backoff and jitter, or park the task once it is out of attempts.
+     */
+    public void fail(ClaimedTask task, String owner, Exception error) {
+        boolean exhausted = task.attempts() >= maxAttempts;
+        long delay = Math.min(backoffMaxMs, backoffInitialMs << Math.min(task.attempts() - 1, 30));
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > 2000) {
+            message = message.substring(0, 2000);
+        }
+        int updated = jdbcTemplate.update(RETRY_SQL, message, exhausted, delay, task.id(), task.generation(), owner);
+        if (updated == 0) {
+            // Re-enqueued while running: the fresh request already reset attempts and is due now
+            jdbcTemplate.update(RELEASE_SQL, task.id(), owner);
+        } else if (exhausted) {
+            logger.error("Embedding task for {} {} failed {} times, giving up until it is enqueued again: {}",
+                    task.type(), task.entityId(), task.attempts(), message);
+        } else {
+            logger.warn("Embedding task for {} {} failed (attempt {}), retrying in {} ms: {}",
+                    task.type(), task.entityId(), task.attempts(), delay, message);
+        }
+    }
+
+    public record ClaimedTask(long id, EmbeddingTaskType type, int entityId, int generation, int attempts) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.curtin.securehire.service.db.embedding;
+
+import com.curtin.securehire.entity.db.Candidate;
+import com.curtin.securehire.entity.db.Job;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the text that is sent to the embedding model for an entity.
+ */
+@Component
+public class EmbeddingTextBuilder {
+
+    public String forJob(Job job) {
+        StringBuilder jobText = new StringBuilder();
+        jobText.append(job.getTitle()).append(" ");
+        jobText.append(job.getDescription()).append(" ");
+
+        // Add skills
+        if (job.getTechnicalSkills() != null) {
+            job.getTechnicalSkills().forEach(skill ->
+                    jobText.append(skill.getName()).append(" "));
+        }
+
+        if (job.getSoftSkills() != null) {
+            job.getSoftSkills().forEach(skill ->
+                    jobText.append(skill.getName()).append(" "));
+        }
+
+        // Add job type, salary range, etc.
+        jobText.append(job.getJobType()).append(" ");
+        jobText.append(job.getSalaryRange()).append(" ");
+        jobText.append(job.getLocation() != null ? job.getLocation().getName() : null).append(" ");
+        return jobText.toString();
+    }
+
+    /**
+     * Candidate profile text: skills, preferred locations, expected salary and the selected resume.
+     * Laid out like {@link #forJob} so both sides land in the same region of the embedding space.
+     */
+    public String forCandidate(Candidate candidate) {
+        StringBuilder candidateText = new StringBuilder();
+
+        if (candidate.getSkills() != null) {
+            candidate.getSkills().forEach(skill ->
+                    candidateText.append(skill.getName()).append(" "));
+        }
+
+        if (candidate.getPreferredLocations() != null) {
+            candidate.getPreferredLocations().forEach(location ->
+                    candidateText.append(location.getName()).append(" "));
+        }
+
+        if (candidate.getSalaryRange() != null) {
+            candidateText.append(candidate.getSalaryRange()).append(" ");
+        }
+
+        if (candidate.getSelectedResume() != null) {
+            candidateText.append(candidate.getSelectedResume().getName()).append(" ");
+        }
+        return candidateText.toString();
+    }
+}
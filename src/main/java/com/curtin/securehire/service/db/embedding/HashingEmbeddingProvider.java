@@ -0,0 +1,113 @@
+package com.curtin.securehire.service.db.embedding;
+
+import com.curtin.securehire.service.db.vector.Vectors;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic, offline embedding model for environments without access to the OpenAI API.
+ *
+ * <p>Text is tokenised into unigrams and bigrams, stop words are dropped, and each term gets a
+ * sublinear TF weight ({@code 1 + ln tf}) times a fixed IDF-style weight that favours bigrams and longer
+ * terms, since a deterministic model cannot depend on corpus statistics. Terms are feature-hashed into the
+ * configured dimension with a signed hash (so collisions cancel rather than accumulate) and the result is
+ * L2-normalised for cosine similarity. The same text always maps to the same vector on every node.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "recommendation.embedding.provider", havingValue = "local")
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashingEmbeddingProvider.class);
+
+    private static final String MODEL_ID = "local-hashing-tfidf-v1";
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "this", "to", "was", "we", "will", "with", "you",
+            "your", "null");
+
+    private static final HashFunction HASH = Hashing.murmur3_32_fixed(0x5EC0E);
+
+    @Value("${recommendation.embedding.dimension:1536}")
+    private int dimension;
+
+    public HashingEmbeddingProvider() {
+        logger.info("Using local hashing embedding provider ({})", MODEL_ID);
+    }
+
+    @Override
+    public String modelId() {
+        return MODEL_ID;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> inputs) {
+        List<float[]> vectors = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            vectors.add(embed(input));
+        }
+        return vectors;
+    }
+
+    private float[] embed(String text) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> tokens = tokenize(text);
+        for (int i = 0; i < tokens.size(); i++) {
+            termFrequencies.merge(tokens.get(i), 1, Integer::sum);
+            if (i + 1 < tokens.size()) {
+                termFrequencies.merge(tokens.get(i) + " " + tokens.get(i + 1), 1, Integer::sum);
+            }
+        }
+
+        float[] vector = new float[dimension];
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            String term = entry.getKey();
+            double weight = (1 + Math.log(entry.getValue())) * termWeight(term);
+            int hash = HASH.hashString(term, StandardCharsets.UTF_8).asInt();
+            // Low 31 bits pick the bucket, the top bit picks the sign
+            int index = (hash & 0x7FFFFFFF) % dimension;
+            float sign = hash < 0 ? -1f : 1f;
+            vector[index] += (float) (sign * weight);
+        }
+        return Vectors.normalize(vector);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        // Keep '+' and '#' so "c++" and "c#" survive as skills
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+#]+")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static double termWeight(String term) {
+        if (term.indexOf(' ') >= 0) {
+            return 1.5;
+        }
+        return term.length() <= 3 ? 0.8 : 1.0 + Math.min(term.length() - 3, 7) * 0.05;
+    }
+}
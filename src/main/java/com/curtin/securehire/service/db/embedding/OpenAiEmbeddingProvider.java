@@ -0,0 +1,114 @@
+package com.curtin.securehire.service.db.embedding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.embedding.Embedding;
+import com.theokanning.openai.embedding.EmbeddingRequest;
+import com.theokanning.openai.service.OpenAiService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import retrofit2.Retrofit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embeddings from the OpenAI API through a single shared client. The OkHttp connection pool is reused
+ * across requests, and {@code openai.api.base-url} can point at a local stub server for testing.
+ */
+@Component
+@ConditionalOnProperty(name = "recommendation.embedding.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiEmbeddingProvider implements EmbeddingProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAiEmbeddingProvider.class);
+
+    @Value("${openai.api.key}")
+    private String apiKey;
+
+    @Value("${openai.api.base-url:https://api.openai.com/}")
+    private String baseUrl;
+
+    @Value("${openai.api.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Value("${openai.api.max-idle-connections:5}")
+    private int maxIdleConnections;
+
+    @Value("${recommendation.embedding.model:text-embedding-ada-002}")
+    private String model;
+
+    @Value("${recommendation.embedding.dimension:1536}")
+    private int dimension;
+
+    private OkHttpClient httpClient;
+    private OpenAiService openAiService;
+
+    @PostConstruct
+    public void init() {
+        httpClient = OpenAiService.defaultClient(apiKey, Duration.ofSeconds(timeoutSeconds))
+                .newBuilder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .build();
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        Retrofit retrofit = OpenAiService.defaultRetrofit(httpClient, mapper)
+                .newBuilder()
+                .baseUrl(baseUrl)
+                .build();
+        openAiService = new OpenAiService(retrofit.create(OpenAiApi.class));
+        logger.info("OpenAI embedding provider initialised for model {} at {}", model, baseUrl);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (httpClient != null) {
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+
+    @Override
+    public String modelId() {
+        return model;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> inputs) {
+        EmbeddingRequest request = EmbeddingRequest.builder()
+                .model(model)
+                .input(inputs)
+                .build();
+
+        List<Embedding> data = new ArrayList<>(openAiService.createEmbeddings(request).getData());
+        if (data.size() != inputs.size()) {
+            throw new IllegalStateException("Expected " + inputs.size() + " embeddings but received " + data.size());
+        }
+        // The API reports each vector's input position; don't rely on response order
+        data.sort(Comparator.comparingInt(Embedding::getIndex));
+
+        List<float[]> vectors = new ArrayList<>(data.size());
+        for (Embedding embedding : data) {
+            List<Double> values = embedding.getEmbedding();
+            float[] vector = new float[values.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = values.get(i).floatValue();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,48 @@
+package com.curtin.securehire.service.db.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Postgres session advisory locks, for background jobs that only one node of the cluster should run
+ * at a time (index bootstraps, vector index builds, the nightly recommendation precompute).
+ */
+@Service
+public class AdvisoryLockService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Run {@code task} while holding the advisory lock {@code key}, without waiting for it.
+     *
+     * @return false, without running {@code task}, if another session holds the lock
+     */
+    public boolean tryRun(long key, Runnable task) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            // Session locks belong to the connection, so take and release it on this one
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                lock.setLong(1, key);
+                try (ResultSet result = lock.executeQuery()) {
+                    if (!result.next() || !result.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, key);
+                    unlock.execute();
+                }
+            }
+        }));
+    }
+}
@@ -1,20 +1,25 @@
 package com.curtin.securehire.service.db.impl;
 
+import com.curtin.securehire.constant.EmbeddingTaskType;
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.*;
 import com.curtin.securehire.exception.BadRequestException;
 import com.curtin.securehire.exception.NotFoundException;
 import com.curtin.securehire.repository.db.*;
-import com.curtin.securehire.repository.es.CandidateSearchRepository;
 import com.curtin.securehire.service.db.AddressService;
 import com.curtin.securehire.service.db.CandidateService;
-import com.curtin.securehire.service.es.CandidateSearchService;
+import com.curtin.securehire.service.db.embedding.EmbeddingTaskQueue;
+import com.curtin.securehire.service.es.SearchIndexOutbox;
+import com.curtin.securehire.service.es.SearchResultCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -46,10 +51,16 @@ public class CandidateServiceImpl implements CandidateService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private CandidateSearchService candidateSearchService;
+    private SearchIndexOutbox searchIndexOutbox;
 
     @Autowired
-    private CandidateSearchRepository candidateSearchRepository;
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private EmbeddingTaskQueue embeddingTaskQueue;
+
+    @Autowired
+    private EmbeddingBatchService embeddingBatchService;
 
     @Override
     public Candidate getProfile(Integer userId) {
@@ -66,6 +77,7 @@ public class CandidateServiceImpl implements CandidateService {
     }
 
     @Override
+    @Transactional
     public Candidate updateProfile(Integer userId, Candidate candidate) {
         logger.info("Updating profile for user with ID: {}", userId);
         Optional<Candidate> existingUserOpt = candidateRepository.findById(userId);
@@ -92,7 +104,11 @@ public class CandidateServiceImpl implements CandidateService {
                     addressService.update(existingCandidateAddress.getId(), candidate.getAddress());
                 }
             }
-            if (candidate.getPreferredLocations() != null) existingCandidate.setPreferredLocations(candidate.getPreferredLocations());
+            if (candidate.getPreferredLocations() != null) {
+                existingCandidate.setPreferredLocations(candidate.getPreferredLocations());
+                // Only the join table changes, which would leave updated_at behind
+                existingCandidate.setUpdatedAt(Instant.now());
+            }
             if (candidate.getSalaryRange() != null) existingCandidate.setSalaryRange(candidate.getSalaryRange());
             if (candidate.isBlocked() != existingCandidate.isBlocked()) existingCandidate.setBlocked(candidate.isBlocked());
             if (candidate.isPremiumUser() != existingCandidate.isPremiumUser()) existingCandidate.setPremiumUser(candidate.isPremiumUser());
@@ -100,8 +116,10 @@ public class CandidateServiceImpl implements CandidateService {
             Candidate savedCandidate = candidateRepository.save(existingCandidate);
             logger.info("Profile updated successfully for user with ID: {}", userId);
 
-            // Index the updated entity in Elasticsearch
-            candidateSearchService.indexCandidate(savedCandidate);
+            // Re-indexed in Elasticsearch in the background once this transaction commits
+            searchIndexOutbox.enqueue(SearchDocumentType.CANDIDATE, savedCandidate.getId());
+            // Refresh the profile embedding via the task queue; a no-op when its input did not change
+            embeddingTaskQueue.enqueue(EmbeddingTaskType.CANDIDATE, savedCandidate.getId());
             return savedCandidate;
         } catch (Exception e) {
             logger.error("Error updating profile for user with ID {}: {}", userId, e.getMessage(), e);
@@ -110,6 +128,7 @@ public class CandidateServiceImpl implements CandidateService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Integer userId) {
         logger.info("Deleting user with ID: {}", userId);
 
@@ -119,12 +138,12 @@ public class CandidateServiceImpl implements CandidateService {
         }
 
         try {
+            // The embedding references the candidate; its in-memory vector goes once this commits
+            embeddingBatchService.deleteCandidateEmbedding(userId);
             candidateRepository.deleteById(userId);
             logger.info("User deleted successfully with ID: {}", userId);
-
-            // Delete from Elasticsearch index
-
-            candidateSearchRepository.deleteById(userId);
+            // The document itself goes with the next sync, through the tombstone the delete wrote
+            searchResultCache.invalidateAfterCommit(SearchDocumentType.CANDIDATE);
         } catch (Exception e) {
             logger.error("Error deleting user with ID {}: {}", userId, e.getMessage(), e);
             throw new BadRequestException("Failed to delete user: " + e.getMessage());
@@ -435,6 +454,7 @@ public class CandidateServiceImpl implements CandidateService {
 
             Candidate candidate = userOpt.get();
             candidate.getSkills().add(savedSkill);
+            candidate.setUpdatedAt(Instant.now());
             candidateRepository.save(candidate);
 
             logger.info("Skill added successfully for user with ID: {}", userId);
@@ -461,6 +481,7 @@ public class CandidateServiceImpl implements CandidateService {
         try {
             Candidate candidate = userOpt.get();
             candidate.setSkills(updatedSkill);
+            candidate.setUpdatedAt(Instant.now());
             logger.info("Skill updated successfully for user with ID: {}", userId);
             return updatedSkill;
         } catch (Exception e) {
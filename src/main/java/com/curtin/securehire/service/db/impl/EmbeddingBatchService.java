@@ -1,26 +1,379 @@
 package com.curtin.securehire.service.db.impl;
 
+import com.curtin.securehire.constant.EmbeddingStorage;
+import com.curtin.securehire.entity.db.Candidate;
 import com.curtin.securehire.entity.db.Job;
-import com.curtin.securehire.service.db.RecommendationService;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import com.curtin.securehire.service.db.embedding.EmbeddingCache;
+import com.curtin.securehire.service.db.embedding.EmbeddingProvider;
+import com.curtin.securehire.service.db.embedding.EmbeddingTextBuilder;
+import com.curtin.securehire.service.db.vector.QuantizedVector;
+import com.curtin.securehire.service.db.vector.VectorIndex;
 import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Generates job and candidate embeddings in batches: texts are packed into as few provider requests as
+ * the token budget allows, and each chunk of results is written back with one batched upsert.
+ *
+ * <p>Rows whose embedding input hash is unchanged are skipped, and texts already embedded for another
+ * row (or an earlier version) are served from the {@link EmbeddingCache}.</p>
+ */
 @Service
 public class EmbeddingBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingBatchService.class);
+
+    // Rough English average; only used to stay under the provider's per-request token limit
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final EmbeddingTable JOB_EMBEDDINGS = new EmbeddingTable("job_embeddings", "job_id");
+    private static final EmbeddingTable USER_EMBEDDINGS = new EmbeddingTable("user_embeddings", "user_id");
+
+    @Autowired
+    private EmbeddingProvider embeddingProvider;
+
     @Autowired
-    private RecommendationService recommendationService;
+    private EmbeddingTextBuilder embeddingTextBuilder;
+
+    @Autowired
+    private EmbeddingCache embeddingCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    @Qualifier("jobVectorIndex")
+    private VectorIndex jobVectorIndex;
+
+    @Autowired
+    @Qualifier("userVectorIndex")
+    private VectorIndex userVectorIndex;
+
+    @Value("${recommendation.embedding.storage:FLOAT32}")
+    private EmbeddingStorage embeddingStorage;
+
+    @Value("${recommendation.embedding.batch.max-inputs:256}")
+    private int maxInputsPerRequest;
+
+    @Value("${recommendation.embedding.batch.max-tokens:50000}")
+    private int maxTokensPerRequest;
+
+    @Value("${recommendation.embedding.batch.max-tokens-per-input:8000}")
+    private int maxTokensPerInput;
+
+    @Value("${recommendation.embedding.batch.chunk-size:1000}")
+    private int chunkSize;
+
     @Async
     public CompletableFuture<Void> batchProcessJobs(List<Job> jobs) {
-        // Process in smaller batches
-        for (List<Job> batch : Lists.partition(jobs, 100)) {
-            batch.forEach(job -> recommendationService.generateEmbeddingsForJob(job));
+        // Bound memory: each chunk is embedded and written before the next one starts
+        for (List<Job> chunk : Lists.partition(jobs, chunkSize)) {
+            embedJobs(chunk);
         }
         return CompletableFuture.completedFuture(null);
     }
-}
 
+    /**
+     * Embed the given jobs and upsert all of their vectors in a single JDBC batch. Jobs whose embedding
+     * input is unchanged since their last embedding are skipped.
+     *
+     * @return the number of embeddings written
+     */
+    public int embedJobs(List<Job> jobs) {
+        return embed(prepareJobs(jobs));
+    }
+
+    /**
+     * Embed the given candidates' profiles into {@code user_embeddings}, same rules as {@link #embedJobs}.
+     *
+     * @return the number of embeddings written
+     */
+    public int embedCandidates(List<Candidate> candidates) {
+        return embed(prepareCandidates(candidates));
+    }
+
+    /**
+     * First step of {@link #embedJobs} run on its own: build the jobs' embedding inputs and drop the
+     * unchanged ones. Needs the jobs' lazy associations, so call it while they are attached. Together
+     * with {@link #generate} and {@link #save} this lets the slow provider call run outside any
+     * transaction.
+     */
+    public PendingEmbeddings prepareJobs(List<Job> jobs) {
+        List<Integer> ids = new ArrayList<>(jobs.size());
+        List<String> texts = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            ids.add(job.getId());
+            texts.add(embeddingTextBuilder.forJob(job));
+        }
+        return prepare(JOB_EMBEDDINGS, ids, texts, jobVectorIndex);
+    }
+
+    /**
+     * Candidate counterpart of {@link #prepareJobs}.
+     */
+    public PendingEmbeddings prepareCandidates(List<Candidate> candidates) {
+        List<Integer> ids = new ArrayList<>(candidates.size());
+        List<String> texts = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            ids.add(candidate.getId());
+            texts.add(embeddingTextBuilder.forCandidate(candidate));
+        }
+        return prepare(USER_EMBEDDINGS, ids, texts, userVectorIndex);
+    }
+
+    /**
+     * Delete a job's embedding, and its vector from the in-memory index once the surrounding transaction
+     * commits. Other nodes drop it on their next index refresh.
+     */
+    public void deleteJobEmbedding(int jobId) {
+        delete(JOB_EMBEDDINGS, jobId, jobVectorIndex);
+    }
+
+    /**
+     * Delete a candidate's embedding, same rules as {@link #deleteJobEmbedding}.
+     */
+    public void deleteCandidateEmbedding(int candidateId) {
+        delete(USER_EMBEDDINGS, candidateId, userVectorIndex);
+    }
+
+    private void delete(EmbeddingTable table, int id, VectorIndex index) {
+        jdbcTemplate.update(table.deleteSql, id);
+        afterCommit(() -> index.remove(id));
+    }
+
+    private int embed(PendingEmbeddings pending) {
+        generate(pending);
+        return save(pending);
+    }
+
+    private PendingEmbeddings prepare(EmbeddingTable table, List<Integer> ids, List<String> texts, VectorIndex index) {
+        PendingEmbeddings pending = new PendingEmbeddings(table, index, embeddingProvider.modelId(), ids.size());
+        if (ids.isEmpty()) {
+            return pending;
+        }
+        Map<Integer, String> storedHashes = loadStoredHashes(table, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            String text = truncate(texts.get(i));
+            String key = embeddingCache.key(pending.modelId, text);
+            if (key.equals(storedHashes.get(ids.get(i)))) {
+                continue;
+            }
+            pending.staleIds.add(ids.get(i));
+            pending.keys.add(key);
+            pending.textsByKey.putIfAbsent(key, text);
+        }
+        embeddingCache.recordUnchanged(ids.size() - pending.staleIds.size());
+        return pending;
+    }
+
+    /**
+     * Fill in the vectors of prepared inputs from the embedding cache and the provider. Runs no
+     * transaction of its own and should not be called inside one.
+     */
+    public void generate(PendingEmbeddings pending) {
+        if (pending.staleIds.isEmpty()) {
+            return;
+        }
+        Map<String, float[]> vectorsByKey = new HashMap<>(embeddingCache.getAll(pending.textsByKey.keySet()));
+        List<String> missingKeys = new ArrayList<>();
+        for (String key : pending.textsByKey.keySet()) {
+            if (!vectorsByKey.containsKey(key)) {
+                missingKeys.add(key);
+            }
+        }
+
+        Map<String, float[]> generated = new HashMap<>();
+        List<String> missingTexts = missingKeys.stream().map(pending.textsByKey::get).toList();
+        int offset = 0;
+        for (List<String> request : packRequests(missingTexts)) {
+            List<float[]> vectors = embeddingProvider.embed(request);
+            for (int i = 0; i < vectors.size(); i++) {
+                generated.put(missingKeys.get(offset + i), vectors.get(i));
+            }
+            offset += request.size();
+            pending.requests++;
+        }
+        embeddingCache.putAll(pending.modelId, generated);
+        vectorsByKey.putAll(generated);
+        pending.cached = pending.textsByKey.size() - missingKeys.size();
+
+        for (String key : pending.keys) {
+            pending.vectors.add(vectorsByKey.get(key));
+        }
+    }
+
+    /**
+     * Upsert generated vectors in a single JDBC batch, joining the caller's transaction if there is one.
+     *
+     * @return the number of embeddings written
+     */
+    public int save(PendingEmbeddings pending) {
+        EmbeddingTable table = pending.table;
+        if (pending.total == 0) {
+            return 0;
+        }
+        if (pending.staleIds.isEmpty()) {
+            logger.info("Embeddings for all {} rows of {} are up to date", pending.total, table.name);
+            return 0;
+        }
+        saveEmbeddings(table, pending.staleIds, pending.vectors, pending.keys, pending.modelId, pending.index);
+        logger.info("Embedded {} of {} rows into {} with {} provider request(s), {} served from cache",
+                pending.staleIds.size(), pending.total, table.name, pending.requests, pending.cached);
+        return pending.staleIds.size();
+    }
+
+    private Map<Integer, String> loadStoredHashes(EmbeddingTable table, List<Integer> ids) {
+        Map<Integer, String> hashes = new HashMap<>();
+        namedParameterJdbcTemplate.query(table.storedHashesSql, Map.of("ids", ids),
+                rs -> {
+                    hashes.put(rs.getInt(1), rs.getString(2));
+                });
+        return hashes;
+    }
+
+    /**
+     * Group inputs, in order, into requests that respect both the input-count and token budgets.
+     */
+    private List<List<String>> packRequests(List<String> texts) {
+        List<List<String>> requests = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int currentTokens = 0;
+        for (String text : texts) {
+            int tokens = estimateTokens(text);
+            if (!current.isEmpty() && (current.size() >= maxInputsPerRequest || currentTokens + tokens > maxTokensPerRequest)) {
+                requests.add(current);
+                current = new ArrayList<>();
+                currentTokens = 0;
+            }
+            current.add(text);
+            currentTokens += tokens;
+        }
+        if (!current.isEmpty()) {
+            requests.add(current);
+        }
+        return requests;
+    }
+
+    private void saveEmbeddings(EmbeddingTable table, List<Integer> ids, List<float[]> vectors,
+                                List<String> contentHashes, String modelId, VectorIndex index) {
+        boolean int8 = embeddingStorage == EmbeddingStorage.INT8;
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            float[] vector = vectors.get(i);
+            QuantizedVector quantized = int8 ? QuantizedVector.ofNormalized(vector) : null;
+            rows.add(new Object[]{
+                    ids.get(i),
+                    PgVectorType.toText(vector),
+                    quantized != null ? quantized.getCodes() : null,
+                    quantized != null ? quantized.getScale() : null,
+                    contentHashes.get(i),
+                    modelId
+            });
+        }
+        jdbcTemplate.batchUpdate(table.upsertSql, rows);
+
+        afterCommit(() -> {
+            for (int i = 0; i < ids.size(); i++) {
+                index.upsert(ids.get(i), vectors.get(i));
+            }
+        });
+    }
+
+    private String truncate(String text) {
+        int maxChars = maxTokensPerInput * CHARS_PER_TOKEN;
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+
+    private static int estimateTokens(String text) {
+        return text.length() / CHARS_PER_TOKEN + 1;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Embedding inputs of one batch that differ from what is stored, carried from {@link #prepareJobs}
+     * or {@link #prepareCandidates} through {@link #generate} to {@link #save}.
+     */
+    public static final class PendingEmbeddings {
+        private final EmbeddingTable table;
+        private final VectorIndex index;
+        private final String modelId;
+        private final int total;
+        private final List<Integer> staleIds = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final Map<String, String> textsByKey = new LinkedHashMap<>();
+        private final List<float[]> vectors = new ArrayList<>();
+        private int requests;
+        private int cached;
+
+        private PendingEmbeddings(EmbeddingTable table, VectorIndex index, String modelId, int total) {
+            this.table = table;
+            this.index = index;
+            this.modelId = modelId;
+            this.total = total;
+        }
+
+        /**
+         * Vector generated for {@code id}, or null if its embedding was already up to date.
+         */
+        public float[] vector(int id) {
+            int i = staleIds.indexOf(id);
+            return i >= 0 && i < vectors.size() ? vectors.get(i) : null;
+        }
+    }
+
+    /**
+     * Embedding table layout shared by {@code job_embeddings} and {@code user_embeddings}.
+     */
+    private static final class EmbeddingTable {
+        private final String name;
+        private final String upsertSql;
+        private final String storedHashesSql;
+        private final String deleteSql;
+
+        private EmbeddingTable(String name, String idColumn) {
+            this.name = name;
+            this.upsertSql = "INSERT INTO " + name + " (" + idColumn +
+                    ", embedding, embedding_int8, embedding_scale, content_hash, model_id, updated_at) " +
+                    "VALUES (?, CAST(? AS vector), ?, ?, ?, ?, now()) " +
+                    "ON CONFLICT (" + idColumn + ") DO UPDATE SET embedding = EXCLUDED.embedding, " +
+                    "embedding_int8 = EXCLUDED.embedding_int8, embedding_scale = EXCLUDED.embedding_scale, " +
+                    "content_hash = EXCLUDED.content_hash, model_id = EXCLUDED.model_id, updated_at = now()";
+            this.storedHashesSql = "SELECT " + idColumn + ", content_hash FROM " + name +
+                    " WHERE " + idColumn + " IN (:ids) AND content_hash IS NOT NULL";
+            this.deleteSql = "DELETE FROM " + name + " WHERE " + idColumn + " = ?";
+        }
+    }
+}
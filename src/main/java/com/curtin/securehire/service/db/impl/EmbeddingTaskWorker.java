@@ -0,0 +1,149 @@
+package com.curtin.securehire.service.db.impl;
+
+import com.curtin.securehire.constant.EmbeddingTaskType;
+import com.curtin.securehire.repository.db.CandidateRepository;
+import com.curtin.securehire.repository.db.JobRepository;
+import com.curtin.securehire.service.db.embedding.EmbeddingTaskQueue;
+import com.curtin.securehire.service.db.embedding.EmbeddingTaskQueue.ClaimedTask;
+import com.curtin.securehire.service.db.impl.EmbeddingBatchService.PendingEmbeddings;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the {@code embedding_tasks} outbox.
+ *
+ * <p>Each poll leases as many due tasks as there are free worker slots and runs them on virtual
+ * threads, so slow provider calls never occupy the common fork-join pool. The entity's text is read in one
+ * short transaction and the provider is called outside any, so no connection is held while it answers. A
+ * task is deleted in the same transaction that stores its embedding; on failure it is handed back to the
+ * queue for a delayed retry.</p>
+ */
+@Service
+public class EmbeddingTaskWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingTaskWorker.class);
+
+    @Autowired
+    private EmbeddingTaskQueue embeddingTaskQueue;
+
+    @Autowired
+    private EmbeddingBatchService embeddingBatchService;
+
+    @Autowired
+    private RecommendationPrecomputeService recommendationPrecomputeService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${recommendation.embedding.tasks.enabled:true}")
+    private boolean enabled;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore slots;
+
+    private final String owner;
+
+    public EmbeddingTaskWorker(@Value("${recommendation.embedding.tasks.concurrency:4}") int concurrency) {
+        this.slots = new Semaphore(concurrency);
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.embedding.tasks.poll-interval-ms:2000}")
+    public void poll() {
+        if (!enabled || executor.isShutdown()) {
+            return;
+        }
+        int free = slots.drainPermits();
+        if (free == 0) {
+            return;
+        }
+        List<ClaimedTask> tasks;
+        try {
+            tasks = transactionTemplate.execute(status -> embeddingTaskQueue.claim(owner, free));
+        } catch (Exception e) {
+            slots.release(free);
+            logger.error("Failed to claim embedding tasks: {}", e.getMessage(), e);
+            return;
+        }
+        slots.release(free - tasks.size());
+        for (ClaimedTask task : tasks) {
+            executor.execute(() -> {
+                try {
+                    process(task);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    private void process(ClaimedTask task) {
+        try {
+            // A deleted entity has nothing to embed and simply completes its task
+            Optional<PendingEmbeddings> pending = transactionTemplate.execute(status -> switch (task.type()) {
+                case JOB -> jobRepository.findById(task.entityId())
+                        .map(job -> embeddingBatchService.prepareJobs(List.of(job)));
+                case CANDIDATE -> candidateRepository.findById(task.entityId())
+                        .map(candidate -> embeddingBatchService.prepareCandidates(List.of(candidate)));
+            });
+            pending.ifPresent(embeddingBatchService::generate);
+            int written = transactionTemplate.execute(status -> {
+                int saved = pending.map(embeddingBatchService::save).orElse(0);
+                embeddingTaskQueue.complete(task, owner);
+                return saved;
+            });
+            float[] vector = pending.map(p -> p.vector(task.entityId())).orElse(null);
+            if (task.type() == EmbeddingTaskType.CANDIDATE && written > 0 && vector != null) {
+                // The profile changed: refresh this user's precomputed recommendations instead of waiting for the nightly run
+                recommendationPrecomputeService.refreshUser(task.entityId(), vector);
+            }
+        } catch (Exception e) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> embeddingTaskQueue.fail(task, owner, e));
+            } catch (Exception inner) {
+                // The lease expires and the task is claimed again
+                logger.error("Failed to record embedding task failure for {} {}: {}",
+                        task.type(), task.entityId(), inner.getMessage(), inner);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            // Unfinished tasks keep their lease until it expires, then another node retries them
+            executor.shutdownNow();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.curtin.securehire.service.db.impl;
+
+import com.curtin.securehire.config.VectorIndexLoader;
+import com.curtin.securehire.config.VectorIndexManager;
+import com.curtin.securehire.dto.JobVectorFilter;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import com.curtin.securehire.repository.db.JobEmbeddingRepository;
+import com.curtin.securehire.repository.db.JobRepository;
+import com.curtin.securehire.repository.db.LocationRepository;
+import com.curtin.securehire.service.db.vector.VectorIndex;
+import com.curtin.securehire.service.db.vector.VectorMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Nearest-job search restricted to jobs matching a {@link JobVectorFilter}.
+ *
+ * <p>The filter is first resolved to the set of matching job ids with one relational query (location
+ * containment goes through the recursive location hierarchy). The strategy then depends on how many
+ * jobs match:</p>
+ * <ul>
+ *     <li>up to {@code brute-force-max}: score exactly those jobs in pgvector, which is cheaper than any
+ *     graph walk at that size and always returns every valid result</li>
+ *     <li>otherwise, with the HNSW index loaded: filtered graph search, doubling efSearch until
+ *     {@code limit} matches are found or {@code max-ef} is reached</li>
+ *     <li>otherwise: over-fetch from the pgvector ANN index, growing the window until enough results
+ *     pass the filter, then fall back to exact scoring</li>
+ * </ul>
+ */
+@Service
+public class FilteredJobVectorSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilteredJobVectorSearch.class);
+
+    private static final String EXACT_SUBSET_SQL =
+            "SELECT job_id FROM job_embeddings WHERE job_id = ANY(?) " +
+                    "ORDER BY embedding <=> CAST(? AS vector) LIMIT ?";
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JobEmbeddingRepository jobEmbeddingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("jobVectorIndex")
+    private VectorIndex jobVectorIndex;
+
+    @Autowired
+    private VectorIndexLoader vectorIndexLoader;
+
+    @Autowired
+    private VectorIndexManager vectorIndexManager;
+
+    @Value("${recommendation.vector-index.engine:hnsw}")
+    private String vectorIndexEngine;
+
+    @Value("${recommendation.vector-index.ef-search:64}")
+    private int efSearch;
+
+    @Value("${recommendation.filtered-search.brute-force-max:10000}")
+    private int bruteForceMax;
+
+    @Value("${recommendation.filtered-search.max-ef:2048}")
+    private int maxEf;
+
+    @Value("${recommendation.filtered-search.max-over-fetch:4096}")
+    private int maxOverFetch;
+
+    /**
+     * Resolve a filter to the ids of the jobs it matches.
+     */
+    public BitSet matchingJobIds(JobVectorFilter filter) {
+        List<Integer> locationIds = filter.getLocationIds() == null || filter.getLocationIds().isEmpty()
+                ? List.of()
+                : locationRepository.findDescendantIds(filter.getLocationIds());
+        boolean anyLocation = locationIds.isEmpty();
+
+        List<Integer> ids = jobRepository.findIdsForVectorFilter(
+                anyLocation,
+                anyLocation ? List.of(-1) : locationIds,
+                filter.getMinSalary(),
+                filter.getMaxSalary(),
+                filter.getDeadlineFrom(),
+                filter.getJobType(),
+                filter.getEmployementType());
+
+        BitSet allowed = new BitSet();
+        ids.forEach(allowed::set);
+        return allowed;
+    }
+
+    /**
+     * Ids of the jobs in {@code allowed} nearest to the embedding, closest first.
+     *
+     * @param exact score every allowed job instead of using an approximate index
+     */
+    public List<Integer> search(float[] embedding, int limit, boolean exact, BitSet allowed) {
+        int matching = allowed.cardinality();
+        if (matching == 0 || limit <= 0) {
+            return List.of();
+        }
+        if (exact || matching <= bruteForceMax) {
+            return exactSubset(embedding, allowed, limit);
+        }
+        if ("hnsw".equalsIgnoreCase(vectorIndexEngine) && vectorIndexLoader.isJobIndexLoaded()) {
+            return filteredHnsw(embedding, limit, allowed);
+        }
+        return overFetch(embedding, limit, allowed);
+    }
+
+    private List<Integer> filteredHnsw(float[] embedding, int limit, BitSet allowed) {
+        int ef = Math.max(efSearch, limit);
+        List<VectorMatch> matches;
+        while (true) {
+            matches = jobVectorIndex.search(embedding, limit, ef, allowed::get);
+            if (matches.size() >= limit || ef >= maxEf) {
+                break;
+            }
+            ef = Math.min(ef * 2, maxEf);
+        }
+        logger.debug("Filtered HNSW search returned {} of {} results at ef {}", matches.size(), limit, ef);
+        return matches.stream().map(VectorMatch::getId).collect(Collectors.toList());
+    }
+
+    private List<Integer> overFetch(float[] embedding, int limit, BitSet allowed) {
+        String vector = PgVectorType.toText(embedding);
+        vectorIndexManager.applySearchParameters("job_embeddings");
+        int fetch = Math.min(limit * 4, maxOverFetch);
+        while (true) {
+            List<Object[]> rows = jobEmbeddingRepository.findSimilarJobsByEmbedding(vector, fetch);
+            List<Integer> ids = new ArrayList<>(limit);
+            for (Object[] row : rows) {
+                int id = ((Number) row[0]).intValue();
+                if (allowed.get(id)) {
+                    ids.add(id);
+                    if (ids.size() == limit) {
+                        return ids;
+                    }
+                }
+            }
+            if (rows.size() < fetch) {
+                return ids;
+            }
+            if (fetch >= maxOverFetch) {
+                logger.debug("Over-fetch window of {} exhausted with {} of {} results, scoring exactly", fetch, ids.size(), limit);
+                return exactSubset(embedding, allowed, limit);
+            }
+            fetch = Math.min(fetch * 2, maxOverFetch);
+        }
+    }
+
+    private List<Integer> exactSubset(float[] embedding, BitSet allowed, int limit) {
+        Integer[] ids = allowed.stream().boxed().toArray(Integer[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXACT_SUBSET_SQL);
+            Array array = connection.createArrayOf("integer", ids);
+            statement.setArray(1, array);
+            statement.setString(2, PgVectorType.toText(embedding));
+            statement.setInt(3, limit);
+            return statement;
+        }, (rs, rowNum) -> rs.getInt(1));
+    }
+}
@@ -1,23 +1,27 @@
 package com.curtin.securehire.service.db.impl;
 
+import com.curtin.securehire.constant.EmbeddingTaskType;
 import com.curtin.securehire.constant.EmployementType;
 import com.curtin.securehire.constant.JobType;
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Job;
 import com.curtin.securehire.entity.db.Range;
 import com.curtin.securehire.exception.BadRequestException;
 import com.curtin.securehire.exception.NotFoundException;
 import com.curtin.securehire.repository.db.JobRepository;
 import com.curtin.securehire.service.db.JobService;
-import com.curtin.securehire.service.db.RecommendationService;
+import com.curtin.securehire.service.db.embedding.EmbeddingTaskQueue;
+import com.curtin.securehire.service.es.SearchIndexOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,9 +33,16 @@ public class JobServiceImpl implements JobService {
     private JobRepository jobRepository;
 
     @Autowired
-    private RecommendationService recommendationService;
+    private EmbeddingTaskQueue embeddingTaskQueue;
+
+    @Autowired
+    private SearchIndexOutbox searchIndexOutbox;
+
+    @Autowired
+    private EmbeddingBatchService embeddingBatchService;
 
     @Override
+    @Transactional
     public Job createJob(Job job) {
         logger.info("Creating new job: {}", job.getTitle());
         if (job.getTitle() == null || job.getTitle().trim().isEmpty()) {
@@ -40,8 +51,9 @@ public class JobServiceImpl implements JobService {
         }
         try {
             Job savedJob =   jobRepository.save(job);
-            // Trigger embedding generation asynchronously
-            CompletableFuture.runAsync(() -> recommendationService.generateEmbeddingsForJob(savedJob));
+            // Queued in the same transaction; the embedding worker picks it up after commit
+            embeddingTaskQueue.enqueue(EmbeddingTaskType.JOB, savedJob.getId());
+            searchIndexOutbox.enqueue(SearchDocumentType.JOB, savedJob.getId());
             return savedJob;
         } catch (Exception e) {
             logger.error("Error creating job: {}", e.getMessage(), e);
@@ -72,6 +84,7 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
+    @Transactional
     public Job updateJob(int jobId, Job updatedJob) {
         logger.info("Updating job with ID: {}", jobId);
         Optional<Job> existingJobOpt = jobRepository.findById(jobId);
@@ -92,6 +105,8 @@ public class JobServiceImpl implements JobService {
             if (updatedJob.getEmployementType() != null) existingJob.setEmployementType(updatedJob.getEmployementType());
             if (updatedJob.getTechnicalSkills() != null) existingJob.setTechnicalSkills(updatedJob.getTechnicalSkills());
             if (updatedJob.getSoftSkills() != null) existingJob.setSoftSkills(updatedJob.getSoftSkills());
+            // The skill join tables are not part of the jobs row
+            if (updatedJob.getTechnicalSkills() != null || updatedJob.getSoftSkills() != null) existingJob.setUpdatedAt(Instant.now());
             if (updatedJob.getRecruiter() != null) existingJob.setRecruiter(updatedJob.getRecruiter());
             if (updatedJob.getMaxApplicants() > 0) existingJob.setMaxApplicants(updatedJob.getMaxApplicants());
             if (updatedJob.getSalaryRange() != null) existingJob.setSalaryRange(updatedJob.getSalaryRange());
@@ -99,7 +114,11 @@ public class JobServiceImpl implements JobService {
             if (updatedJob.getPostedDate() != null) existingJob.setPostedDate(updatedJob.getPostedDate());
             if (updatedJob.getDeadline() != null) existingJob.setDeadline(updatedJob.getDeadline());
 
-            return jobRepository.save(existingJob);
+            Job savedJob = jobRepository.save(existingJob);
+            // Re-embed via the task queue; skipped cheaply when the embedding input did not change
+            embeddingTaskQueue.enqueue(EmbeddingTaskType.JOB, savedJob.getId());
+            searchIndexOutbox.enqueue(SearchDocumentType.JOB, savedJob.getId());
+            return savedJob;
         } catch (Exception e) {
             logger.error("Error updating job with ID {}: {}", jobId, e.getMessage(), e);
             throw new BadRequestException("Failed to update job: " + e.getMessage());
@@ -107,6 +126,7 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
+    @Transactional
     public void deleteJob(int jobId) {
         logger.info("Deleting job with ID: {}", jobId);
         if (!jobRepository.existsById(jobId)) {
@@ -115,6 +135,8 @@ public class JobServiceImpl implements JobService {
         }
 
         try {
+            // The embedding references the job; its in-memory vector goes once this commits
+            embeddingBatchService.deleteJobEmbedding(jobId);
             jobRepository.deleteById(jobId);
             logger.info("Successfully deleted job with ID: {}", jobId);
         } catch (Exception e) {
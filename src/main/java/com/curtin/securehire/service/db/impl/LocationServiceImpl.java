@@ -1,15 +1,16 @@
 package com.curtin.securehire.service.db.impl;
 
 import com.curtin.securehire.constant.LocationType;
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.dto.LocationDTO;
 import com.curtin.securehire.entity.db.Location;
 
 import com.curtin.securehire.exception.BadRequestException;
 import com.curtin.securehire.exception.NotFoundException;
 import com.curtin.securehire.repository.db.LocationRepository;
-import com.curtin.securehire.repository.es.LocationSearchRepository;
 import com.curtin.securehire.service.db.LocationService;
-import com.curtin.securehire.service.es.LocationSearchService;
+import com.curtin.securehire.service.es.SearchIndexOutbox;
+import com.curtin.securehire.service.es.SearchResultCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,10 +29,10 @@ public class LocationServiceImpl implements LocationService {
     private LocationRepository locationRepository;
 
     @Autowired
-    private LocationSearchService locationSearchService;
+    private SearchIndexOutbox searchIndexOutbox;
 
     @Autowired
-    private LocationSearchRepository locationSearchRepository;
+    private SearchResultCache searchResultCache;
 
     @Override
     public Location findById(Integer locationId) {
@@ -161,7 +162,7 @@ public class LocationServiceImpl implements LocationService {
             Location updatedLocation = locationRepository.save(location);
             logger.info("Location updated successfully with ID: {}", locationId);
 
-            locationSearchService.indexLocation(updatedLocation);
+            searchIndexOutbox.enqueue(SearchDocumentType.LOCATION, updatedLocation.getId());
             return updatedLocation;
         } catch (Exception e) {
             logger.error("Error updating location with ID {}: {}", locationId, e.getMessage(), e);
@@ -188,8 +189,7 @@ public class LocationServiceImpl implements LocationService {
         try {
             locationRepository.deleteById(locationId);
             logger.info("Location deleted successfully with ID: {}", locationId);
-
-            locationSearchRepository.deleteById(locationId);
+            searchResultCache.invalidateAfterCommit(SearchDocumentType.LOCATION);
         } catch (Exception e) {
             logger.error("Error deleting location with ID {}: {}", locationId, e.getMessage(), e);
             throw new BadRequestException("Failed to delete location: " + e.getMessage());
@@ -0,0 +1,396 @@
+package com.curtin.securehire.service.db.impl;
+
+import com.curtin.securehire.config.VectorIndexManager;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import com.curtin.securehire.repository.db.JobEmbeddingRepository;
+import com.curtin.securehire.service.db.vector.Vectors;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialises every candidate's top-K jobs into {@code candidate_recommendations}.
+ *
+ * <p>The nightly run holds all job vectors in memory, split into tiles of {@code job-tile} rows, and
+ * streams user vectors in pages. Each page is scored on a fork-join pool: users are split into tiles of
+ * {@code user-tile} rows, and every user tile is swept against one job tile at a time so both stay hot
+ * in cache while the inner dot products run. Each user keeps a bounded min-heap of its best K jobs.</p>
+ *
+ * <p>The nightly run has its own thread, so it never holds up the other scheduled jobs, and a Postgres
+ * advisory lock so only one node of the cluster runs it. Jobs past their deadline are left out, and users
+ * who no longer have an embedding lose their rows.</p>
+ *
+ * <p>A single user can be refreshed on demand, e.g. right after their embedding changes, without waiting
+ * for the nightly run.</p>
+ */
+@Service
+public class RecommendationPrecomputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationPrecomputeService.class);
+
+    // pg_try_advisory_lock key shared by every node writing candidate_recommendations
+    private static final long PRECOMPUTE_LOCK = 0x5245434F4D4D4E44L;
+
+    private static final String DELETE_SQL = "DELETE FROM candidate_recommendations WHERE user_id IN (:userIds)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO candidate_recommendations (user_id, rank, job_id, score, computed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_ORPHANS_SQL = "DELETE FROM candidate_recommendations r WHERE NOT EXISTS " +
+            "(SELECT 1 FROM user_embeddings e WHERE e.user_id = r.user_id AND e.embedding IS NOT NULL)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobEmbeddingRepository jobEmbeddingRepository;
+
+    @Autowired
+    private VectorIndexManager vectorIndexManager;
+
+    @Autowired
+    private AdvisoryLockService advisoryLockService;
+
+    @Value("${recommendation.precompute.top-k:50}")
+    private int topK;
+
+    @Value("${recommendation.precompute.user-page-size:2048}")
+    private int userPageSize;
+
+    @Value("${recommendation.precompute.user-tile:32}")
+    private int userTile;
+
+    @Value("${recommendation.precompute.job-tile:256}")
+    private int jobTile;
+
+    @Value("${recommendation.precompute.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // The run takes minutes; on the shared scheduler thread it would stall every other @Scheduled job
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("recommendation-precompute").factory());
+
+    @Scheduled(cron = "${recommendation.precompute.cron:0 30 2 * * ?}")
+    public void scheduledPrecompute() {
+        executor.execute(() -> {
+            try {
+                precomputeAll();
+            } catch (Exception e) {
+                logger.error("Recommendation precompute failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Recompute top-K recommendations for every user with an embedding. Skipped if a run is already going
+     * on this node or another one.
+     *
+     * @return the number of users written, or -1 if another run was in progress
+     */
+    public int precomputeAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Recommendation precompute already running, skipping");
+            return -1;
+        }
+        try {
+            int[] users = {-1};
+            if (!advisoryLockService.tryRun(PRECOMPUTE_LOCK, () -> users[0] = precomputeLocked())) {
+                logger.info("Recommendation precompute running on another node, skipping");
+            }
+            return users[0];
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int precomputeLocked() {
+        long start = System.currentTimeMillis();
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : new ForkJoinPool();
+        try {
+            int orphans = jdbcTemplate.update(DELETE_ORPHANS_SQL);
+            if (orphans > 0) {
+                logger.info("Deleted {} precomputed recommendations of users without an embedding", orphans);
+            }
+            JobMatrix jobs = loadJobs();
+            if (jobs.size == 0) {
+                logger.info("No open jobs with embeddings, nothing to precompute");
+                return 0;
+            }
+            logger.info("Loaded {} job vectors in {} tile(s) for precompute", jobs.size, jobs.tiles.size());
+
+            int users = 0;
+            int lastUserId = Integer.MIN_VALUE;
+            while (true) {
+                UserPage page = loadUserPage(lastUserId);
+                if (page.ids.isEmpty()) {
+                    break;
+                }
+                TopK[] results = new TopK[page.ids.size()];
+                pool.invoke(new ScoreUsers(page.vectors, results, jobs, 0, page.ids.size()));
+                writeResults(page.ids, results);
+                users += page.ids.size();
+                lastUserId = page.ids.get(page.ids.size() - 1);
+            }
+            logger.info("Precomputed top-{} jobs for {} users in {} ms", topK, users, System.currentTimeMillis() - start);
+            return users;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Refresh a single user's recommendations from the pgvector index, with the same open-jobs rule as
+     * the nightly run. Skipped while a nightly run holds the lock, since it rewrites every user anyway
+     * and the two would race on the user's rows.
+     */
+    @Async
+    public void refreshUser(Integer userId, float[] embedding) {
+        boolean ran = advisoryLockService.tryRun(PRECOMPUTE_LOCK, () -> {
+            List<Object[]> rows = transactionTemplate.execute(status -> {
+                vectorIndexManager.applySearchParameters("job_embeddings");
+                return jobEmbeddingRepository.findSimilarOpenJobsByEmbedding(PgVectorType.toText(embedding), topK);
+            });
+            TopK top = new TopK(rows.size());
+            for (Object[] row : rows) {
+                top.offer(((Number) row[0]).intValue(), 1.0f - ((Number) row[1]).floatValue());
+            }
+            writeResults(List.of(userId), new TopK[]{top});
+            logger.info("Refreshed {} precomputed recommendations for user ID: {}", rows.size(), userId);
+        });
+        if (!ran) {
+            logger.info("Recommendation precompute running, skipping refresh of user ID: {}", userId);
+        }
+    }
+
+    private void writeResults(List<Integer> userIds, TopK[] results) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(userIds.size() * topK);
+        for (int u = 0; u < userIds.size(); u++) {
+            TopK top = results[u];
+            int[] order = top.sortedIndexes();
+            for (int r = 0; r < order.length; r++) {
+                rows.add(new Object[]{userIds.get(u), r + 1, top.ids[order[r]], top.scores[order[r]], now});
+            }
+        }
+        // Replace the page atomically so readers never see a half-written user
+        transactionTemplate.executeWithoutResult(status -> {
+            namedParameterJdbcTemplate.update(DELETE_SQL, Map.of("userIds", userIds));
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        });
+    }
+
+    private JobMatrix loadJobs() {
+        JobMatrix matrix = new JobMatrix();
+        // Expired jobs are never recommended, so they must not take any of a user's K slots
+        jdbcTemplate.query("SELECT e.job_id, e.embedding::text FROM job_embeddings e JOIN jobs j ON j.id = e.job_id " +
+                        "WHERE e.embedding IS NOT NULL AND (j.deadline IS NULL OR j.deadline >= now()) ORDER BY e.job_id",
+                rs -> {
+                    matrix.add(rs.getInt(1), Vectors.normalize(Vectors.parse(rs.getString(2))));
+                });
+        return matrix;
+    }
+
+    private UserPage loadUserPage(int afterUserId) {
+        UserPage page = new UserPage();
+        jdbcTemplate.query("SELECT user_id, embedding::text FROM user_embeddings " +
+                        "WHERE embedding IS NOT NULL AND user_id > ? ORDER BY user_id LIMIT ?",
+                rs -> {
+                    page.ids.add(rs.getInt(1));
+                    page.vectors.add(Vectors.normalize(Vectors.parse(rs.getString(2))));
+                }, afterUserId, userPageSize);
+        return page;
+    }
+
+    /**
+     * Job vectors packed row-major into fixed-size tiles, so a tile is one contiguous array.
+     */
+    private final class JobMatrix {
+        private final List<float[]> tiles = new ArrayList<>();
+        private final List<int[]> tileIds = new ArrayList<>();
+        private int dimension;
+        private int size;
+
+        private void add(int id, float[] vector) {
+            int slot = size % jobTile;
+            if (slot == 0) {
+                dimension = vector.length;
+                tiles.add(new float[jobTile * dimension]);
+                tileIds.add(new int[jobTile]);
+            }
+            System.arraycopy(vector, 0, tiles.get(tiles.size() - 1), slot * dimension, dimension);
+            tileIds.get(tileIds.size() - 1)[slot] = id;
+            size++;
+        }
+
+        private int tileLength(int tile) {
+            return tile < tiles.size() - 1 ? jobTile : size - tile * jobTile;
+        }
+    }
+
+    private static final class UserPage {
+        private final List<Integer> ids = new ArrayList<>();
+        private final List<float[]> vectors = new ArrayList<>();
+    }
+
+    /**
+     * Scores users [from, to) of a page against every job, splitting until a range fits one user tile.
+     */
+    private final class ScoreUsers extends RecursiveAction {
+        private final List<float[]> users;
+        private final TopK[] results;
+        private final JobMatrix jobs;
+        private final int from;
+        private final int to;
+
+        private ScoreUsers(List<float[]> users, TopK[] results, JobMatrix jobs, int from, int to) {
+            this.users = users;
+            this.results = results;
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > userTile) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreUsers(users, results, jobs, from, mid), new ScoreUsers(users, results, jobs, mid, to));
+                return;
+            }
+            for (int u = from; u < to; u++) {
+                results[u] = new TopK(topK);
+            }
+            int dimension = jobs.dimension;
+            for (int t = 0; t < jobs.tiles.size(); t++) {
+                float[] tile = jobs.tiles.get(t);
+                int[] ids = jobs.tileIds.get(t);
+                int length = jobs.tileLength(t);
+                for (int u = from; u < to; u++) {
+                    float[] user = users.get(u);
+                    TopK top = results[u];
+                    for (int j = 0; j < length; j++) {
+                        int offset = j * dimension;
+                        float dot = 0;
+                        for (int d = 0; d < dimension; d++) {
+                            dot += user[d] * tile[offset + d];
+                        }
+                        top.offer(ids[j], dot);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounded min-heap of the highest-scoring ids seen so far.
+     */
+    private static final class TopK {
+        private final int[] ids;
+        private final float[] scores;
+        private int size;
+
+        private TopK(int capacity) {
+            this.ids = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void offer(int id, float score) {
+            if (ids.length == 0) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private int[] sortedIndexes() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = order[i];
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int smallest = i;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (left + 1 < size && scores[left + 1] < scores[smallest]) {
+                    smallest = left + 1;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -2,28 +2,45 @@ package com.curtin.securehire.service.db.impl;
 
 
 
+import com.curtin.securehire.config.VectorIndexLoader;
+import com.curtin.securehire.config.VectorIndexManager;
+import com.curtin.securehire.constant.EmbeddingTaskType;
+import com.curtin.securehire.dto.JobVectorFilter;
+import com.curtin.securehire.entity.db.type.PgVectorType;
 import com.curtin.securehire.entity.db.Job;
 import com.curtin.securehire.entity.db.Candidate;
+import com.curtin.securehire.entity.db.Location;
 import com.curtin.securehire.entity.db.JobEmbedding;
 import com.curtin.securehire.entity.db.UserEmbedding;
+import com.curtin.securehire.repository.db.CandidateRecommendationRepository;
+import com.curtin.securehire.repository.db.CandidateRepository;
 import com.curtin.securehire.repository.db.JobRepository;
 import com.curtin.securehire.repository.db.JobEmbeddingRepository;
 import com.curtin.securehire.repository.db.UserEmbeddingRepository;
 import com.curtin.securehire.service.db.RecommendationService;
+import com.curtin.securehire.service.db.embedding.EmbeddingTaskQueue;
 import com.curtin.securehire.exception.BadRequestException;
 import com.curtin.securehire.exception.NotFoundException;
-import com.theokanning.openai.service.OpenAiService;
-import com.theokanning.openai.embedding.EmbeddingRequest;
+import com.curtin.securehire.service.db.vector.VectorIndex;
+import com.curtin.securehire.service.db.vector.VectorMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,46 +48,109 @@ public class RecommendationServiceImpl implements RecommendationService {
 
     private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImpl.class);
 
-    @Value("${openai.api.key}")
-    private String openAiApiKey;
+    // Job ids read and queued per batch by enqueueJobEmbeddings
+    private static final int ENQUEUE_PAGE_SIZE = 1000;
 
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private CandidateRepository candidateRepository;
+
     @Autowired
     private JobEmbeddingRepository jobEmbeddingRepository;
 
     @Autowired
     private UserEmbeddingRepository userEmbeddingRepository;
 
+    @Autowired
+    private CandidateRecommendationRepository candidateRecommendationRepository;
+
+    @Autowired
+    private EmbeddingBatchService embeddingBatchService;
+
+    @Autowired
+    private RecommendationPrecomputeService recommendationPrecomputeService;
+
+    @Autowired
+    private EmbeddingTaskQueue embeddingTaskQueue;
+
+    @Autowired
+    private FilteredJobVectorSearch filteredJobVectorSearch;
+
+    @Autowired
+    @Qualifier("jobVectorIndex")
+    private VectorIndex jobVectorIndex;
+
+    @Autowired
+    @Qualifier("userVectorIndex")
+    private VectorIndex userVectorIndex;
+
+    @Autowired
+    private VectorIndexLoader vectorIndexLoader;
+
+    @Autowired
+    private VectorIndexManager vectorIndexManager;
+
+    @Value("${recommendation.vector-index.engine:hnsw}")
+    private String vectorIndexEngine;
+
+    @Value("${recommendation.precompute.top-k:50}")
+    private int precomputedTopK;
+
     @Override
     @Transactional(readOnly = true)
     public List<Job> getRecommendedJobsForUser(Integer userId, int limit) {
-        logger.info("Getting job recommendations for user ID: {}", userId);
+        return getRecommendedJobsForUser(userId, limit, false);
+    }
 
-        try {
-            Optional<UserEmbedding> userEmbeddingOpt = userEmbeddingRepository.findById(userId);
-            if (userEmbeddingOpt.isEmpty()) {
-                logger.error("User embedding not found for user ID: {}", userId);
-                throw new NotFoundException("User embedding not found for user ID: " + userId);
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public List<Job> getRecommendedJobsForUser(Integer userId, int limit, boolean exact) {
+        return getRecommendedJobsForUser(userId, limit, exact, null);
+    }
 
-            double[] userEmbedding = userEmbeddingOpt.get().getEmbedding();
-            List<Object[]> similarityResults = jobEmbeddingRepository.findSimilarJobsByEmbedding(userEmbedding, limit);
+    @Override
+    @Transactional(readOnly = true)
+    public List<Job> getRecommendedJobsForUser(Integer userId, int limit, boolean exact, JobVectorFilter filter) {
+        logger.info("Getting job recommendations for user ID: {} (exact: {}, filter: {})", userId, exact, filter);
 
-            List<Integer> jobIds = similarityResults.stream()
-                    .map(result -> ((Number) result[0]).intValue())
-                    .collect(Collectors.toList());
+        try {
+            BitSet allowed = filter == null || filter.isEmpty()
+                    ? null
+                    : filteredJobVectorSearch.matchingJobIds(withProfile(userId, filter));
 
-            List<Job> recommendedJobs = jobRepository.findAllById(jobIds);
+            // Precomputed top-K is one primary-key range scan; fall back to a live search if it is missing or too short
+            List<Integer> jobIds = List.of();
+            if (!exact) {
+                jobIds = openPrecomputedJobIds(userId);
+                jobIds = jobIds.stream()
+                        .filter(id -> allowed == null || allowed.get(id))
+                        .limit(limit)
+                        .collect(Collectors.toList());
+            }
+            if (jobIds.size() < limit) {
+                Optional<UserEmbedding> userEmbeddingOpt = userEmbeddingRepository.findById(userId);
+                if (userEmbeddingOpt.isEmpty()) {
+                    logger.error("User embedding not found for user ID: {}", userId);
+                    throw new NotFoundException("User embedding not found for user ID: " + userId);
+                }
+                float[] userEmbedding = userEmbeddingOpt.get().getEmbedding();
+                jobIds = allowed == null
+                        ? findSimilarJobIds(userEmbedding, limit, exact)
+                        : filteredJobVectorSearch.search(userEmbedding, limit, exact, allowed);
+            }
+
+            Map<Integer, Job> jobsById = jobRepository.findAllById(jobIds).stream()
+                    .collect(Collectors.toMap(Job::getId, Function.identity()));
 
             // Maintain the order of the similarity results
-            List<Job> orderedJobs = new ArrayList<>(recommendedJobs.size());
+            List<Job> orderedJobs = new ArrayList<>(jobsById.size());
             for (Integer jobId : jobIds) {
-                recommendedJobs.stream()
-                        .filter(job -> job.getId() == jobId)
-                        .findFirst()
-                        .ifPresent(orderedJobs::add);
+                Job job = jobsById.get(jobId);
+                if (job != null) {
+                    orderedJobs.add(job);
+                }
             }
 
             logger.info("Found {} recommended jobs for user ID: {}", orderedJobs.size(), userId);
@@ -84,9 +164,37 @@ public class RecommendationServiceImpl implements RecommendationService {
     @Override
     @Transactional(readOnly = true)
     public List<Candidate> getRecommendedCandidatesForJob(Integer jobId, int limit) {
-        // Similar implementation for candidate recommendations
-        // ...
-        return null; // Placeholder
+        logger.info("Getting candidate recommendations for job ID: {}", jobId);
+
+        try {
+            Optional<JobEmbedding> jobEmbeddingOpt = jobEmbeddingRepository.findById(jobId);
+            if (jobEmbeddingOpt.isEmpty()) {
+                logger.error("Job embedding not found for job ID: {}", jobId);
+                throw new NotFoundException("Job embedding not found for job ID: " + jobId);
+            }
+
+            float[] jobEmbedding = jobEmbeddingOpt.get().getEmbedding();
+            List<Integer> candidateIds = findSimilarUserIds(jobEmbedding, limit);
+
+            // One query for the candidates; their eager collections are subselect-fetched for the whole batch
+            Map<Integer, Candidate> candidatesById = candidateRepository.findAllById(candidateIds).stream()
+                    .collect(Collectors.toMap(Candidate::getId, Function.identity()));
+
+            // Maintain the order of the similarity results
+            List<Candidate> orderedCandidates = new ArrayList<>(candidatesById.size());
+            for (Integer candidateId : candidateIds) {
+                Candidate candidate = candidatesById.get(candidateId);
+                if (candidate != null) {
+                    orderedCandidates.add(candidate);
+                }
+            }
+
+            logger.info("Found {} recommended candidates for job ID: {}", orderedCandidates.size(), jobId);
+            return orderedCandidates;
+        } catch (Exception e) {
+            logger.error("Error getting candidate recommendations for job ID {}: {}", jobId, e.getMessage(), e);
+            throw new BadRequestException("Failed to get candidate recommendations: " + e.getMessage());
+        }
     }
 
     @Override
@@ -95,47 +203,7 @@ public class RecommendationServiceImpl implements RecommendationService {
         logger.info("Generating embeddings for job ID: {}", job.getId());
 
         try {
-            // Create text representation of job for embedding
-            StringBuilder jobText = new StringBuilder();
-            jobText.append(job.getTitle()).append(" ");
-            jobText.append(job.getDescription()).append(" ");
-
-            // Add skills
-            if (job.getTechnicalSkills() != null) {
-                job.getTechnicalSkills().forEach(skill ->
-                        jobText.append(skill.getName()).append(" "));
-            }
-
-            if (job.getSoftSkills() != null) {
-                job.getSoftSkills().forEach(skill ->
-                        jobText.append(skill.getName()).append(" "));
-            }
-
-            // Add job type, salary range, etc.
-            jobText.append(job.getJobType()).append(" ");
-            jobText.append(job.getSalaryRange()).append(" ");
-            jobText.append(job.getLocation()).append(" ");
-
-            // Generate embedding using OpenAI API
-            OpenAiService openAiService = new OpenAiService(openAiApiKey);
-            EmbeddingRequest embeddingRequest = EmbeddingRequest.builder()
-                    .model("text-embedding-ada-002")
-                    .input(List.of(jobText.toString()))
-                    .build();
-
-            double[] embedding = openAiService.createEmbeddings(embeddingRequest)
-                    .getData().get(0).getEmbedding()
-                    .stream()
-                    .mapToDouble(Double::doubleValue)
-                    .toArray();
-
-            // Save or update embedding
-            JobEmbedding jobEmbedding = jobEmbeddingRepository.findById(job.getId())
-                    .orElse(new JobEmbedding());
-            jobEmbedding.setJobId(job.getId());
-            jobEmbedding.setEmbedding(embedding);
-
-            jobEmbeddingRepository.save(jobEmbedding);
+            embeddingBatchService.embedJobs(List.of(job));
             logger.info("Successfully generated and saved embedding for job ID: {}", job.getId());
         } catch (Exception e) {
             logger.error("Error generating embedding for job ID {}: {}", job.getId(), e.getMessage(), e);
@@ -143,11 +211,120 @@ public class RecommendationServiceImpl implements RecommendationService {
         }
     }
 
+    /**
+     * Jobs are read as ids only, a page at a time, and each page is queued in its own batch; the
+     * embedding workers then do the provider calls in the background.
+     */
+    @Override
+    public int enqueueJobEmbeddings(List<Integer> jobIds) {
+        if (jobIds != null && !jobIds.isEmpty()) {
+            embeddingTaskQueue.enqueueAll(EmbeddingTaskType.JOB, jobIds);
+            return jobIds.size();
+        }
+        int queued = 0;
+        int afterId = Integer.MIN_VALUE;
+        List<Integer> page;
+        while (!(page = jobRepository.findIdsAfter(afterId, PageRequest.of(0, ENQUEUE_PAGE_SIZE))).isEmpty()) {
+            embeddingTaskQueue.enqueueAll(EmbeddingTaskType.JOB, page);
+            queued += page.size();
+            afterId = page.get(page.size() - 1);
+        }
+        logger.info("Queued embedding tasks for {} jobs", queued);
+        return queued;
+    }
+
     @Override
     @Transactional
     public void generateEmbeddingsForUser(Candidate candidate) {
-        // Similar implementation for generating user embeddings
-        // ...
+        logger.info("Generating embeddings for user ID: {}", candidate.getId());
+
+        try {
+            if (embeddingBatchService.embedCandidates(List.of(candidate)) > 0) {
+                // The profile changed: refresh this user's precomputed recommendations instead of waiting for the nightly run
+                userEmbeddingRepository.findById(candidate.getId()).ifPresent(embedding ->
+                        recommendationPrecomputeService.refreshUser(candidate.getId(), embedding.getEmbedding()));
+            }
+            logger.info("Successfully generated and saved embedding for user ID: {}", candidate.getId());
+        } catch (Exception e) {
+            logger.error("Error generating embedding for user ID {}: {}", candidate.getId(), e.getMessage(), e);
+            throw new BadRequestException("Failed to generate user embedding: " + e.getMessage());
+        }
     }
-}
 
+    /**
+     * Nearest jobs from the in-memory HNSW index when it is enabled and loaded, otherwise (or when an
+     * exact answer is requested) from the pgvector query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findSimilarJobIds(float[] userEmbedding, int limit, boolean exact) {
+        if (!exact && "hnsw".equalsIgnoreCase(vectorIndexEngine) && vectorIndexLoader.isJobIndexLoaded()) {
+            return jobVectorIndex.search(userEmbedding, limit).stream()
+                    .map(VectorMatch::getId)
+                    .collect(Collectors.toList());
+        }
+
+        vectorIndexManager.applySearchParameters("job_embeddings");
+        return jobEmbeddingRepository.findSimilarJobsByEmbedding(PgVectorType.toText(userEmbedding), limit).stream()
+                .map(result -> ((Number) result[0]).intValue())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The user's precomputed job ids, best first, without jobs deleted or expired since they were computed.
+     */
+    private List<Integer> openPrecomputedJobIds(Integer userId) {
+        List<Integer> precomputed = candidateRecommendationRepository.findJobIdsByUserId(userId,
+                PageRequest.of(0, precomputedTopK));
+        if (precomputed.isEmpty()) {
+            return precomputed;
+        }
+        Set<Integer> open = new HashSet<>(jobRepository.findOpenIds(precomputed, new Date()));
+        return precomputed.stream().filter(open::contains).collect(Collectors.toList());
+    }
+
+    /**
+     * Copy of the filter with the candidate's preferred locations and salary range merged in when
+     * {@code matchProfile} is set.
+     */
+    private JobVectorFilter withProfile(Integer userId, JobVectorFilter filter) {
+        if (!filter.isMatchProfile()) {
+            return filter;
+        }
+        Candidate candidate = candidateRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
+
+        JobVectorFilter merged = new JobVectorFilter();
+        merged.setLocationIds(new ArrayList<>(filter.getLocationIds() != null ? filter.getLocationIds() : List.of()));
+        merged.setMinSalary(filter.getMinSalary());
+        merged.setMaxSalary(filter.getMaxSalary());
+        merged.setDeadlineFrom(filter.getDeadlineFrom());
+        merged.setJobType(filter.getJobType());
+        merged.setEmployementType(filter.getEmployementType());
+
+        if (merged.getLocationIds().isEmpty() && candidate.getPreferredLocations() != null) {
+            candidate.getPreferredLocations().stream().map(Location::getId).forEach(merged.getLocationIds()::add);
+        }
+        if (candidate.getSalaryRange() != null && candidate.getSalaryRange().getMax() > 0) {
+            if (merged.getMinSalary() == null) merged.setMinSalary(candidate.getSalaryRange().getMin());
+            if (merged.getMaxSalary() == null) merged.setMaxSalary(candidate.getSalaryRange().getMax());
+        }
+        return merged;
+    }
+
+    /**
+     * Nearest candidates for a job embedding, same index selection as {@link #findSimilarJobIds}.
+     */
+    private List<Integer> findSimilarUserIds(float[] jobEmbedding, int limit) {
+        if ("hnsw".equalsIgnoreCase(vectorIndexEngine) && vectorIndexLoader.isUserIndexLoaded()) {
+            return userVectorIndex.search(jobEmbedding, limit).stream()
+                    .map(VectorMatch::getId)
+                    .collect(Collectors.toList());
+        }
+
+        vectorIndexManager.applySearchParameters("user_embeddings");
+        return userEmbeddingRepository.findSimilarUsersByEmbedding(PgVectorType.toText(jobEmbedding), limit).stream()
+                .map(result -> ((Number) result[0]).intValue())
+                .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,7 @@ package com.curtin.securehire.service.db.impl;
 
 import com.curtin.securehire.constant.BusinessSecTor;
 import com.curtin.securehire.constant.CompanyType;
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Recruiter;
 import com.curtin.securehire.entity.db.Job;
 import com.curtin.securehire.exception.BadRequestException;
@@ -9,12 +10,14 @@ import com.curtin.securehire.exception.NotFoundException;
 import com.curtin.securehire.exception.ValidationException;
 import com.curtin.securehire.repository.db.RecruiterRepository;
 import com.curtin.securehire.repository.db.JobRepository;
-import com.curtin.securehire.repository.es.RecruiterSearchRepository;
 import com.curtin.securehire.service.db.RecruiterService;
-import com.curtin.securehire.service.es.RecruiterSearchService;
+import com.curtin.securehire.service.es.SearchIndexOutbox;
+import com.curtin.securehire.service.es.SearchResultCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -36,10 +39,13 @@ public class RecruiterServiceImpl implements RecruiterService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private RecruiterSearchService recruiterSearchService;
+    private SearchIndexOutbox searchIndexOutbox;
 
     @Autowired
-    private RecruiterSearchRepository recruiterSearchRepository;
+    private SearchResultCache searchResultCache;
+
+    @Value("${recruiter.search.max-results:100}")
+    private int maxSearchResults;
 
 
     @Override
@@ -79,7 +85,7 @@ public class RecruiterServiceImpl implements RecruiterService {
         Recruiter updatedRecruiter = recruiterRepository.save(existingRecruiter);
         logger.info("Updated recruiter profile with ID: {}", recruiterId);
 
-        recruiterSearchService.indexRecruiter(updatedRecruiter);
+        searchIndexOutbox.enqueue(SearchDocumentType.RECRUITER, updatedRecruiter.getId());
         return updatedRecruiter;
     }
 
@@ -189,7 +195,7 @@ public class RecruiterServiceImpl implements RecruiterService {
             Recruiter savedRecruiter = recruiterRepository.save(existingRecruiter);
             logger.info("Recruiter updated successfully with ID: {}", recruiterId);
 
-            recruiterSearchService.indexRecruiter(savedRecruiter);
+            searchIndexOutbox.enqueue(SearchDocumentType.RECRUITER, savedRecruiter.getId());
             return savedRecruiter;
         } catch (Exception e) {
             logger.error("Error updating recruiter with ID {}: {}", recruiterId, e.getMessage(), e);
@@ -209,7 +215,7 @@ public class RecruiterServiceImpl implements RecruiterService {
         try {
             recruiterRepository.deleteById(recruiterId);
             logger.info("Recruiter deleted successfully with ID: {}", recruiterId);
-            recruiterSearchRepository.deleteById(recruiterId);
+            searchResultCache.invalidateAfterCommit(SearchDocumentType.RECRUITER);
         } catch (Exception e) {
             logger.error("Error deleting recruiter with ID {}: {}", recruiterId, e.getMessage(), e);
             throw new BadRequestException("Failed to delete recruiter: " + e.getMessage());
@@ -447,8 +453,10 @@ public class RecruiterServiceImpl implements RecruiterService {
         }
 
         try {
-            List<Recruiter> recruiters = recruiterRepository.findByCompanyNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-                    keyword, keyword);
+            // Full-text match on company name and description, plus trigram-indexed substring matches on the name
+            String trimmed = keyword.trim();
+            List<Recruiter> recruiters = recruiterRepository.searchByKeyword(
+                    trimmed, "%" + escapeLike(trimmed) + "%", PageRequest.of(0, maxSearchResults));
             logger.info("Found {} recruiters matching search keyword: {}", recruiters.size(), keyword);
             return recruiters;
         } catch (Exception e) {
@@ -457,6 +465,10 @@ public class RecruiterServiceImpl implements RecruiterService {
         }
     }
 
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Override
     public List<Recruiter> findByFilter(CompanyType companyType, BusinessSecTor businessSector,
                                         Integer minEmployees, Integer maxEmployees) {
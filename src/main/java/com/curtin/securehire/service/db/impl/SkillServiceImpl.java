@@ -1,5 +1,6 @@
 package com.curtin.securehire.service.db.impl;
 
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.constant.SkillSubType;
 import com.curtin.securehire.constant.SkillType;
 import com.curtin.securehire.entity.db.Job;
@@ -10,15 +11,16 @@ import com.curtin.securehire.exception.NotFoundException;
 import com.curtin.securehire.repository.db.JobRepository;
 import com.curtin.securehire.repository.db.SkillRepository;
 import com.curtin.securehire.repository.db.CandidateRepository;
-import com.curtin.securehire.repository.es.SkillSearchRepository;
 import com.curtin.securehire.service.db.SkillService;
-import com.curtin.securehire.service.es.SkillSearchService;
+import com.curtin.securehire.service.es.SearchIndexOutbox;
+import com.curtin.securehire.service.es.SearchResultCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,10 +39,10 @@ public class SkillServiceImpl implements SkillService {
     private JobRepository jobRepository;
 
     @Autowired
-    private SkillSearchService skillSearchService;
+    private SearchIndexOutbox searchIndexOutbox;
 
     @Autowired
-    private SkillSearchRepository skillSearchRepository;
+    private SearchResultCache searchResultCache;
 
     @Override
     public Skill findById(Integer skillId) {
@@ -109,7 +111,7 @@ public class SkillServiceImpl implements SkillService {
             Skill updatedSkill = skillRepository.save(existingSkill);
             logger.info("Skill updated successfully with ID: {}", skillId);
 
-            skillSearchService.indexSkill(updatedSkill);
+            searchIndexOutbox.enqueue(SearchDocumentType.SKILL, updatedSkill.getId());
             return updatedSkill;
         } catch (Exception e) {
             logger.error("Error updating skill with ID {}: {}", skillId, e.getMessage(), e);
@@ -129,8 +131,7 @@ public class SkillServiceImpl implements SkillService {
         try {
             skillRepository.deleteById(skillId);
             logger.info("Skill deleted successfully with ID: {}", skillId);
-
-            skillSearchRepository.deleteById(skillId);
+            searchResultCache.invalidateAfterCommit(SearchDocumentType.SKILL);
         } catch (Exception e) {
             logger.error("Error deleting skill with ID {}: {}", skillId, e.getMessage(), e);
             throw new BadRequestException("Failed to delete skill: " + e.getMessage());
@@ -240,6 +241,7 @@ public class SkillServiceImpl implements SkillService {
 
             if (!skillExists) {
                 candidate.getSkills().add(savedSkill);
+                candidate.setUpdatedAt(Instant.now());
                 candidateRepository.save(candidate);
             }
 
@@ -289,7 +291,9 @@ public class SkillServiceImpl implements SkillService {
 
         try {
             Candidate candidate = userOpt.get();
-            candidate.getSkills().removeIf(s -> s.getId() == skillId);
+            if (candidate.getSkills().removeIf(s -> s.getId() == skillId)) {
+                candidate.setUpdatedAt(Instant.now());
+            }
             candidateRepository.save(candidate);
             logger.info("Skill removed successfully from user with ID: {}", userId);
         } catch (Exception e) {
@@ -0,0 +1,427 @@
+package com.curtin.securehire.service.db.vector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical Navigable Small World graph (Malkov &amp; Yashunin) over unit-length vectors.
+ *
+ * <p>Vectors are normalised on insert so cosine distance reduces to {@code 1 - dot}. Searches take a
+ * shared read lock and may run concurrently; inserts and removals take the write lock. Removed or
+ * replaced vectors are kept in the graph as tombstones so the neighbourhoods stay navigable, and the
+ * graph is rebuilt from the live vectors once tombstones outnumber them.</p>
+ *
+ * <p>In quantized mode each node keeps an int8 {@link QuantizedVector} instead of a float[], cutting
+ * vector memory by 4x; queries stay full precision and are scored with the asymmetric kernel.</p>
+ */
+public class HnswVectorIndex implements VectorIndex {
+
+    private final int dimension;
+    private final int m;
+    private final int maxConnectionsLevel0;
+    private final int efConstruction;
+    private final int defaultEfSearch;
+    private final double levelMultiplier;
+    private final boolean quantized;
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node entryPoint;
+    private int tombstones;
+
+    public HnswVectorIndex(int dimension, int m, int efConstruction, int efSearch) {
+        this(dimension, m, efConstruction, efSearch, false);
+    }
+
+    public HnswVectorIndex(int dimension, int m, int efConstruction, int efSearch, boolean quantized) {
+        if (m < 2) {
+            throw new IllegalArgumentException("HNSW m must be at least 2");
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.maxConnectionsLevel0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.defaultEfSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.quantized = quantized;
+    }
+
+    @Override
+    public void upsert(int id, float[] vector) {
+        checkDimension(vector.length);
+        float[] normalized = Vectors.normalize(vector);
+        if (quantized) {
+            add(new Node(id, null, QuantizedVector.quantize(normalized), randomLevel()));
+        } else {
+            add(new Node(id, normalized, null, randomLevel()));
+        }
+    }
+
+    /**
+     * Insert an already-quantized, unit-length vector, e.g. one read straight from {@code embedding_int8}.
+     */
+    @Override
+    public void upsert(int id, QuantizedVector vector) {
+        checkDimension(vector.dimension());
+        if (quantized) {
+            add(new Node(id, null, vector, randomLevel()));
+        } else {
+            add(new Node(id, vector.toFloatArray(), null, randomLevel()));
+        }
+    }
+
+    private void add(Node node) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.remove(node.id);
+            if (previous != null) {
+                previous.deleted = true;
+                tombstones++;
+            }
+            nodes.put(node.id, node);
+            insert(node);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkDimension(int length) {
+        if (length != dimension) {
+            throw new IllegalArgumentException("Expected vector of dimension " + dimension + " but got " + length);
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(id);
+            if (node != null) {
+                node.deleted = true;
+                tombstones++;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(int id) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int[] ids() {
+        lock.readLock().lock();
+        try {
+            return nodes.keySet().stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            entryPoint = null;
+            tombstones = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k) {
+        return search(query, k, defaultEfSearch);
+    }
+
+    @Override
+    public List<VectorMatch> search(float[] query, int k, int efSearch) {
+        return search(query, k, efSearch, null);
+    }
+
+    /**
+     * Filtered search: non-matching nodes are still traversed as stepping stones on layer 0 but never
+     * enter the result set, so the search keeps going until {@code ef} matching nodes are found or the
+     * reachable graph is exhausted. Cost grows as the filter gets more selective; very selective filters
+     * are better served by scoring the matching ids directly.
+     */
+    @Override
+    public List<VectorMatch> search(float[] query, int k, int efSearch, IntPredicate filter) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        float[] normalized = Vectors.normalize(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint == null) {
+                return Collections.emptyList();
+            }
+            Node current = entryPoint;
+            for (int level = entryPoint.level; level > 0; level--) {
+                current = greedyClosest(normalized, current, level);
+            }
+            // Removed and replaced nodes stay in the graph; keep them out of the results so they cannot take top-k slots
+            IntPredicate live = filter != null ? filter : id -> true;
+            PriorityQueue<Scored> found = searchLayer(normalized, current, Math.max(efSearch, k), 0, live);
+
+            List<Scored> ordered = new ArrayList<>(found);
+            ordered.sort(Comparator.comparingDouble((Scored s) -> s.distance));
+            List<VectorMatch> matches = new ArrayList<>(k);
+            for (Scored scored : ordered) {
+                if (scored.node.deleted) {
+                    continue;
+                }
+                matches.add(new VectorMatch(scored.node.id, scored.distance));
+                if (matches.size() == k) {
+                    break;
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Node node) {
+        if (entryPoint == null) {
+            entryPoint = node;
+            return;
+        }
+        float[] query = node.vector != null ? node.vector : node.codes.toFloatArray();
+        Node current = entryPoint;
+        for (int level = entryPoint.level; level > node.level; level--) {
+            current = greedyClosest(query, current, level);
+        }
+        for (int level = Math.min(node.level, entryPoint.level); level >= 0; level--) {
+            PriorityQueue<Scored> candidates = searchLayer(query, current, efConstruction, level, null);
+            List<Node> neighbours = selectNeighbours(candidates, m);
+            node.neighbours[level].addAll(neighbours);
+
+            int maxConnections = level == 0 ? maxConnectionsLevel0 : m;
+            for (Node neighbour : neighbours) {
+                List<Node> links = neighbour.neighbours[level];
+                links.add(node);
+                if (links.size() > maxConnections) {
+                    shrink(neighbour, level, maxConnections);
+                }
+            }
+            current = closest(candidates);
+        }
+        if (node.level > entryPoint.level) {
+            entryPoint = node;
+        }
+    }
+
+    private Node greedyClosest(float[] query, Node start, int level) {
+        Node current = start;
+        float currentDistance = distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (Node neighbour : current.neighbours[level]) {
+                float distance = distance(query, neighbour);
+                if (distance < currentDistance) {
+                    currentDistance = distance;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of a single layer. Returns a max-heap (furthest first) of at most {@code ef} nodes
+     * accepted by {@code filter} (all nodes when it is null).
+     */
+    private PriorityQueue<Scored> searchLayer(float[] query, Node entry, int ef, int level, IntPredicate filter) {
+        Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        PriorityQueue<Scored> candidates = new PriorityQueue<>(Comparator.comparingDouble((Scored s) -> s.distance));
+        PriorityQueue<Scored> results = new PriorityQueue<>(Comparator.comparingDouble((Scored s) -> s.distance).reversed());
+
+        Scored start = new Scored(entry, distance(query, entry));
+        visited.add(entry);
+        candidates.add(start);
+        if (accepts(filter, entry)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Scored nearest = candidates.poll();
+            if (results.size() >= ef && nearest.distance > results.peek().distance) {
+                break;
+            }
+            for (Node neighbour : nearest.node.neighbours[level]) {
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float distance = distance(query, neighbour);
+                if (results.size() < ef || distance < results.peek().distance) {
+                    Scored scored = new Scored(neighbour, distance);
+                    candidates.add(scored);
+                    if (accepts(filter, neighbour)) {
+                        results.add(scored);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean accepts(IntPredicate filter, Node node) {
+        return filter == null || (!node.deleted && filter.test(node.id));
+    }
+
+    /**
+     * Neighbour selection heuristic: keep a candidate only if it is closer to the base node than to any
+     * neighbour already selected, which keeps links spread across clusters instead of bunching up.
+     */
+    private List<Node> selectNeighbours(PriorityQueue<Scored> candidates, int count) {
+        List<Scored> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingDouble((Scored s) -> s.distance));
+        List<Node> selected = new ArrayList<>(count);
+        List<Node> skipped = new ArrayList<>();
+        for (Scored candidate : ordered) {
+            if (selected.size() >= count) {
+                break;
+            }
+            boolean diverse = true;
+            for (Node chosen : selected) {
+                if (distance(candidate.node, chosen) < candidate.distance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate.node);
+            } else {
+                skipped.add(candidate.node);
+            }
+        }
+        for (int i = 0; i < skipped.size() && selected.size() < count; i++) {
+            selected.add(skipped.get(i));
+        }
+        return selected;
+    }
+
+    private void shrink(Node node, int level, int maxConnections) {
+        PriorityQueue<Scored> scored = new PriorityQueue<>(Comparator.comparingDouble((Scored s) -> s.distance).reversed());
+        for (Node neighbour : node.neighbours[level]) {
+            scored.add(new Scored(neighbour, distance(node, neighbour)));
+        }
+        List<Node> kept = selectNeighbours(scored, maxConnections);
+        node.neighbours[level].clear();
+        node.neighbours[level].addAll(kept);
+    }
+
+    private Node closest(PriorityQueue<Scored> candidates) {
+        Scored best = null;
+        for (Scored scored : candidates) {
+            if (best == null || scored.distance < best.distance) {
+                best = scored;
+            }
+        }
+        return best.node;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones <= nodes.size() || tombstones < 64) {
+            return;
+        }
+        List<Node> live = new ArrayList<>(nodes.values());
+        nodes.clear();
+        entryPoint = null;
+        tombstones = 0;
+        for (Node old : live) {
+            Node node = new Node(old.id, old.vector, old.codes, old.level);
+            nodes.put(node.id, node);
+            insert(node);
+        }
+    }
+
+    private float distance(float[] query, Node node) {
+        return node.vector != null
+                ? Vectors.cosineDistanceNormalized(query, node.vector)
+                : 1.0f - QuantizedVector.dot(query, node.codes);
+    }
+
+    private float distance(Node a, Node b) {
+        if (a.vector != null && b.vector != null) {
+            return Vectors.cosineDistanceNormalized(a.vector, b.vector);
+        }
+        if (a.codes != null && b.codes != null) {
+            return 1.0f - QuantizedVector.dot(a.codes, b.codes);
+        }
+        return a.vector != null ? distance(a.vector, b) : distance(b.vector, a);
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+    }
+
+    private static final class Node {
+        private final int id;
+        private final float[] vector;
+        private final QuantizedVector codes;
+        private final int level;
+        private final List<Node>[] neighbours;
+        private volatile boolean deleted;
+
+        @SuppressWarnings("unchecked")
+        private Node(int id, float[] vector, QuantizedVector codes, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.codes = codes;
+            this.level = level;
+            this.neighbours = new List[level + 1];
+            for (int i = 0; i <= level; i++) {
+                this.neighbours[i] = new ArrayList<>();
+            }
+        }
+    }
+
+    private static final class Scored {
+        private final Node node;
+        private final float distance;
+
+        private Scored(Node node, float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+}
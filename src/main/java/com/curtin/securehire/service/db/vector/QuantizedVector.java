@@ -0,0 +1,80 @@
+package com.curtin.securehire.service.db.vector;
+
+import lombok.Getter;
+
+/**
+ * Symmetric int8 scalar quantization of a vector: {@code value[i] ~= codes[i] * scale}.
+ * A 1536-dim vector takes 1.5 KB instead of 6 KB as float[] or 12 KB as double[].
+ */
+@Getter
+public final class QuantizedVector {
+
+    private final byte[] codes;
+    private final float scale;
+
+    public QuantizedVector(byte[] codes, float scale) {
+        this.codes = codes;
+        this.scale = scale;
+    }
+
+    public static QuantizedVector quantize(float[] vector) {
+        float maxAbs = 0;
+        for (float v : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        }
+        byte[] codes = new byte[vector.length];
+        if (maxAbs == 0) {
+            return new QuantizedVector(codes, 0f);
+        }
+        float scale = maxAbs / 127f;
+        for (int i = 0; i < vector.length; i++) {
+            codes[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return new QuantizedVector(codes, scale);
+    }
+
+    /**
+     * Quantize the unit-length version of the vector, which is the form used for cosine similarity.
+     */
+    public static QuantizedVector ofNormalized(float[] vector) {
+        return quantize(Vectors.normalize(vector));
+    }
+
+    public int dimension() {
+        return codes.length;
+    }
+
+    public float[] toFloatArray() {
+        float[] result = new float[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            result[i] = codes[i] * scale;
+        }
+        return result;
+    }
+
+    /**
+     * Dot product of two quantized vectors, accumulated in integer arithmetic.
+     */
+    public static float dot(QuantizedVector a, QuantizedVector b) {
+        byte[] x = a.codes;
+        byte[] y = b.codes;
+        int sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum * a.scale * b.scale;
+    }
+
+    /**
+     * Asymmetric dot product: full-precision query against a quantized vector. Only the stored side
+     * carries quantization error, which gives noticeably better recall than quantizing the query too.
+     */
+    public static float dot(float[] query, QuantizedVector b) {
+        byte[] y = b.codes;
+        float sum = 0;
+        for (int i = 0; i < y.length; i++) {
+            sum += query[i] * y[i];
+        }
+        return sum * b.scale;
+    }
+}
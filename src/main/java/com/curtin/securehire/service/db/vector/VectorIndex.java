@@ -0,0 +1,54 @@
+package com.curtin.securehire.service.db.vector;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * An in-process nearest-neighbour index over embedding vectors, keyed by entity id.
+ * Distances are cosine distances (0 = identical direction, 2 = opposite).
+ */
+public interface VectorIndex {
+
+    /**
+     * Insert a vector, replacing any vector previously stored for the same id.
+     */
+    void upsert(int id, float[] vector);
+
+    /**
+     * Insert a unit-length vector that is already int8 quantized.
+     */
+    default void upsert(int id, QuantizedVector vector) {
+        upsert(id, vector.toFloatArray());
+    }
+
+    void remove(int id);
+
+    boolean contains(int id);
+
+    /**
+     * Snapshot of the ids currently in the index.
+     */
+    int[] ids();
+
+    int size();
+
+    void clear();
+
+    /**
+     * Return the {@code k} closest ids to the query, nearest first, using the index's default efSearch.
+     */
+    List<VectorMatch> search(float[] query, int k);
+
+    /**
+     * Return the {@code k} closest ids to the query, nearest first.
+     *
+     * @param efSearch size of the dynamic candidate list; higher values trade latency for recall
+     */
+    List<VectorMatch> search(float[] query, int k, int efSearch);
+
+    /**
+     * Return the {@code k} closest ids that satisfy {@code filter}, nearest first. The filter is applied
+     * while the index is traversed, so non-matching ids never take up result slots.
+     */
+    List<VectorMatch> search(float[] query, int k, int efSearch, IntPredicate filter);
+}
@@ -0,0 +1,11 @@
+package com.curtin.securehire.service.db.vector;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VectorMatch {
+    private int id;
+    private double distance;
+}
@@ -0,0 +1,71 @@
+package com.curtin.securehire.service.db.vector;
+
+/**
+ * Small helpers for converting and comparing embedding vectors.
+ */
+public final class Vectors {
+
+    private Vectors() {
+    }
+
+    public static float[] toFloatArray(double[] vector) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = (float) vector[i];
+        }
+        return result;
+    }
+
+    /**
+     * Parse the pgvector text representation, e.g. {@code [0.1,0.2,0.3]}.
+     */
+    public static float[] parse(String text) {
+        String body = text.trim();
+        if (body.startsWith("[")) {
+            body = body.substring(1, body.length() - 1);
+        }
+        if (body.isEmpty()) {
+            return new float[0];
+        }
+        String[] parts = body.split(",");
+        float[] result = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Float.parseFloat(parts[i].trim());
+        }
+        return result;
+    }
+
+    /**
+     * Return a unit-length copy of the vector, or a zero vector if its norm is zero.
+     */
+    public static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] result = new float[vector.length];
+        if (norm == 0) {
+            return result;
+        }
+        float inverse = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] * inverse;
+        }
+        return result;
+    }
+
+    public static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Cosine distance between two vectors that are already unit length.
+     */
+    public static float cosineDistanceNormalized(float[] a, float[] b) {
+        return 1.0f - dot(a, b);
+    }
+}
@@ -1,10 +1,13 @@
 package com.curtin.securehire.service.es;
 
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Candidate;
 import com.curtin.securehire.entity.es.CandidateDocument;
-import com.curtin.securehire.repository.es.CandidateSearchRepository;
+import com.curtin.securehire.repository.db.CandidateRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +18,24 @@ import java.util.stream.Collectors;
 public class CandidateSearchService {
 
     @Autowired
-    private CandidateSearchRepository candidateSearchRepository;
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private CandidateRepository candidateRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${search.suggest.size:10}")
+    private int suggestSize;
 
     public void indexCandidate(Candidate candidate) {
         CandidateDocument document = convertToDocument(candidate);
-        candidateSearchRepository.save(document);
+        searchBackend.index(List.of(document));
+        searchResultCache.invalidate(SearchDocumentType.CANDIDATE);
         log.info("Indexed candidate with ID: {}", candidate.getId());
     }
 
@@ -27,22 +43,47 @@ public class CandidateSearchService {
         List<CandidateDocument> documents = candidates.stream()
                 .map(this::convertToDocument)
                 .collect(Collectors.toList());
-        candidateSearchRepository.saveAll(documents);
+        searchBackend.index(documents);
+        searchResultCache.invalidate(SearchDocumentType.CANDIDATE);
         log.info("Indexed {} candidates", candidates.size());
     }
 
-    public List<CandidateDocument> searchCandidates(String query) {
+    public List<CandidateDocument> searchCandidates(String query, int limit) {
         log.info("Searching candidates with query: {}", query);
-        return candidateSearchRepository.findByFirstNameContainingOrLastNameContainingOrEmailContainingOrSkillsContaining(
-                query, query, query, query);
+        return searchResultCache.get(SearchDocumentType.CANDIDATE, "search", query, List.of(limit),
+                () -> postgresSearchFallback.call("candidates",
+                        () -> searchBackend.search(CandidateDocument.class, query, limit),
+                        () -> searchDatabase(query, limit)));
     }
 
     public List<CandidateDocument> suggestCandidates(String prefix) {
         log.info("Getting candidate suggestions with prefix: {}", prefix);
-        return candidateSearchRepository.findByFirstNameStartingWithOrLastNameStartingWith(prefix, prefix);
+        return searchResultCache.get(SearchDocumentType.CANDIDATE, "suggest", prefix, List.of(suggestSize),
+                () -> postgresSearchFallback.call("candidates",
+                        () -> searchBackend.suggest(CandidateDocument.class, prefix, suggestSize),
+                        () -> suggestDatabase(prefix, suggestSize)));
+    }
+
+    /**
+     * Candidate search answered by Postgres full-text search instead of the search backend.
+     */
+    public List<CandidateDocument> searchDatabase(String query, int limit) {
+        return postgresSearchFallback.query(() -> candidateRepository.searchFullText(query, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    private List<CandidateDocument> suggestDatabase(String prefix, int limit) {
+        String prefixQuery = PostgresSearchFallback.prefixQuery(prefix);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return postgresSearchFallback.query(() -> candidateRepository.suggestFullText(prefixQuery, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
     }
 
-    private CandidateDocument convertToDocument(Candidate candidate) {
+    public CandidateDocument convertToDocument(Candidate candidate) {
         CandidateDocument document = new CandidateDocument();
         Integer id = candidate.getId();
         document.setId(id.toString());
@@ -0,0 +1,301 @@
+package com.curtin.securehire.service.es;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.curtin.securehire.dto.CrossEntitySearchResult;
+import com.curtin.securehire.entity.es.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Searches every entity index for one query, behind {@code /api/search/all}.
+ *
+ * <p>With {@code search.all.backend=msearch} (the default) the five sub-queries are packed into a single
+ * {@code _msearch} request, so a user query costs one HTTP round trip however many indexes it touches;
+ * each sub-search carries the {@code search.fanout.search-timeout-ms} budget as its own {@code timeout},
+ * and the request as a whole is abandoned after {@code search.all.msearch-deadline-ms}.
+ * With {@code fanout} (always, when {@code search.backend=lucene}) every entity is searched through its
+ * {@link SearchBackend} as a separate request, run concurrently by {@link SearchFanOut}. Either way an
+ * entity type that fails or times out comes back empty and is listed as partial. If the {@code _msearch}
+ * request itself fails or misses its deadline, or Elasticsearch is marked unavailable, the fan-out is used
+ * instead, each entity answered from Postgres.</p>
+ *
+ * <p>The sub-queries reproduce the repositories' derived {@code ...Containing} finders, so both backends
+ * return the same documents.</p>
+ */
+@Slf4j
+@Service
+public class CrossEntitySearchService {
+
+    /**
+     * One sub-search: the JSON key it fills and the text fields its {@code Containing} finder matches.
+     */
+    public enum Section {
+        CANDIDATES("candidates", CandidateDocument.class, "firstName", "lastName", "email", "skills"),
+        RECRUITERS("recruiters", RecruiterDocument.class, "companyName", "email"),
+        SKILLS("skills", SkillDocument.class, "name"),
+        LOCATIONS("locations", LocationDocument.class, "name"),
+        JOBS("jobs", JobDocument.class, "title", "description", "skills");
+
+        private final String key;
+        private final Class<?> documentClass;
+        private final String[] fields;
+
+        Section(String key, Class<?> documentClass, String... fields) {
+            this.key = key;
+            this.documentClass = documentClass;
+            this.fields = fields;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Class<?> getDocumentClass() {
+            return documentClass;
+        }
+
+        public List<String> getFields() {
+            return List.of(fields);
+        }
+
+        /**
+         * Index (alias) name from the document's {@code @Document} annotation.
+         */
+        public String getIndex() {
+            return documentClass.getAnnotation(org.springframework.data.elasticsearch.annotations.Document.class).indexName();
+        }
+
+        /**
+         * The section holding documents of {@code documentClass}.
+         */
+        public static Section of(Class<?> documentClass) {
+            for (Section section : values()) {
+                if (section.documentClass == documentClass) {
+                    return section;
+                }
+            }
+            throw new IllegalArgumentException("No search section for " + documentClass.getSimpleName());
+        }
+
+        /**
+         * {@code *text*} on any of the fields, as Spring Data builds for {@code findByAContainingOrBContaining}.
+         */
+        public Query query(String text) {
+            String wildcard = "*" + escape(text) + "*";
+            return Query.of(q -> q.bool(b -> {
+                for (String field : fields) {
+                    b.should(s -> s.queryString(qs -> qs
+                            .query(wildcard)
+                            .fields(field)
+                            .analyzeWildcard(true)
+                            .defaultOperator(Operator.And)));
+                }
+                return b.minimumShouldMatch("1");
+            }));
+        }
+    }
+
+    private static final String RESERVED = "\\+-!():^[]\"{}~*?|&/=<>";
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchConverter elasticsearchConverter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SearchFanOut searchFanOut;
+
+    @Autowired
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private CandidateSearchService candidateSearchService;
+
+    @Autowired
+    private RecruiterSearchService recruiterSearchService;
+
+    @Autowired
+    private SkillSearchService skillSearchService;
+
+    @Autowired
+    private LocationSearchService locationSearchService;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Value("${search.all.backend:msearch}")
+    private String backend;
+
+    // Hits returned per entity type, by either backend
+    @Value("${search.all.max-hits-per-type:100}")
+    private int maxHitsPerType;
+
+    @Value("${search.fanout.search-timeout-ms:1000}")
+    private long timeoutMs;
+
+    // Client-side bound on the whole _msearch; the per-search timeout above is best effort on the server
+    @Value("${search.all.msearch-deadline-ms:1500}")
+    private long deadlineMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CrossEntitySearchResult searchAll(String query) {
+        // _msearch needs the cluster; an embedded backend is searched per entity
+        boolean cluster = searchBackend instanceof ElasticsearchSearchBackend;
+        if ("fanout".equalsIgnoreCase(backend) || !cluster) {
+            return fanOut(query);
+        }
+        // Per-entity searches fall back to Postgres one by one
+        return postgresSearchFallback.call("all", () -> multiSearch(query), () -> fanOut(query));
+    }
+
+    /**
+     * One {@code _msearch} request with a sub-search per {@link Section}.
+     *
+     * @throws IllegalStateException if the request as a whole fails
+     */
+    public CrossEntitySearchResult multiSearch(String query) {
+        MsearchRequest.Builder request = new MsearchRequest.Builder();
+        for (Section section : Section.values()) {
+            request.searches(item -> item
+                    .header(h -> h.index(section.getIndex()))
+                    .body(b -> b
+                            .query(section.query(query))
+                            .size(maxHitsPerType)
+                            .timeout(timeoutMs + "ms")));
+        }
+
+        CrossEntitySearchResult result = new CrossEntitySearchResult();
+        CompletableFuture<MsearchResponse<Map>> call = CompletableFuture.supplyAsync(() -> {
+            try {
+                return elasticsearchClient.msearch(request.build(), Map.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+        MsearchResponse<Map> response;
+        try {
+            response = meterRegistry.timer("search.all", "backend", "msearch")
+                    .recordCallable(() -> call.get(deadlineMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            // The abandoned request finishes in the background, bounded by the client's socket timeout
+            call.cancel(true);
+            meterRegistry.counter("search.fanout.timeouts", "endpoint", "msearch", "source", "all").increment();
+            throw new IllegalStateException("Multi-search for '" + query + "' missed its " + deadlineMs + " ms deadline", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Multi-search for '" + query + "' failed: " + e.getMessage(), e);
+        }
+
+        // Responses come back in request order
+        List<MultiSearchResponseItem<Map>> items = response.responses();
+        for (int i = 0; i < items.size(); i++) {
+            Section section = Section.values()[i];
+            MultiSearchResponseItem<Map> item = items.get(i);
+            if (item.isFailure()) {
+                log.error("Multi-search {} sub-query failed: {}", section.getKey(), item.failure().error().reason());
+                result.getPartialSources().add(section.getKey());
+                continue;
+            }
+            if (item.result().timedOut()) {
+                log.warn("Multi-search {} sub-query exceeded its {} ms budget, returning partial results", section.getKey(), timeoutMs);
+                meterRegistry.counter("search.fanout.timeouts", "endpoint", "msearch", "source", section.getKey()).increment();
+                result.getPartialSources().add(section.getKey());
+            }
+            List<Hit<Map>> hits = item.result().hits().hits();
+            switch (section) {
+                case CANDIDATES -> result.setCandidates(read(hits, CandidateDocument.class));
+                case RECRUITERS -> result.setRecruiters(read(hits, RecruiterDocument.class));
+                case SKILLS -> result.setSkills(read(hits, SkillDocument.class));
+                case LOCATIONS -> result.setLocations(read(hits, LocationDocument.class));
+                case JOBS -> result.setJobs(read(hits, JobDocument.class));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A concurrent repository search per entity type.
+     */
+    public CrossEntitySearchResult fanOut(String query) {
+        long start = System.nanoTime();
+        SearchFanOut.Batch batch = searchFanOut.search();
+        SearchFanOut.Source<CandidateDocument> candidates = batch.submit(Section.CANDIDATES.getKey(), () -> candidateSearchService.searchCandidates(query, maxHitsPerType));
+        SearchFanOut.Source<RecruiterDocument> recruiters = batch.submit(Section.RECRUITERS.getKey(), () -> recruiterSearchService.searchRecruiters(query, maxHitsPerType));
+        SearchFanOut.Source<SkillDocument> skills = batch.submit(Section.SKILLS.getKey(), () -> skillSearchService.searchSkills(query, maxHitsPerType));
+        SearchFanOut.Source<LocationDocument> locations = batch.submit(Section.LOCATIONS.getKey(), () -> locationSearchService.searchLocations(query, maxHitsPerType));
+        SearchFanOut.Source<JobDocument> jobs = batch.submit(Section.JOBS.getKey(), () -> jobSearchService.searchJobs(query, maxHitsPerType));
+
+        CrossEntitySearchResult result = new CrossEntitySearchResult();
+        result.setCandidates(candidates.get());
+        result.setRecruiters(recruiters.get());
+        result.setSkills(skills.get());
+        result.setLocations(locations.get());
+        result.setJobs(jobs.get());
+        result.setPartialSources(batch.getPartialSources());
+        meterRegistry.timer("search.all", "backend", "fanout").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Map raw hit sources to entities with the same converter the repositories use.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> read(List<Hit<Map>> hits, Class<T> type) {
+        List<T> documents = new ArrayList<>(hits.size());
+        for (Hit<Map> hit : hits) {
+            if (hit.source() == null) {
+                continue;
+            }
+            Document document = Document.from(hit.source());
+            document.setId(hit.id());
+            documents.add(elasticsearchConverter.read(type, document));
+        }
+        return documents;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (RESERVED.indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
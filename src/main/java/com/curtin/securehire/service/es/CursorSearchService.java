@@ -0,0 +1,77 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.exception.BadRequestException;
+import com.curtin.securehire.service.es.CrossEntitySearchService.Section;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Cursor-paged entity search on the configured {@link SearchBackend}: Elasticsearch pages through a
+ * point-in-time, Lucene through a searcher kept open for the cursor. Either way each page costs the same
+ * however deep it is, and a cursor is only valid for {@code search.cursor.keep-alive} after its page.
+ *
+ * <p>While Elasticsearch is unavailable ({@link PostgresSearchFallback}) the first {@code size} matches
+ * come from Postgres as a last page with no cursor.</p>
+ */
+@Service
+public class CursorSearchService {
+
+    @Autowired
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private CandidateSearchService candidateSearchService;
+
+    @Autowired
+    private RecruiterSearchService recruiterSearchService;
+
+    @Autowired
+    private SkillSearchService skillSearchService;
+
+    @Autowired
+    private LocationSearchService locationSearchService;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    /**
+     * One page of {@code section}'s matches for {@code query}.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @throws BadRequestException if the cursor is malformed, belongs to another query or has expired
+     */
+    public <T> SearchPage<T> search(Section section, Class<T> type, String query, int size, String cursor) {
+        if (section.getDocumentClass() != type) {
+            throw new IllegalArgumentException(section + " does not hold " + type.getSimpleName());
+        }
+        return postgresSearchFallback.call(section.getKey(),
+                () -> searchBackend.searchPage(type, query, size, cursor),
+                () -> searchDatabase(section, type, query, size, cursor));
+    }
+
+    /**
+     * A single, final page from Postgres while Elasticsearch is unavailable. There is no point-in-time to
+     * continue from, so a cursor handed out earlier is rejected and the client starts over.
+     */
+    private <T> SearchPage<T> searchDatabase(Section section, Class<T> type, String query, int size, String cursor) {
+        if (cursor != null) {
+            throw new BadRequestException("Cursor is invalid or has expired; start the search again");
+        }
+        List<?> documents = switch (section) {
+            case CANDIDATES -> candidateSearchService.searchDatabase(query, size);
+            case RECRUITERS -> recruiterSearchService.searchDatabase(query, size);
+            case SKILLS -> skillSearchService.searchDatabase(query, size);
+            case LOCATIONS -> locationSearchService.searchDatabase(query, size);
+            case JOBS -> jobSearchService.searchDatabase(query, size);
+        };
+        SearchPage<T> page = new SearchPage<>();
+        documents.stream().map(type::cast).forEach(page.getItems()::add);
+        return page;
+    }
+}
@@ -0,0 +1,240 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.entity.es.*;
+import com.curtin.securehire.exception.BadRequestException;
+import com.curtin.securehire.repository.es.*;
+import com.curtin.securehire.service.es.CrossEntitySearchService.Section;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * {@link SearchBackend} on the Elasticsearch cluster, through the entity search repositories.
+ *
+ * <p>{@link #searchPage} serves the first page as a plain {@code size + 1} search sorted by score, so the
+ * many searches that never go past it hold no server-side state. Asking for the second page opens a
+ * point-in-time (PIT) on the entity's index and skips the first page's hits; every later page is a
+ * {@code size + 1} search against that PIT, continuing with {@code search_after} from the last hit of the
+ * previous page. From the second page on each page therefore costs the same however deep it is, and sees
+ * the index as it was when that page was requested. The cursor holds the PIT id and the last sort values
+ * (or, before the PIT, the number of hits already served); the PIT is closed once the last page has been
+ * served, or expires after {@code search.cursor.keep-alive} without a request.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.backend", havingValue = "elasticsearch", matchIfMissing = true)
+public class ElasticsearchSearchBackend implements SearchBackend {
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private CandidateSearchRepository candidateSearchRepository;
+
+    @Autowired
+    private RecruiterSearchRepository recruiterSearchRepository;
+
+    @Autowired
+    private SkillSearchRepository skillSearchRepository;
+
+    @Autowired
+    private LocationSearchRepository locationSearchRepository;
+
+    @Autowired
+    private JobSearchRepository jobSearchRepository;
+
+    @Autowired
+    private SearchCursorCodec searchCursorCodec;
+
+    @Value("${search.cursor.keep-alive:1m}")
+    private Duration keepAlive;
+
+    private final Map<Class<?>, Finders<?>> finders = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        register(CandidateDocument.class,
+                (query, page) -> candidateSearchRepository.findByFirstNameContainingOrLastNameContainingOrEmailContainingOrSkillsContaining(
+                        query, query, query, query, page),
+                candidateSearchRepository::suggestByName);
+        register(RecruiterDocument.class,
+                (query, page) -> recruiterSearchRepository.findByCompanyNameContainingOrEmailContaining(query, query, page),
+                recruiterSearchRepository::suggestByCompanyName);
+        register(SkillDocument.class, skillSearchRepository::findByNameContaining, skillSearchRepository::suggestByName);
+        register(LocationDocument.class, locationSearchRepository::findByNameContaining, locationSearchRepository::suggestByName);
+        register(JobDocument.class,
+                (query, page) -> jobSearchRepository.findByTitleContainingOrDescriptionContainingOrSkillsContaining(
+                        query, query, query, page),
+                jobSearchRepository::suggestByTitle);
+    }
+
+    @Override
+    public void index(List<?> documents) {
+        if (!documents.isEmpty()) {
+            elasticsearchOperations.save(documents);
+        }
+    }
+
+    @Override
+    public void delete(Class<?> type, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Query query = NativeQuery.builder().withIds(ids).build();
+        elasticsearchOperations.delete(DeleteQuery.builder(query).build(), type);
+    }
+
+    @Override
+    public <T> List<T> search(Class<T> type, String query, int limit) {
+        return finders(type).search().apply(query, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public <T> List<T> suggest(Class<T> type, String prefix, int limit) {
+        return finders(type).suggest().apply(prefix, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public <T> SearchPage<T> searchPage(Class<T> type, String query, int size, String cursor) {
+        Section section = Section.of(type);
+        Cursor from = cursor != null ? decode(cursor, query) : null;
+        if (from == null) {
+            return firstPage(section, type, query, size);
+        }
+        boolean opened = from.pit() == null;
+        String pit = opened
+                ? elasticsearchOperations.openPointInTime(IndexCoordinates.of(section.getIndex()), keepAlive)
+                : from.pit();
+        // Until the first search_after page, the hits the first page already served are skipped
+        int skip = opened ? from.offset() : 0;
+
+        NativeQuery.NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(section.query(query))
+                .withPointInTime(new Query.PointInTime(pit, keepAlive))
+                // PIT searches add an implicit _shard_doc tiebreaker, so the sort values are unique
+                .withSort(Sort.by(Sort.Direction.DESC, "_score"))
+                .withMaxResults(skip + size + 1)
+                .withTrackTotalHits(false);
+        if (!opened) {
+            builder.withSearchAfter(from.after());
+        }
+
+        SearchHits<T> hits;
+        try {
+            hits = elasticsearchOperations.search(builder.build(), type);
+        } catch (RuntimeException e) {
+            if (opened) {
+                closeQuietly(pit);
+                throw e;
+            }
+            log.warn("Cursor search on {} failed, treating cursor as expired: {}", section.getIndex(), e.getMessage());
+            throw new BadRequestException("Cursor is invalid or has expired; start the search again", e);
+        }
+
+        List<SearchHit<T>> page = hits.getSearchHits();
+        page = page.subList(Math.min(skip, page.size()), page.size());
+        SearchPage<T> result = new SearchPage<>();
+        page.stream().limit(size).map(SearchHit::getContent).forEach(result.getItems()::add);
+
+        // ES may hand back a new PIT id; later pages must use the latest one
+        String nextPit = hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pit;
+        if (page.size() > size) {
+            result.setNextCursor(searchCursorCodec.encode(new Cursor(nextPit, page.get(size - 1).getSortValues(), 0, query)));
+        } else {
+            closeQuietly(nextPit);
+        }
+        return result;
+    }
+
+    @Override
+    public long count(Class<?> type) {
+        // Counts go through search, which only sees documents as of the last refresh
+        elasticsearchOperations.indexOps(type).refresh();
+        return elasticsearchOperations.count(Query.findAll(), type);
+    }
+
+    /**
+     * The first page, without a point-in-time. Its cursor only records how many hits were served.
+     */
+    private <T> SearchPage<T> firstPage(Section section, Class<T> type, String query, int size) {
+        NativeQuery searchQuery = NativeQuery.builder()
+                .withQuery(section.query(query))
+                .withSort(Sort.by(Sort.Direction.DESC, "_score"))
+                .withMaxResults(size + 1)
+                .withTrackTotalHits(false)
+                .build();
+        List<SearchHit<T>> page = elasticsearchOperations
+                .search(searchQuery, type, IndexCoordinates.of(section.getIndex()))
+                .getSearchHits();
+
+        SearchPage<T> result = new SearchPage<>();
+        page.stream().limit(size).map(SearchHit::getContent).forEach(result.getItems()::add);
+        if (page.size() > size) {
+            result.setNextCursor(searchCursorCodec.encode(new Cursor(null, null, size, query)));
+        }
+        return result;
+    }
+
+    private Cursor decode(String cursor, String query) {
+        Cursor decoded = searchCursorCodec.decode(cursor, Cursor.class);
+        boolean valid = decoded.pit() != null ? decoded.after() != null : decoded.offset() > 0;
+        if (!valid || !query.equals(decoded.query())) {
+            throw new BadRequestException("Cursor does not belong to this query");
+        }
+        return decoded;
+    }
+
+    private void closeQuietly(String pit) {
+        try {
+            elasticsearchOperations.closePointInTime(pit);
+        } catch (Exception e) {
+            // It expires on its own after the keep-alive
+            log.debug("Failed to close point in time: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Finders<T> finders(Class<T> type) {
+        Finders<T> found = (Finders<T>) finders.get(type);
+        if (found == null) {
+            throw new IllegalArgumentException("No search repository for " + type.getSimpleName());
+        }
+        return found;
+    }
+
+    private <T> void register(Class<T> type,
+                              BiFunction<String, Pageable, List<T>> search,
+                              BiFunction<String, Pageable, List<T>> suggest) {
+        finders.put(type, new Finders<>(search, suggest));
+    }
+
+    private record Finders<T>(BiFunction<String, Pageable, List<T>> search,
+                              BiFunction<String, Pageable, List<T>> suggest) {
+    }
+
+    /**
+     * Either {@code pit} and {@code after}, or, for the page after the first, only {@code offset}.
+     */
+    record Cursor(String pit, List<Object> after, int offset, String query) {
+    }
+}
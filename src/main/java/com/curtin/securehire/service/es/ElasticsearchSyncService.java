@@ -1,20 +1,66 @@
 package com.curtin.securehire.service.es;
 
-import com.curtin.securehire.entity.db.*;
+import com.curtin.securehire.constant.SearchBootstrapState;
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.dto.SearchSyncState;
+import com.curtin.securehire.entity.db.SearchTombstone;
+import com.curtin.securehire.entity.db.SyncWatermark;
+import com.curtin.securehire.entity.es.*;
 import com.curtin.securehire.repository.db.*;
+import com.curtin.securehire.service.db.impl.AdvisoryLockService;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
+/**
+ * Keeps the Elasticsearch indexes in step with the database.
+ *
+ * <p>Every indexed entity carries an {@code updated_at} timestamp. Each run re-indexes only the rows
+ * changed since the document type's persisted watermark (minus a small overlap, so transactions that
+ * committed late with an older timestamp are not missed) and then applies the tombstones written for
+ * deleted rows. A document type without a watermark gets a full pass, which is also available on demand
+ * through {@link #rebuild} as a blue/green swap managed by {@link SearchIndexManager}. Either way rows
+ * are streamed through {@link StreamingBulkIndexer}.</p>
+ *
+ * <p>At startup each type is checked in the background once the application is ready: it catches up
+ * incrementally and compares the document count with the row count, and only re-indexes every row if
+ * they differ (or the index is new or its mapping changed). Full passes checkpoint the last id indexed
+ * in {@link SyncWatermark}, so one interrupted by a restart resumes where it stopped. Progress is
+ * reported by {@link SearchIndexHealthIndicator}. With Elasticsearch, syncs also take a Postgres
+ * advisory lock, so during a rolling deploy only one node bootstraps the shared indexes.</p>
+ */
 @Slf4j
 @Service
 public class ElasticsearchSyncService {
 
+    // pg_try_advisory_lock key shared by every node syncing the same Elasticsearch cluster
+    private static final long CLUSTER_SYNC_LOCK = 0x5345415243485359L;
+
     @Autowired
     private CandidateRepository candidateRepository;
 
@@ -45,55 +91,384 @@ public class ElasticsearchSyncService {
     @Autowired
     private JobSearchService jobSearchService;
 
+    @Autowired
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private SyncWatermarkRepository syncWatermarkRepository;
+
+    @Autowired
+    private SearchTombstoneRepository searchTombstoneRepository;
+
+    @Autowired
+    private StreamingBulkIndexer streamingBulkIndexer;
+
+    // Absent with search.backend=lucene, which has no aliases or index versions
+    @Autowired(required = false)
+    private SearchIndexManager searchIndexManager;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private AdvisoryLockService advisoryLockService;
+
+    @Value("${search.sync.batch-size:500}")
+    private int batchSize;
+
+    @Value("${search.sync.overlap-ms:60000}")
+    private long overlapMs;
+
+    // Scheduled runs and on-demand rebuilds never overlap
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private Map<SearchDocumentType, SyncTarget> targets;
+
+    private final Map<SearchDocumentType, SearchBootstrapState> bootstrapStates = new ConcurrentHashMap<>();
+
+    private final Map<SearchDocumentType, String> bootstrapErrors = new ConcurrentHashMap<>();
+
     @PostConstruct
-    public void initialIndex() {
-        log.info("Starting initial Elasticsearch indexing");
-        syncCandidates();
-        syncRecruiters();
-        syncSkills();
-        syncLocations();
-        log.info("Completed initial Elasticsearch indexing");
+    public void registerTargets() {
+        targets = new EnumMap<>(SearchDocumentType.class);
+        register(SearchDocumentType.SKILL, SkillDocument.class,
+                skillRepository::findIdsUpdatedSince, skillRepository::findIdsAfter, skillRepository::count,
+                ids -> skillRepository.findAllById(ids).stream().map(skillSearchService::convertToDocument).toList(),
+                ids -> searchBackend.delete(SkillDocument.class, toStrings(ids)));
+        register(SearchDocumentType.LOCATION, LocationDocument.class,
+                locationRepository::findIdsUpdatedSince, locationRepository::findIdsAfter, locationRepository::count,
+                ids -> locationRepository.findAllById(ids).stream().map(locationSearchService::convertToDocument).toList(),
+                ids -> searchBackend.delete(LocationDocument.class, toStrings(ids)));
+        register(SearchDocumentType.RECRUITER, RecruiterDocument.class,
+                recruiterRepository::findIdsUpdatedSince, recruiterRepository::findIdsAfter, recruiterRepository::count,
+                ids -> recruiterRepository.findAllById(ids).stream().map(recruiterSearchService::convertToDocument).toList(),
+                ids -> searchBackend.delete(RecruiterDocument.class, toStrings(ids)));
+        register(SearchDocumentType.CANDIDATE, CandidateDocument.class,
+                candidateRepository::findIdsUpdatedSince, candidateRepository::findIdsAfter, candidateRepository::count,
+                ids -> candidateRepository.findAllById(ids).stream().map(candidateSearchService::convertToDocument).toList(),
+                ids -> searchBackend.delete(CandidateDocument.class, toStrings(ids)));
+        register(SearchDocumentType.JOB, JobDocument.class,
+                jobRepository::findIdsUpdatedSince, jobRepository::findIdsAfter, jobRepository::count,
+                ids -> jobRepository.findAllById(ids).stream().map(jobSearchService::convertToDocument).toList(),
+                ids -> searchBackend.delete(JobDocument.class, toStrings(ids)));
     }
 
-    @Scheduled(cron = "0 0 0 * * ?") // Run every midnight
-    public void syncJobs() {
-        List<Job> jobs = jobRepository.findAll();
-        jobSearchService.indexJobs(jobs);
-        log.info("Synced {} jobs to Elasticsearch", jobs.size());
+    /**
+     * Bring every index up to date in the background once the application is serving, so startup
+     * never waits on a full load. Types whose index already matches the database only catch up
+     * incrementally.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        log.info("Starting search index bootstrap");
+        syncLock.lock();
+        try {
+            boolean ran = withClusterLock(() -> {
+                for (SyncTarget target : targets.values()) {
+                    bootstrap(target);
+                }
+            });
+            if (!ran) {
+                log.info("Another node is syncing the search indexes, leaving the bootstrap to it");
+                targets.keySet().forEach(type -> bootstrapStates.put(type, SearchBootstrapState.DEFERRED));
+            }
+        } catch (Exception e) {
+            // Could not take the lock; the scheduled sync takes over
+            log.error("Search index bootstrap failed: {}", e.getMessage(), e);
+            for (SearchDocumentType type : targets.keySet()) {
+                bootstrapErrors.put(type, String.valueOf(e.getMessage()));
+                bootstrapStates.replace(type, SearchBootstrapState.PENDING, SearchBootstrapState.FAILED);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+        log.info("Completed search index bootstrap: {}", bootstrapStates);
     }
 
+    public Map<SearchDocumentType, SearchBootstrapState> getBootstrapStates() {
+        return Map.copyOf(bootstrapStates);
+    }
+
+    public Map<SearchDocumentType, String> getBootstrapErrors() {
+        return Map.copyOf(bootstrapErrors);
+    }
+
+    /**
+     * Index rows changed since each document type's watermark and apply pending deletions.
+     */
+    @Scheduled(fixedDelayString = "${search.sync.interval-ms:30000}", initialDelayString = "${search.sync.interval-ms:30000}")
+    public void syncChanges() {
+        if (!syncLock.tryLock()) {
+            log.debug("Elasticsearch sync already running, skipping");
+            return;
+        }
+        try {
+            boolean ran = withClusterLock(() -> {
+                for (SyncTarget target : targets.values()) {
+                    try {
+                        sync(target, false);
+                        // Also finishes a full pass the bootstrap left behind
+                        if (bootstrapStates.replace(target.type, SearchBootstrapState.FAILED, SearchBootstrapState.READY)) {
+                            bootstrapErrors.remove(target.type);
+                        }
+                        // Holding the lock means the node that deferred us has finished its bootstrap
+                        bootstrapStates.replace(target.type, SearchBootstrapState.DEFERRED, SearchBootstrapState.READY);
+                    } catch (Exception e) {
+                        // The watermark is not advanced, so the same rows are retried next run
+                        log.error("Elasticsearch sync of {} failed: {}", target.type, e.getMessage(), e);
+                    }
+                }
+            });
+            if (!ran) {
+                log.debug("Elasticsearch sync running on another node, skipping");
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild one document type, or all types when {@code type} is null, into fresh index versions in
+     * the background. Searches keep using the current indexes until each new one is swapped in.
+     */
+    @Async
+    public void rebuild(SearchDocumentType type) {
+        syncLock.lock();
+        try {
+            boolean ran = withClusterLock(() -> {
+                for (SyncTarget target : targets.values()) {
+                    if (type == null || target.type == type) {
+                        try {
+                            rebuildIndex(target);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }
+            });
+            if (!ran) {
+                log.warn("Elasticsearch rebuild of {} skipped: another node is syncing, try again later",
+                        type == null ? "all types" : type);
+            }
+        } catch (Exception e) {
+            log.error("Elasticsearch rebuild of {} failed: {}", type == null ? "all types" : type, e.getMessage(), e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Index the current state of the given rows right away, outside the scheduled run. Used by
+     * {@link SearchIndexOutbox}; rows that no longer exist are skipped (their tombstones remove them).
+     *
+     * @return the number of documents sent
+     */
+    public int indexIds(SearchDocumentType type, List<Integer> ids) {
+        int indexed = streamingBulkIndexer.indexChunk(ids, targets.get(type).toDocuments);
+        searchResultCache.invalidate(type);
+        return indexed;
+    }
+
+    public List<SearchSyncState> getStates() {
+        List<SearchSyncState> states = new ArrayList<>();
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            SearchSyncState state = new SearchSyncState();
+            state.setDocumentType(type);
+            syncWatermarkRepository.findById(type).ifPresent(mark -> {
+                state.setWatermark(mark.getWatermark());
+                state.setLastRunAt(mark.getLastRunAt());
+                state.setLastSynced(mark.getLastSynced());
+                state.setLastDeleted(mark.getLastDeleted());
+                state.setFullSyncAfterId(mark.getFullSyncAfterId());
+            });
+            state.setPendingTombstones(searchTombstoneRepository.countByDocumentType(type));
+            if (searchIndexManager != null) {
+                state.setActiveIndex(searchIndexManager.activeIndex(targets.get(type).documentClass));
+            }
+            state.setBootstrapState(bootstrapStates.get(type));
+            states.add(state);
+        }
+        return states;
+    }
+
+    /**
+     * Check one type against the database and index whatever it is missing.
+     */
+    private void bootstrap(SyncTarget target) {
+        bootstrapStates.put(target.type, SearchBootstrapState.RUNNING);
+        bootstrapErrors.remove(target.type);
+        try {
+            if (searchIndexManager != null && searchIndexManager.needsRebuild(target.documentClass)) {
+                rebuildIndex(target);
+            } else if (searchIndexManager != null && searchIndexManager.isNew(target.documentClass)) {
+                sync(target, true);
+                searchIndexManager.markLoaded(target.documentClass);
+            } else {
+                // Catches up on changes and tombstones, and finishes an interrupted full pass
+                sync(target, false);
+                long rows = target.rowCount.getAsLong();
+                long documents = searchBackend.count(target.documentClass);
+                if (documents == rows) {
+                    log.info("{} index is current with {} documents", target.type, documents);
+                } else {
+                    log.warn("{} index has {} documents for {} rows, re-indexing every row", target.type, documents, rows);
+                    sync(target, true);
+                }
+            }
+            bootstrapStates.put(target.type, SearchBootstrapState.READY);
+        } catch (Exception e) {
+            // A full pass resumes from its checkpoint on the next scheduled sync
+            log.error("Search index bootstrap of {} failed: {}", target.type, e.getMessage(), e);
+            bootstrapErrors.put(target.type, String.valueOf(e.getMessage()));
+            bootstrapStates.put(target.type, SearchBootstrapState.FAILED);
+        }
+    }
+
+    /**
+     * Run {@code task} under a Postgres session advisory lock shared by all nodes on the same
+     * Elasticsearch cluster. With the Lucene backend every node owns its indexes, so it just runs.
+     *
+     * @return false, without running {@code task}, if another node holds the lock
+     */
+    private boolean withClusterLock(Runnable task) {
+        if (searchIndexManager == null) {
+            task.run();
+            return true;
+        }
+        return advisoryLockService.tryRun(CLUSTER_SYNC_LOCK, task);
+    }
+
+    private void sync(SyncTarget target, boolean full) {
+        // Taken before reading, so rows updated while this run is in progress are seen again next time
+        Instant runStart = Instant.now();
+        Optional<SyncWatermark> mark = syncWatermarkRepository.findById(target.type);
+        // An unfinished full pass carries on from its checkpoint unless a fresh one is asked for
+        boolean resume = !full && mark.isPresent() && mark.get().getFullSyncStartedAt() != null;
+        boolean fullPass = full || resume || mark.isEmpty();
+
+        int synced;
+        if (fullPass) {
+            // A resumed pass keeps its original start, so rows it passed before the restart are caught up from there
+            Instant passStart = resume ? mark.get().getFullSyncStartedAt() : runStart;
+            int afterId = resume ? mark.get().getFullSyncAfterId() : Integer.MIN_VALUE;
+            if (resume) {
+                log.info("Resuming full {} pass after id {}", target.type, afterId);
+            } else {
+                saveCheckpoint(target.type, passStart, afterId);
+            }
+            synced = streamingBulkIndexer.index(target.allIds, target.toDocuments, afterId,
+                    lastId -> saveCheckpoint(target.type, passStart, lastId));
+            runStart = passStart;
+        } else {
+            Instant since = mark.get().getWatermark().minus(Duration.ofMillis(overlapMs));
+            synced = streamingBulkIndexer.index((afterId, page) -> target.changedIds.find(since, afterId, page),
+                    target.toDocuments);
+        }
+        int deleted = applyTombstones(target);
+        saveWatermark(target.type, runStart, synced, deleted);
+
+        if (synced > 0 || deleted > 0) {
+            searchResultCache.invalidate(target.type);
+        }
+        if (fullPass || synced > 0 || deleted > 0) {
+            log.info("Synced {} {} documents to Elasticsearch ({} deleted{})",
+                    synced, target.type, deleted, resume ? ", resumed full pass" : fullPass ? ", full pass" : "");
+        }
+    }
+
+    /**
+     * Blue/green rebuild: load every row into a new index version while searches still use the current
+     * one, swap the alias, then replay what changed during the load.
+     */
+    private void rebuildIndex(SyncTarget target) throws IOException {
+        if (searchIndexManager == null) {
+            // No index versions to swap: re-index every row in place
+            sync(target, true);
+            return;
+        }
+        Instant buildStart = Instant.now();
+        String index = searchIndexManager.createVersion(target.documentClass);
+        int synced;
+        try {
+            synced = streamingBulkIndexer.index(target.allIds, target.toDocuments, IndexCoordinates.of(index));
+            searchIndexManager.activate(target.documentClass, index);
+            searchResultCache.invalidate(target.type);
+        } catch (Exception e) {
+            searchIndexManager.discard(index);
+            throw e;
+        }
+        log.info("Rebuilt {} into {} with {} documents", target.type, index, synced);
+
+        // Writes during the load went to the old index; catch up from the start of the build
+        saveWatermark(target.type, buildStart, synced, 0);
+        sync(target, false);
+    }
+
+    private void saveWatermark(SearchDocumentType type, Instant at, int synced, int deleted) {
+        SyncWatermark watermark = syncWatermarkRepository.findById(type).orElseGet(SyncWatermark::new);
+        watermark.setDocumentType(type);
+        watermark.setWatermark(at);
+        watermark.setLastRunAt(Instant.now());
+        watermark.setLastSynced(synced);
+        watermark.setLastDeleted(deleted);
+        watermark.setFullSyncStartedAt(null);
+        watermark.setFullSyncAfterId(null);
+        syncWatermarkRepository.save(watermark);
+    }
+
+    private void saveCheckpoint(SearchDocumentType type, Instant startedAt, int afterId) {
+        SyncWatermark watermark = syncWatermarkRepository.findById(type).orElseGet(() -> {
+            SyncWatermark created = new SyncWatermark();
+            created.setDocumentType(type);
+            created.setWatermark(startedAt);
+            return created;
+        });
+        watermark.setFullSyncStartedAt(startedAt);
+        watermark.setFullSyncAfterId(afterId);
+        syncWatermarkRepository.save(watermark);
+    }
 
-    @Scheduled(cron = "0 0 0 * * ?") // Run every midnight
-    public void scheduledSync() {
-        log.info("Starting scheduled Elasticsearch sync");
-        syncCandidates();
-        syncRecruiters();
-        syncSkills();
-        syncLocations();
-        log.info("Completed scheduled Elasticsearch sync");
+    private int applyTombstones(SyncTarget target) {
+        int deleted = 0;
+        while (true) {
+            List<SearchTombstone> tombstones = searchTombstoneRepository.findByDocumentTypeOrderByIdAsc(
+                    target.type, PageRequest.of(0, batchSize));
+            if (tombstones.isEmpty()) {
+                return deleted;
+            }
+            target.delete.accept(tombstones.stream().map(SearchTombstone::getDocumentId).distinct().collect(Collectors.toList()));
+            searchTombstoneRepository.deleteAllInBatch(tombstones);
+            deleted += tombstones.size();
+        }
     }
 
-    public void syncCandidates() {
-        List<Candidate> candidates = candidateRepository.findAll();
-        candidateSearchService.indexCandidates(candidates);
-        log.info("Synced {} candidates to Elasticsearch", candidates.size());
+    private static List<String> toStrings(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.toList());
     }
 
-    public void syncRecruiters() {
-        List<Recruiter> recruiters = recruiterRepository.findAll();
-        recruiterSearchService.indexRecruiters(recruiters);
-        log.info("Synced {} recruiters to Elasticsearch", recruiters.size());
+    private void register(SearchDocumentType type,
+                          Class<?> documentClass,
+                          ChangedIdPager changedIds,
+                          StreamingBulkIndexer.IdPager allIds,
+                          LongSupplier rowCount,
+                          Function<List<Integer>, List<?>> toDocuments,
+                          Consumer<List<Integer>> delete) {
+        targets.put(type, new SyncTarget(type, documentClass, changedIds, allIds, rowCount, toDocuments, delete));
+        bootstrapStates.put(type, SearchBootstrapState.PENDING);
     }
 
-    public void syncSkills() {
-        List<Skill> skills = skillRepository.findAll();
-        skillSearchService.indexSkills(skills);
-        log.info("Synced {} skills to Elasticsearch", skills.size());
+    @FunctionalInterface
+    private interface ChangedIdPager {
+        List<Integer> find(Instant since, int afterId, Pageable page);
     }
 
-    public void syncLocations() {
-        List<Location> locations = locationRepository.findAll();
-        locationSearchService.indexLocations(locations);
-        log.info("Synced {} locations to Elasticsearch", locations.size());
+    private record SyncTarget(SearchDocumentType type,
+                              Class<?> documentClass,
+                              ChangedIdPager changedIds,
+                              StreamingBulkIndexer.IdPager allIds,
+                              LongSupplier rowCount,
+                              Function<List<Integer>, List<?>> toDocuments,
+                              Consumer<List<Integer>> delete) {
     }
 }
@@ -0,0 +1,237 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.HybridSearchResponse;
+import com.curtin.securehire.entity.es.JobDocument;
+import com.curtin.securehire.repository.es.JobSearchRepository;
+import com.curtin.securehire.service.db.RecommendationService;
+import com.curtin.securehire.service.db.embedding.EmbeddingCache;
+import com.curtin.securehire.service.db.embedding.EmbeddingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Job search that combines Elasticsearch keyword matching with embedding similarity.
+ *
+ * <p>Both retrievers run concurrently on virtual threads, each under its own time budget. Their ranked
+ * lists are merged with reciprocal-rank fusion, {@code score(d) = sum 1 / (k + rank(d))}, which needs no
+ * score normalisation between BM25 and cosine distance. A retriever that fails or times out is dropped
+ * and the response is flagged as partial instead of failing the request.</p>
+ *
+ * <p>Latency is recorded per stage in the {@code search.hybrid} timer, tagged
+ * {@code stage=lexical|embed|vector|fusion|hydrate|total}.</p>
+ */
+@Slf4j
+@Service
+public class HybridJobSearchService {
+
+    private static final String[] LEXICAL_FIELDS = {"title^3", "skills^2", "requirements", "description", "location"};
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private JobSearchRepository jobSearchRepository;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private EmbeddingProvider embeddingProvider;
+
+    @Autowired
+    private EmbeddingCache embeddingCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.hybrid.rrf-k:60}")
+    private int rrfK;
+
+    // Each retriever contributes at most this many candidates, which also caps how deep paging can go
+    @Value("${search.hybrid.max-depth:200}")
+    private int maxDepth;
+
+    @Value("${search.hybrid.lexical-timeout-ms:500}")
+    private long lexicalTimeoutMs;
+
+    @Value("${search.hybrid.vector-timeout-ms:1500}")
+    private long vectorTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Search jobs by keywords and meaning and return one fused page.
+     *
+     * @param query The free-text query
+     * @param page  Zero-based page number
+     * @param size  Page size
+     * @return The fused page
+     */
+    public HybridSearchResponse search(String query, int page, int size) {
+        log.info("Hybrid job search with query: {}, page: {}, size: {}", query, page, size);
+        long start = System.nanoTime();
+        int depth = Math.min(maxDepth, (page + 1) * size);
+
+        CompletableFuture<List<String>> lexical = CompletableFuture.supplyAsync(
+                () -> timed("lexical", () -> lexicalSearch(query, depth)), executor);
+        CompletableFuture<List<String>> vector = CompletableFuture.supplyAsync(
+                () -> vectorSearch(query, depth), executor);
+
+        HybridSearchResponse response = new HybridSearchResponse();
+        response.setPage(page);
+        response.setSize(size);
+
+        // Budgets run from the start of the request, so waiting on one retriever does not extend the other's
+        List<String> lexicalIds = await(lexical, start, lexicalTimeoutMs, "lexical");
+        List<String> vectorIds = await(vector, start, vectorTimeoutMs, "vector");
+        response.setLexicalPartial(lexicalIds == null);
+        response.setVectorPartial(vectorIds == null);
+
+        List<HybridSearchResponse.Hit> fused = timed("fusion", () -> fuse(
+                lexicalIds != null ? lexicalIds : Collections.emptyList(),
+                vectorIds != null ? vectorIds : Collections.emptyList()));
+
+        int from = Math.min(page * size, fused.size());
+        int to = Math.min(from + size, fused.size());
+        List<HybridSearchResponse.Hit> pageHits = new ArrayList<>(fused.subList(from, to));
+        response.setHits(timed("hydrate", () -> hydrate(pageHits)));
+
+        meterRegistry.timer("search.hybrid", "stage", "total").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Hybrid search for '{}' fused {} lexical and {} vector results into {} hits",
+                query, lexicalIds != null ? lexicalIds.size() : 0, vectorIds != null ? vectorIds.size() : 0,
+                response.getHits().size());
+        return response;
+    }
+
+    private List<String> lexicalSearch(String query, int depth) {
+        NativeQuery nativeQuery = NativeQuery.builder()
+                .withQuery(q -> q.multiMatch(m -> m.query(query).fields(List.of(LEXICAL_FIELDS))))
+                .withPageable(PageRequest.of(0, depth))
+                .build();
+        return elasticsearchOperations.search(nativeQuery, JobDocument.class).getSearchHits().stream()
+                .map(SearchHit::getId)
+                .toList();
+    }
+
+    private List<String> vectorSearch(String query, int depth) {
+        float[] embedding = timed("embed", () -> embedQuery(query));
+        return timed("vector", () -> recommendationService.findSimilarJobIds(embedding, depth, false).stream()
+                .map(String::valueOf)
+                .toList());
+    }
+
+    /**
+     * Query vector from {@code embedding_cache}, so a repeated query costs a primary-key lookup instead of
+     * a provider call.
+     */
+    private float[] embedQuery(String query) {
+        String modelId = embeddingProvider.modelId();
+        String key = embeddingCache.key(modelId, query);
+        float[] cached = embeddingCache.getAll(List.of(key)).get(key);
+        if (cached != null) {
+            return cached;
+        }
+        float[] embedding = embeddingProvider.embed(List.of(query)).get(0);
+        embeddingCache.putAll(modelId, Map.of(key, embedding));
+        return embedding;
+    }
+
+    /**
+     * Reciprocal-rank fusion of two ranked id lists; ties keep the keyword order first. Hits carry an
+     * id-only document until {@link #hydrate}.
+     */
+    private List<HybridSearchResponse.Hit> fuse(List<String> lexicalIds, List<String> vectorIds) {
+        Map<String, HybridSearchResponse.Hit> hits = new LinkedHashMap<>();
+        for (int i = 0; i < lexicalIds.size(); i++) {
+            HybridSearchResponse.Hit hit = hits.computeIfAbsent(lexicalIds.get(i), HybridJobSearchService::newHit);
+            hit.setLexicalRank(i + 1);
+            hit.setScore(hit.getScore() + 1.0 / (rrfK + i + 1));
+        }
+        for (int i = 0; i < vectorIds.size(); i++) {
+            HybridSearchResponse.Hit hit = hits.computeIfAbsent(vectorIds.get(i), HybridJobSearchService::newHit);
+            hit.setVectorRank(i + 1);
+            hit.setScore(hit.getScore() + 1.0 / (rrfK + i + 1));
+        }
+
+        List<HybridSearchResponse.Hit> ordered = new ArrayList<>(hits.values());
+        ordered.sort(Comparator.comparingDouble(HybridSearchResponse.Hit::getScore).reversed());
+        return ordered;
+    }
+
+    private static HybridSearchResponse.Hit newHit(String id) {
+        JobDocument stub = new JobDocument();
+        stub.setId(id);
+        HybridSearchResponse.Hit hit = new HybridSearchResponse.Hit();
+        hit.setJob(stub);
+        return hit;
+    }
+
+    /**
+     * Replace the id-only stubs with full documents in one multi-get; hits whose document has been
+     * deleted from the index since retrieval are dropped.
+     */
+    private List<HybridSearchResponse.Hit> hydrate(List<HybridSearchResponse.Hit> hits) {
+        List<String> ids = hits.stream().map(hit -> hit.getJob().getId()).toList();
+        Map<String, JobDocument> documents = new HashMap<>();
+        jobSearchRepository.findAllById(ids).forEach(document -> documents.put(document.getId(), document));
+
+        List<HybridSearchResponse.Hit> hydrated = new ArrayList<>(hits.size());
+        for (HybridSearchResponse.Hit hit : hits) {
+            JobDocument document = documents.get(hit.getJob().getId());
+            if (document != null) {
+                hit.setJob(document);
+                hydrated.add(hit);
+            }
+        }
+        return hydrated;
+    }
+
+    private List<String> await(CompletableFuture<List<String>> future, long startNanos, long timeoutMs, String retriever) {
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - startNanos);
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("search.hybrid.timeouts", "retriever", retriever).increment();
+            log.warn("Hybrid search {} retriever exceeded its {} ms budget, returning partial results", retriever, timeoutMs);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.error("Hybrid search {} retriever failed: {}", retriever, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private <T> T timed(String stage, Supplier<T> supplier) {
+        return meterRegistry.timer("search.hybrid", "stage", stage).record(supplier);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,16 +1,47 @@
 package com.curtin.securehire.service.es;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeRelation;
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.curtin.securehire.dto.FacetedJobSearchResponse;
+import com.curtin.securehire.dto.JobFacetFilter;
 import com.curtin.securehire.entity.db.Job;
+import com.curtin.securehire.entity.db.Location;
 import com.curtin.securehire.entity.db.Skill;
 import com.curtin.securehire.entity.es.JobDocument;
-import com.curtin.securehire.repository.es.JobSearchRepository;
+import com.curtin.securehire.exception.ServiceUnavailableException;
+import com.curtin.securehire.repository.db.JobRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.Range;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,7 +49,41 @@ import java.util.stream.Collectors;
 public class JobSearchService {
 
     @Autowired
-    private JobSearchRepository jobSearchRepository;
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${search.suggest.size:10}")
+    private int suggestSize;
+
+    // Buckets returned per terms facet
+    @Value("${search.facets.size:20}")
+    private int facetSize;
+
+    @Value("${search.facets.salary-interval:20000}")
+    private int salaryInterval;
+
+    @Value("${search.facets.posted-days:1,7,30}")
+    private List<Integer> postedDays;
+
+    private static final String[] TEXT_FIELDS = {"title^3", "skills^2", "requirements", "description", "location"};
+
+    private static final String EMPLOYMENT_TYPE = "employmentType";
+    private static final String JOB_TYPE = "jobType";
+    private static final String LOCATION = "location";
+    private static final String SALARY = "salary";
+    private static final String POSTED = "posted";
+    private static final String VALUES = "values";
 
     /**
      * Index a single job in Elasticsearch
@@ -27,7 +92,8 @@ public class JobSearchService {
      */
     public void indexJob(Job job) {
         JobDocument document = convertToDocument(job);
-        jobSearchRepository.save(document);
+        searchBackend.index(List.of(document));
+        searchResultCache.invalidate(SearchDocumentType.JOB);
         log.info("Indexed job with ID: {}", job.getId());
     }
 
@@ -40,7 +106,8 @@ public class JobSearchService {
         List<JobDocument> documents = jobs.stream()
                 .map(this::convertToDocument)
                 .collect(Collectors.toList());
-        jobSearchRepository.saveAll(documents);
+        searchBackend.index(documents);
+        searchResultCache.invalidate(SearchDocumentType.JOB);
         log.info("Indexed {} jobs", jobs.size());
     }
 
@@ -64,10 +131,12 @@ public class JobSearchService {
         // If job has location information
         if (job.getLocation() != null) {
             document.setLocation(job.getLocation().getName());
+            setLocationAncestry(document, job.getLocation());
         }
 
         document.setEmploymentType(job.getEmployementType() != null ?
                 job.getEmployementType().name() : null);
+        document.setJobType(job.getJobType() != null ? job.getJobType().name() : null);
 
         List<Skill> allSkills =new ArrayList<>();
 
@@ -88,8 +157,8 @@ public class JobSearchService {
                 .collect(Collectors.joining(" "));
         document.setSkills(skills);
 
-        document.setPostedDate(LocalDate.ofInstant(job.getPostedDate().toInstant(), null));
-        document.setDeadlineDate(LocalDate.ofInstant(job.getDeadline().toInstant(), null));
+        document.setPostedDate(toLocalDate(job.getPostedDate()));
+        document.setDeadlineDate(toLocalDate(job.getDeadline()));
 
         // Set salary range if available
         if (job.getSalaryRange() != null) {
@@ -97,22 +166,43 @@ public class JobSearchService {
             Double max = job.getSalaryRange().getMax();
             document.setSalaryRangeLow(min.intValue());
             document.setSalaryRangeHigh(max.intValue());
+            document.setSalaryRange(Range.closed(min.intValue(), max.intValue()));
         }
 
 
         return document;
     }
 
+    /**
+     * Materialise the location hierarchy on the document: the ids of the location and all its ancestors,
+     * and the names from the root down. Walks {@code Location.parent} once at index time instead of a
+     * recursive CTE per query.
+     */
+    private static void setLocationAncestry(JobDocument document, Location location) {
+        List<String> ids = new ArrayList<>();
+        Deque<String> names = new ArrayDeque<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Location current = location; current != null && seen.add(current.getId()); current = current.getParent()) {
+            ids.add(String.valueOf(current.getId()));
+            names.addFirst(current.getName());
+        }
+        document.setLocationIds(ids);
+        document.setLocationPath(String.join(" > ", names));
+    }
+
     /**
      * Search for jobs based on a query string
      *
      * @param query The search query
+     * @param limit Maximum number of results
      * @return List of matching job documents
      */
-    public List<JobDocument> searchJobs(String query) {
+    public List<JobDocument> searchJobs(String query, int limit) {
         log.info("Searching jobs with query: {}", query);
-        return jobSearchRepository.findByTitleContainingOrDescriptionContainingOrSkillsContaining(
-                query, query, query);
+        return searchResultCache.get(SearchDocumentType.JOB, "search", query, List.of(limit),
+                () -> postgresSearchFallback.call("jobs",
+                        () -> searchBackend.search(JobDocument.class, query, limit),
+                        () -> searchDatabase(query, limit)));
     }
 
     /**
@@ -123,6 +213,212 @@ public class JobSearchService {
      */
     public List<JobDocument> suggestJobs(String prefix) {
         log.info("Getting job suggestions with prefix: {}", prefix);
-        return jobSearchRepository.findByTitleStartingWith(prefix);
+        return searchResultCache.get(SearchDocumentType.JOB, "suggest", prefix, List.of(suggestSize),
+                () -> postgresSearchFallback.call("jobs",
+                        () -> searchBackend.suggest(JobDocument.class, prefix, suggestSize),
+                        () -> suggestDatabase(prefix, suggestSize)));
+    }
+
+    /**
+     * Job search answered by Postgres full-text search instead of the search backend.
+     */
+    public List<JobDocument> searchDatabase(String query, int limit) {
+        return postgresSearchFallback.query(() -> jobRepository.searchFullText(query, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    private List<JobDocument> suggestDatabase(String prefix, int limit) {
+        String prefixQuery = PostgresSearchFallback.prefixQuery(prefix);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return postgresSearchFallback.query(() -> jobRepository.suggestFullText(prefixQuery, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * One page of jobs plus the facet counts for the search sidebar, in a single Elasticsearch request.
+     *
+     * <p>Facet selections are applied as a post-filter, so they narrow the hits but not the aggregations.
+     * Each facet is instead counted under all the other selections, which keeps the alternatives to a
+     * selected value visible with their real counts (e.g. picking FULL_TIME still shows how many
+     * CONTRACT jobs there are).</p>
+     *
+     * @param filter The query and facet selections
+     * @param page   Zero-based page number
+     * @param size   Page size
+     * @return The page of hits with buckets for every facet
+     * @throws ServiceUnavailableException while Elasticsearch is unavailable; Postgres has no facets
+     */
+    public FacetedJobSearchResponse facetedSearch(JobFacetFilter filter, int page, int size) {
+        log.info("Faceted job search with filter: {}, page: {}, size: {}", filter, page, size);
+        List<Object> params = Arrays.asList(sorted(filter.getEmploymentTypes()), sorted(filter.getJobTypes()),
+                sorted(filter.getLocations()), filter.getLocationId(), filter.getMinSalary(), filter.getMaxSalary(),
+                filter.getPostedWithinDays(), page, size);
+        return searchResultCache.get(SearchDocumentType.JOB, "faceted", filter.getQuery(), params,
+                () -> postgresSearchFallback.callOrUnavailable("faceted",
+                        () -> runFacetedSearch(filter, page, size)));
+    }
+
+    private FacetedJobSearchResponse runFacetedSearch(JobFacetFilter filter, int page, int size) {
+        Map<String, Query> selections = selections(filter);
+
+        NativeQuery.NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(withinLocation(textQuery(filter.getQuery()), filter.getLocationId()))
+                .withPageable(PageRequest.of(page, size))
+                .withAggregation(EMPLOYMENT_TYPE, facet(selections, EMPLOYMENT_TYPE,
+                        Aggregation.of(a -> a.terms(t -> t.field("employmentType").size(facetSize)))))
+                .withAggregation(JOB_TYPE, facet(selections, JOB_TYPE,
+                        Aggregation.of(a -> a.terms(t -> t.field("jobType").size(facetSize)))))
+                .withAggregation(LOCATION, facet(selections, LOCATION,
+                        Aggregation.of(a -> a.terms(t -> t.field("location.keyword").size(facetSize)))))
+                .withAggregation(SALARY, facet(selections, SALARY,
+                        Aggregation.of(a -> a.histogram(h -> h.field("salaryRange").interval((double) salaryInterval).minDocCount(1)))))
+                .withAggregation(POSTED, facet(selections, POSTED,
+                        Aggregation.of(a -> a.dateRange(d -> {
+                            d.field("postedDate");
+                            for (Integer days : postedDays) {
+                                d.ranges(r -> r.key(String.valueOf(days)).from(FieldDateMath.of(m -> m.expr("now-" + days + "d/d"))));
+                            }
+                            return d;
+                        }))));
+        if (!selections.isEmpty()) {
+            builder.withFilter(allExcept(selections, null));
+        }
+
+        SearchHits<JobDocument> hits = elasticsearchOperations.search(builder.build(), JobDocument.class);
+
+        FacetedJobSearchResponse response = new FacetedJobSearchResponse();
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotal(hits.getTotalHits());
+        response.setHits(hits.getSearchHits().stream().map(SearchHit::getContent).collect(Collectors.toList()));
+
+        Map<String, ElasticsearchAggregation> aggregations = hits.hasAggregations()
+                ? ((ElasticsearchAggregations) hits.getAggregations()).aggregationsAsMap()
+                : Map.of();
+        response.getFacets().put(EMPLOYMENT_TYPE, termBuckets(aggregations.get(EMPLOYMENT_TYPE)));
+        response.getFacets().put(JOB_TYPE, termBuckets(aggregations.get(JOB_TYPE)));
+        response.getFacets().put(LOCATION, termBuckets(aggregations.get(LOCATION)));
+        response.getFacets().put(SALARY, buckets(aggregations.get(SALARY), values -> values.histogram().buckets().array().stream()
+                .map(bucket -> bucket((int) bucket.key(), (int) bucket.key() + salaryInterval, bucket.docCount()))
+                .toList()));
+        response.getFacets().put(POSTED, buckets(aggregations.get(POSTED), values -> values.dateRange().buckets().array().stream()
+                .map(bucket -> bucket(bucket.key(), null, bucket.docCount()))
+                .toList()));
+
+        log.info("Faceted job search returned {} of {} jobs", response.getHits().size(), response.getTotal());
+        return response;
+    }
+
+    /**
+     * One filter per facet with a selection, keyed by facet name.
+     */
+    private Map<String, Query> selections(JobFacetFilter filter) {
+        Map<String, Query> selections = new LinkedHashMap<>();
+        if (filter.getEmploymentTypes() != null && !filter.getEmploymentTypes().isEmpty()) {
+            selections.put(EMPLOYMENT_TYPE, termsQuery("employmentType",
+                    filter.getEmploymentTypes().stream().map(Enum::name).toList()));
+        }
+        if (filter.getJobTypes() != null && !filter.getJobTypes().isEmpty()) {
+            selections.put(JOB_TYPE, termsQuery("jobType", filter.getJobTypes().stream().map(Enum::name).toList()));
+        }
+        if (filter.getLocations() != null && !filter.getLocations().isEmpty()) {
+            selections.put(LOCATION, termsQuery("location.keyword", filter.getLocations()));
+        }
+        Integer minSalary = filter.getMinSalary();
+        Integer maxSalary = filter.getMaxSalary();
+        if (minSalary != null || maxSalary != null) {
+            // Any overlap between the job's range and the requested one
+            selections.put(SALARY, Query.of(q -> q.range(r -> r.number(n -> {
+                n.field("salaryRange").relation(RangeRelation.Intersects);
+                if (minSalary != null) {
+                    n.gte(minSalary.doubleValue());
+                }
+                if (maxSalary != null) {
+                    n.lte(maxSalary.doubleValue());
+                }
+                return n;
+            }))));
+        }
+        if (filter.getPostedWithinDays() != null) {
+            String from = "now-" + filter.getPostedWithinDays() + "d/d";
+            selections.put(POSTED, Query.of(q -> q.range(r -> r.date(d -> d.field("postedDate").gte(from)))));
+        }
+        return selections;
+    }
+
+    // Selection order does not change the result, so it must not change the cache key
+    private static <T extends Comparable<? super T>> List<T> sorted(List<T> values) {
+        return values == null ? List.of() : values.stream().sorted().toList();
+    }
+
+    private static Query textQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        return Query.of(q -> q.multiMatch(m -> m.query(text).fields(List.of(TEXT_FIELDS))));
+    }
+
+    /**
+     * Restrict {@code query} to jobs at or under a location. Not a facet, so it narrows the facet counts too.
+     */
+    private static Query withinLocation(Query query, Integer locationId) {
+        if (locationId == null) {
+            return query;
+        }
+        return Query.of(q -> q.bool(b -> b
+                .must(query)
+                .filter(f -> f.term(t -> t.field("locationIds").value(String.valueOf(locationId))))));
+    }
+
+    private static Query termsQuery(String field, List<String> values) {
+        List<FieldValue> terms = values.stream().map(FieldValue::of).toList();
+        return Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(terms))));
+    }
+
+    private static Aggregation facet(Map<String, Query> selections, String name, Aggregation values) {
+        return Aggregation.of(a -> a.filter(allExcept(selections, name)).aggregations(VALUES, values));
+    }
+
+    private static Query allExcept(Map<String, Query> selections, String excluded) {
+        List<Query> filters = selections.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excluded))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (filters.isEmpty()) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        return Query.of(q -> q.bool(b -> b.filter(filters)));
+    }
+
+    private static List<FacetedJobSearchResponse.Bucket> termBuckets(ElasticsearchAggregation aggregation) {
+        return buckets(aggregation, values -> values.sterms().buckets().array().stream()
+                .map(bucket -> bucket(bucket.key().stringValue(), null, bucket.docCount()))
+                .toList());
+    }
+
+    private static List<FacetedJobSearchResponse.Bucket> buckets(ElasticsearchAggregation aggregation,
+                                                                 Function<Aggregate, List<FacetedJobSearchResponse.Bucket>> read) {
+        if (aggregation == null) {
+            return new ArrayList<>();
+        }
+        Aggregate values = aggregation.aggregation().getAggregate().filter().aggregations().get(VALUES);
+        return values == null ? new ArrayList<>() : new ArrayList<>(read.apply(values));
+    }
+
+    private static FacetedJobSearchResponse.Bucket bucket(Object key, Integer to, long count) {
+        FacetedJobSearchResponse.Bucket bucket = new FacetedJobSearchResponse.Bucket();
+        bucket.setKey(String.valueOf(key));
+        bucket.setTo(to);
+        bucket.setCount(count);
+        return bucket;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        // getTime() rather than toInstant(), which java.sql.Date does not support
+        return date != null ? Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate() : null;
     }
 }
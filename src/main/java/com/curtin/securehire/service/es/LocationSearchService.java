@@ -1,10 +1,13 @@
 package com.curtin.securehire.service.es;
 
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Location;
 import com.curtin.securehire.entity.es.LocationDocument;
-import com.curtin.securehire.repository.es.LocationSearchRepository;
+import com.curtin.securehire.repository.db.LocationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +18,24 @@ import java.util.stream.Collectors;
 public class LocationSearchService {
 
     @Autowired
-    private LocationSearchRepository locationSearchRepository;
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${search.suggest.size:10}")
+    private int suggestSize;
 
     public void indexLocation(Location location) {
         LocationDocument document = convertToDocument(location);
-        locationSearchRepository.save(document);
+        searchBackend.index(List.of(document));
+        searchResultCache.invalidate(SearchDocumentType.LOCATION);
         log.info("Indexed location with ID: {}", location.getId());
     }
 
@@ -27,21 +43,47 @@ public class LocationSearchService {
         List<LocationDocument> documents = locations.stream()
                 .map(this::convertToDocument)
                 .collect(Collectors.toList());
-        locationSearchRepository.saveAll(documents);
+        searchBackend.index(documents);
+        searchResultCache.invalidate(SearchDocumentType.LOCATION);
         log.info("Indexed {} locations", locations.size());
     }
 
-    public List<LocationDocument> searchLocations(String query) {
+    public List<LocationDocument> searchLocations(String query, int limit) {
         log.info("Searching locations with query: {}", query);
-        return locationSearchRepository.findByNameContaining(query);
+        return searchResultCache.get(SearchDocumentType.LOCATION, "search", query, List.of(limit),
+                () -> postgresSearchFallback.call("locations",
+                        () -> searchBackend.search(LocationDocument.class, query, limit),
+                        () -> searchDatabase(query, limit)));
     }
 
     public List<LocationDocument> suggestLocations(String prefix) {
         log.info("Getting location suggestions with prefix: {}", prefix);
-        return locationSearchRepository.findByNameStartingWith(prefix);
+        return searchResultCache.get(SearchDocumentType.LOCATION, "suggest", prefix, List.of(suggestSize),
+                () -> postgresSearchFallback.call("locations",
+                        () -> searchBackend.suggest(LocationDocument.class, prefix, suggestSize),
+                        () -> suggestDatabase(prefix, suggestSize)));
+    }
+
+    /**
+     * Location search answered by Postgres full-text search instead of the search backend.
+     */
+    public List<LocationDocument> searchDatabase(String query, int limit) {
+        return postgresSearchFallback.query(() -> locationRepository.searchFullText(query, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    private List<LocationDocument> suggestDatabase(String prefix, int limit) {
+        String prefixQuery = PostgresSearchFallback.prefixQuery(prefix);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return postgresSearchFallback.query(() -> locationRepository.suggestFullText(prefixQuery, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
     }
 
-    private LocationDocument convertToDocument(Location location) {
+    public LocationDocument convertToDocument(Location location) {
         LocationDocument document = new LocationDocument();
         Integer id = location.getId();
         document.setId(id.toString());
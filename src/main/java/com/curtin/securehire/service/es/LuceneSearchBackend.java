@@ -0,0 +1,466 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.entity.es.*;
+import com.curtin.securehire.exception.BadRequestException;
+import com.curtin.securehire.service.es.CrossEntitySearchService.Section;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherLifetimeManager;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SearchBackend} on Lucene indexes embedded in the application, one per entity type under
+ * {@code search.lucene.path}, named after the Elasticsearch alias.
+ *
+ * <p>Indexes are memory-mapped ({@link MMapDirectory}) and searched through near-real-time readers from
+ * the live {@link IndexWriter}: the {@link SearcherManager} is refreshed after every write batch, so a
+ * document is searchable as soon as {@link #index} returns. Making writes durable is the expensive part
+ * (an fsync of every new segment), so it is done every {@code search.lucene.commit-interval-ms} and at
+ * shutdown instead. An index that was not closed cleanly may have lost its last uncommitted writes,
+ * which a document count cannot reveal, so it is emptied at startup and re-indexed by the bootstrap.
+ * Documents are stored as the same JSON source Elasticsearch would hold and read back with the same
+ * converter.</p>
+ *
+ * <p>{@link #searchPage} pins the searcher its first page ran on in a {@link SearcherLifetimeManager}
+ * and continues from the previous page's last hit with {@code searchAfter}, so every page of a cursor
+ * sees the same point-in-time view, like an Elasticsearch PIT. A pinned searcher is dropped
+ * {@code search.cursor.keep-alive} after a newer one replaced it, which expires its cursors.</p>
+ *
+ * <p>Text fields use Lucene's {@code StandardAnalyzer}, which is the ES {@code standard} analyzer;
+ * {@code .autocomplete} fields use the chains from {@code autocomplete-settings.json}.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.backend", havingValue = "lucene")
+public class LuceneSearchBackend implements SearchBackend {
+
+    private static final String ID = "_id";
+
+    private static final String SOURCE = "_source";
+
+    private static final String AUTOCOMPLETE = ".autocomplete";
+
+    // Commit user data: "true" only in the commit made while closing the writer
+    private static final String CLEAN_SHUTDOWN = "cleanShutdown";
+
+    // Fields the repositories' suggestBy... queries match through their .autocomplete sub-fields
+    private static final Map<Class<?>, List<String>> SUGGEST_FIELDS = Map.of(
+            CandidateDocument.class, List.of("firstName", "lastName"),
+            RecruiterDocument.class, List.of("companyName"),
+            SkillDocument.class, List.of("name"),
+            LocationDocument.class, List.of("name"),
+            JobDocument.class, List.of("title"));
+
+    @Autowired
+    private ElasticsearchConverter elasticsearchConverter;
+
+    @Autowired
+    private SearchCursorCodec searchCursorCodec;
+
+    @Value("${search.lucene.path:data/lucene}")
+    private String path;
+
+    @Value("${search.cursor.keep-alive:1m}")
+    private Duration keepAlive;
+
+    private final Map<Class<?>, LuceneIndex> indexes = new HashMap<>();
+
+    private Analyzer standard;
+
+    private Analyzer autocomplete;
+
+    private Analyzer autocompleteSearch;
+
+    @PostConstruct
+    public void init() throws IOException {
+        standard = new StandardAnalyzer();
+        autocomplete = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(ASCIIFoldingFilterFactory.class)
+                .addTokenFilter(EdgeNGramFilterFactory.class, "minGramSize", "1", "maxGramSize", "20")
+                .build();
+        autocompleteSearch = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(ASCIIFoldingFilterFactory.class)
+                .build();
+
+        for (Section section : Section.values()) {
+            Class<?> type = section.getDocumentClass();
+            List<String> suggestFields = SUGGEST_FIELDS.get(type);
+            Map<String, Analyzer> analyzers = new HashMap<>();
+            for (String field : suggestFields) {
+                analyzers.put(field + AUTOCOMPLETE, autocomplete);
+            }
+
+            Directory directory = new MMapDirectory(Path.of(path, section.getIndex()));
+            IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new PerFieldAnalyzerWrapper(standard, analyzers))
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            recoverUncleanShutdown(section, writer);
+            SearcherManager searcherManager = new SearcherManager(writer, null);
+            indexes.put(type, new LuceneIndex(section.getFields(), suggestFields, directory, writer, searcherManager,
+                    new SearcherLifetimeManager()));
+            log.info("Opened Lucene index {} with {} documents", section.getIndex(), writer.getDocStats().numDocs);
+        }
+    }
+
+    @Override
+    public void index(List<?> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Class<?> type = documents.get(0).getClass();
+        LuceneIndex index = index(type);
+        ElasticsearchPersistentEntity<?> entity = elasticsearchConverter.getMappingContext().getRequiredPersistentEntity(type);
+        try {
+            for (Object document : documents) {
+                String id = String.valueOf(entity.getIdentifierAccessor(document).getRequiredIdentifier());
+                index.writer().updateDocument(new Term(ID, id), toLucene(index, id, document));
+            }
+            index.searcherManager().maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index " + documents.size() + " " + type.getSimpleName() + " documents", e);
+        }
+    }
+
+    @Override
+    public void delete(Class<?> type, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LuceneIndex index = index(type);
+        try {
+            index.writer().deleteDocuments(ids.stream().map(id -> new Term(ID, id)).toArray(Term[]::new));
+            index.searcherManager().maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + ids.size() + " " + type.getSimpleName() + " documents", e);
+        }
+    }
+
+    @Override
+    public <T> List<T> search(Class<T> type, String query, int limit) {
+        LuceneIndex index = index(type);
+        Query containing = containing(index, query);
+        return containing != null ? run(type, index, containing, limit) : List.of();
+    }
+
+    @Override
+    public <T> SearchPage<T> searchPage(Class<T> type, String query, int size, String cursor) {
+        LuceneIndex index = index(type);
+        Cursor from = cursor != null ? decode(cursor, query) : null;
+        Query containing = containing(index, query);
+        if (containing == null) {
+            return new SearchPage<>();
+        }
+        SearcherLifetimeManager searchers = index.searchers();
+        try {
+            searchers.prune(new SearcherLifetimeManager.PruneByAge(keepAlive.toMillis() / 1000.0));
+            IndexSearcher searcher;
+            long version;
+            if (from == null) {
+                IndexSearcher current = index.searcherManager().acquire();
+                try {
+                    version = searchers.record(current);
+                } finally {
+                    index.searcherManager().release(current);
+                }
+                searcher = searchers.acquire(version);
+            } else {
+                version = from.version();
+                searcher = searchers.acquire(version);
+            }
+            if (searcher == null) {
+                throw new BadRequestException("Cursor is invalid or has expired; start the search again");
+            }
+            try {
+                TopDocs top = from == null
+                        ? searcher.search(containing, size + 1)
+                        : searcher.searchAfter(new ScoreDoc(from.doc(), from.score()), containing, size + 1);
+                StoredFields storedFields = searcher.storedFields();
+                SearchPage<T> page = new SearchPage<>();
+                for (int i = 0; i < Math.min(size, top.scoreDocs.length); i++) {
+                    page.getItems().add(read(type, storedFields.document(top.scoreDocs[i].doc)));
+                }
+                if (top.scoreDocs.length > size) {
+                    ScoreDoc last = top.scoreDocs[size - 1];
+                    page.setNextCursor(searchCursorCodec.encode(new Cursor(version, last.doc, last.score, query)));
+                }
+                return page;
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene search on " + type.getSimpleName() + " failed", e);
+        }
+    }
+
+    /**
+     * Every word of {@code prefix} must be an edge n-gram of some suggestion field, like the
+     * {@code operator: and} (cross_fields for candidates) matches in the repositories.
+     */
+    @Override
+    public <T> List<T> suggest(Class<T> type, String prefix, int limit) {
+        LuceneIndex index = index(type);
+        List<String> words = analyze(autocompleteSearch, prefix);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+        for (String word : words) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (String field : index.suggestFields()) {
+                anyField.add(new TermQuery(new Term(field + AUTOCOMPLETE, word)), Occur.SHOULD);
+            }
+            allWords.add(anyField.build(), Occur.MUST);
+        }
+        return run(type, index, allWords.build(), limit);
+    }
+
+    @Override
+    public long count(Class<?> type) {
+        LuceneIndex index = index(type);
+        try {
+            index.searcherManager().maybeRefreshBlocking();
+            IndexSearcher searcher = index.searcherManager().acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                index.searcherManager().release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene count on " + type.getSimpleName() + " failed", e);
+        }
+    }
+
+    /**
+     * Commit the writes made since the last commit, so a crash loses at most one interval of them.
+     */
+    @Scheduled(fixedDelayString = "${search.lucene.commit-interval-ms:60000}")
+    public void commitPending() {
+        for (LuceneIndex index : indexes.values()) {
+            try {
+                if (index.writer().hasUncommittedChanges()) {
+                    index.writer().commit();
+                }
+            } catch (IOException e) {
+                log.error("Failed to commit Lucene index {}: {}", index.directory(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (LuceneIndex index : indexes.values()) {
+            try {
+                index.searchers().close();
+                index.searcherManager().close();
+                index.writer().setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "true").entrySet());
+                index.writer().commit();
+                index.writer().close();
+                index.directory().close();
+            } catch (IOException e) {
+                log.error("Failed to close Lucene index {}: {}", index.directory(), e.getMessage(), e);
+            }
+        }
+        standard.close();
+        autocomplete.close();
+        autocompleteSearch.close();
+    }
+
+    /**
+     * Every word of {@code query} as a {@code *word*} wildcard, all required within one field, any field
+     * matching; the same query Spring Data builds for the {@code ...Containing} finders. Null if
+     * {@code query} has no words.
+     */
+    private Query containing(LuceneIndex index, String query) {
+        List<String> words = analyze(standard, query);
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        for (String field : index.fields()) {
+            BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+            for (String word : words) {
+                allWords.add(new WildcardQuery(new Term(field, "*" + escapeWildcard(word) + "*")), Occur.MUST);
+            }
+            anyField.add(allWords.build(), Occur.SHOULD);
+        }
+        return anyField.build();
+    }
+
+    private Cursor decode(String cursor, String query) {
+        Cursor decoded = searchCursorCodec.decode(cursor, Cursor.class);
+        if (!query.equals(decoded.query())) {
+            throw new BadRequestException("Cursor does not belong to this query");
+        }
+        return decoded;
+    }
+
+    private <T> List<T> run(Class<T> type, LuceneIndex index, Query query, int limit) {
+        try {
+            IndexSearcher searcher = index.searcherManager().acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<T> results = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    results.add(read(type, storedFields.document(hit.doc)));
+                }
+                return results;
+            } finally {
+                index.searcherManager().release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lucene search on " + type.getSimpleName() + " failed", e);
+        }
+    }
+
+    private Document toLucene(LuceneIndex index, String id, Object document) {
+        org.springframework.data.elasticsearch.core.document.Document source = elasticsearchConverter.mapObject(document);
+        Document lucene = new Document();
+        lucene.add(new StringField(ID, id, Field.Store.YES));
+        lucene.add(new StoredField(SOURCE, source.toJson()));
+        for (String field : index.fields()) {
+            addText(lucene, field, source.get(field));
+        }
+        for (String field : index.suggestFields()) {
+            addText(lucene, field + AUTOCOMPLETE, source.get(field));
+        }
+        return lucene;
+    }
+
+    private <T> T read(Class<T> type, Document stored) {
+        org.springframework.data.elasticsearch.core.document.Document source =
+                org.springframework.data.elasticsearch.core.document.Document.parse(stored.get(SOURCE));
+        source.setId(stored.get(ID));
+        return elasticsearchConverter.read(type, source);
+    }
+
+    private static void addText(Document lucene, String field, Object value) {
+        if (value instanceof Collection<?> values) {
+            values.forEach(each -> addText(lucene, field, each));
+        } else if (value != null) {
+            lucene.add(new TextField(field, value.toString(), Field.Store.NO));
+        }
+    }
+
+    private static List<String> analyze(Analyzer analyzer, String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        try (TokenStream stream = analyzer.tokenStream("", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static String escapeWildcard(String word) {
+        StringBuilder escaped = new StringBuilder(word.length());
+        for (char c : word.toCharArray()) {
+            if (c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR || c == WildcardQuery.WILDCARD_ESCAPE) {
+                escaped.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Empty the index if its last commit was not made by {@link #close}, then mark it as open.
+     */
+    private static void recoverUncleanShutdown(Section section, IndexWriter writer) throws IOException {
+        boolean clean = false;
+        Iterable<Map.Entry<String, String>> committed = writer.getLiveCommitData();
+        if (committed != null) {
+            for (Map.Entry<String, String> entry : committed) {
+                clean |= CLEAN_SHUTDOWN.equals(entry.getKey()) && "true".equals(entry.getValue());
+            }
+        }
+        if (!clean && writer.getDocStats().numDocs > 0) {
+            log.warn("Lucene index {} was not closed cleanly and may have lost writes; emptying it for a full re-index",
+                    section.getIndex());
+            writer.deleteAll();
+        }
+        writer.setLiveCommitData(Map.of(CLEAN_SHUTDOWN, "false").entrySet());
+        writer.commit();
+    }
+
+    private LuceneIndex index(Class<?> type) {
+        LuceneIndex index = indexes.get(type);
+        if (index == null) {
+            throw new IllegalArgumentException("No Lucene index for " + type.getSimpleName());
+        }
+        return index;
+    }
+
+    private record LuceneIndex(List<String> fields,
+                               List<String> suggestFields,
+                               Directory directory,
+                               IndexWriter writer,
+                               SearcherManager searcherManager,
+                               SearcherLifetimeManager searchers) {
+    }
+
+    /**
+     * The pinned searcher's {@code version} and the previous page's last hit.
+     */
+    record Cursor(long version, int doc, float score, String query) {
+    }
+}
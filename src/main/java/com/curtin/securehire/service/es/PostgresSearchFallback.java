@@ -0,0 +1,177 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.exception.BadRequestException;
+import com.curtin.securehire.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Circuit breaker in front of Elasticsearch searches, answering from Postgres full-text search when
+ * the cluster is failing or slow.
+ *
+ * <p>Over the last {@code window-size} calls, once {@code failure-rate-threshold} percent fail or
+ * {@code slow-call-rate-threshold} percent take longer than {@code slow-call-duration-ms}, the breaker
+ * opens and every search goes straight to Postgres for {@code open-duration}; a few trial calls then
+ * decide whether to close it again. A failed call is answered from Postgres even while the breaker is
+ * closed. {@link BadRequestException} (bad cursors and the like) is the caller's problem, not the
+ * cluster's, and is rethrown. Results answered from Postgres are kept out of {@link SearchResultCache}.
+ * Searches with no Postgres equivalent use {@link #callOrUnavailable} and fail with a 503 instead.</p>
+ *
+ * <p>Only applies with {@code search.backend=elasticsearch}. Metrics: {@code search.fallback} and
+ * {@code search.unavailable} tagged {@code source} and {@code reason=open|error}, and {@code search.circuit.state} (0 closed, 1 open,
+ * 2 half-open).</p>
+ */
+@Slf4j
+@Service
+public class PostgresSearchFallback {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${search.fallback.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.fallback.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${search.fallback.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold;
+
+    @Value("${search.fallback.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs;
+
+    @Value("${search.fallback.window-size:20}")
+    private int windowSize;
+
+    @Value("${search.fallback.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${search.fallback.open-duration:30s}")
+    private Duration openDuration;
+
+    private CircuitBreaker circuitBreaker;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void init() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreExceptions(BadRequestException.class)
+                .build();
+        circuitBreaker = CircuitBreaker.of("elasticsearch", config);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Elasticsearch circuit breaker {}", event.getStateTransition()));
+        Gauge.builder("search.circuit.state", () -> switch (circuitBreaker.getState()) {
+            case OPEN, FORCED_OPEN -> 1;
+            case HALF_OPEN -> 2;
+            default -> 0;
+        }).register(meterRegistry);
+
+        readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Run {@code elasticsearch} through the breaker, or {@code postgres} if the breaker is open or the
+     * call fails.
+     *
+     * @param source entity type or endpoint, for logs and metrics
+     */
+    public <T> T call(String source, Supplier<T> elasticsearch, Supplier<T> postgres) {
+        if (!enabled || !(searchBackend instanceof ElasticsearchSearchBackend)) {
+            return elasticsearch.get();
+        }
+        try {
+            return circuitBreaker.executeSupplier(elasticsearch);
+        } catch (CallNotPermittedException e) {
+            meterRegistry.counter("search.fallback", "source", source, "reason", "open").increment();
+            searchResultCache.skipCaching();
+            return postgres.get();
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Elasticsearch {} search failed, answering from Postgres: {}", source, e.getMessage());
+            meterRegistry.counter("search.fallback", "source", source, "reason", "error").increment();
+            searchResultCache.skipCaching();
+            return postgres.get();
+        }
+    }
+
+    /**
+     * Run {@code elasticsearch} through the breaker, for searches Postgres cannot answer.
+     *
+     * @param source endpoint, for logs and metrics
+     * @throws ServiceUnavailableException if the breaker is open or the call fails
+     */
+    public <T> T callOrUnavailable(String source, Supplier<T> elasticsearch) {
+        if (!enabled || !(searchBackend instanceof ElasticsearchSearchBackend)) {
+            return elasticsearch.get();
+        }
+        try {
+            return circuitBreaker.executeSupplier(elasticsearch);
+        } catch (CallNotPermittedException e) {
+            meterRegistry.counter("search.unavailable", "source", source, "reason", "open").increment();
+            throw new ServiceUnavailableException("Search is temporarily unavailable; try again shortly", e);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Elasticsearch {} search failed with no fallback: {}", source, e.getMessage());
+            meterRegistry.counter("search.unavailable", "source", source, "reason", "error").increment();
+            throw new ServiceUnavailableException("Search is temporarily unavailable; try again shortly", e);
+        }
+    }
+
+    /**
+     * Run a Postgres search in a read-only transaction, so document converters can walk lazy
+     * associations.
+     */
+    public <T> T query(Supplier<T> search) {
+        return readOnly.execute(status -> search.get());
+    }
+
+    /**
+     * {@code tsquery} matching names with words starting with each word of {@code prefix}, e.g.
+     * {@code "Jav dev"} becomes {@code jav:*A & dev:*A}. Empty if there are no words.
+     */
+    public static String prefixQuery(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        return Arrays.stream(prefix.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*A")
+                .collect(Collectors.joining(" & "));
+    }
+}
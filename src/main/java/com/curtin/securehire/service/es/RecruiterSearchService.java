@@ -1,10 +1,13 @@
 package com.curtin.securehire.service.es;
 
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Recruiter;
 import com.curtin.securehire.entity.es.RecruiterDocument;
-import com.curtin.securehire.repository.es.RecruiterSearchRepository;
+import com.curtin.securehire.repository.db.RecruiterRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +18,24 @@ import java.util.stream.Collectors;
 public class RecruiterSearchService {
 
     @Autowired
-    private RecruiterSearchRepository recruiterSearchRepository;
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private RecruiterRepository recruiterRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${search.suggest.size:10}")
+    private int suggestSize;
 
     public void indexRecruiter(Recruiter recruiter) {
         RecruiterDocument document = convertToDocument(recruiter);
-        recruiterSearchRepository.save(document);
+        searchBackend.index(List.of(document));
+        searchResultCache.invalidate(SearchDocumentType.RECRUITER);
         log.info("Indexed recruiter with ID: {}", recruiter.getId());
     }
 
@@ -27,21 +43,47 @@ public class RecruiterSearchService {
         List<RecruiterDocument> documents = recruiters.stream()
                 .map(this::convertToDocument)
                 .collect(Collectors.toList());
-        recruiterSearchRepository.saveAll(documents);
+        searchBackend.index(documents);
+        searchResultCache.invalidate(SearchDocumentType.RECRUITER);
         log.info("Indexed {} recruiters", recruiters.size());
     }
 
-    public List<RecruiterDocument> searchRecruiters(String query) {
+    public List<RecruiterDocument> searchRecruiters(String query, int limit) {
         log.info("Searching recruiters with query: {}", query);
-        return recruiterSearchRepository.findByCompanyNameContainingOrEmailContaining(query, query);
+        return searchResultCache.get(SearchDocumentType.RECRUITER, "search", query, List.of(limit),
+                () -> postgresSearchFallback.call("recruiters",
+                        () -> searchBackend.search(RecruiterDocument.class, query, limit),
+                        () -> searchDatabase(query, limit)));
     }
 
     public List<RecruiterDocument> suggestRecruiters(String prefix) {
         log.info("Getting recruiter suggestions with prefix: {}", prefix);
-        return recruiterSearchRepository.findByCompanyNameStartingWith(prefix);
+        return searchResultCache.get(SearchDocumentType.RECRUITER, "suggest", prefix, List.of(suggestSize),
+                () -> postgresSearchFallback.call("recruiters",
+                        () -> searchBackend.suggest(RecruiterDocument.class, prefix, suggestSize),
+                        () -> suggestDatabase(prefix, suggestSize)));
+    }
+
+    /**
+     * Recruiter search answered by Postgres full-text search instead of the search backend.
+     */
+    public List<RecruiterDocument> searchDatabase(String query, int limit) {
+        return postgresSearchFallback.query(() -> recruiterRepository.searchFullText(query, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    private List<RecruiterDocument> suggestDatabase(String prefix, int limit) {
+        String prefixQuery = PostgresSearchFallback.prefixQuery(prefix);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return postgresSearchFallback.query(() -> recruiterRepository.suggestFullText(prefixQuery, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
     }
 
-    private RecruiterDocument convertToDocument(Recruiter recruiter) {
+    public RecruiterDocument convertToDocument(Recruiter recruiter) {
         RecruiterDocument document = new RecruiterDocument();
         Integer id = recruiter.getId();
         document.setId(id.toString());
@@ -5,6 +5,7 @@ import com.curtin.securehire.entity.es.ResumeDocument;
 import com.curtin.securehire.repository.es.ResumeSearchRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -43,10 +44,10 @@ public class ResumeSearchService {
         return document;
     }
 
-    public List<ResumeDocument> searchResumes(String query) {
+    public List<ResumeDocument> searchResumes(String query, int limit) {
         log.info("Searching resumes with query: {}", query);
         return resumeSearchRepository.findByContentContainingOrNameContainingOrSkillsContaining(
-                query, query, query);
+                query, query, query, PageRequest.of(0, limit));
     }
 
     public List<ResumeDocument> suggestResumes(String prefix) {
@@ -0,0 +1,56 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Where entity search documents are stored and queried, selected with {@code search.backend}.
+ *
+ * <p>{@code elasticsearch} (the default) is the cluster configured in {@code ElasticsearchConfig};
+ * {@code lucene} keeps the same documents in local Lucene indexes inside the application, for
+ * single-node deployments that should not need a cluster. Both return the same matches: {@link #search}
+ * is the repositories' {@code ...Containing} finders and {@link #suggest} the edge-n-gram
+ * {@code .autocomplete} match.</p>
+ *
+ * <p>Only the per-entity search, cursor paging, suggestion and sync paths go through a backend. Faceted
+ * and hybrid job search, resumes and blue/green rebuilds stay Elasticsearch-only.</p>
+ */
+public interface SearchBackend {
+
+    /**
+     * Add or replace documents, matched by id. All documents must be of one document class.
+     */
+    void index(List<?> documents);
+
+    /**
+     * Remove documents of {@code type} by id; unknown ids are ignored.
+     */
+    void delete(Class<?> type, List<String> ids);
+
+    /**
+     * Documents with any search field containing {@code query}, best first.
+     */
+    <T> List<T> search(Class<T> type, String query, int limit);
+
+    /**
+     * One page of the same matches as {@link #search}, best first. The cursor is opaque to callers and
+     * only valid for the same {@code type} and {@code query}.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @throws BadRequestException if the cursor is malformed, belongs to another query or has expired
+     */
+    <T> SearchPage<T> searchPage(Class<T> type, String query, int size, String cursor);
+
+    /**
+     * Documents whose suggestion field(s) have words starting with every word of {@code prefix}.
+     */
+    <T> List<T> suggest(Class<T> type, String prefix, int limit);
+
+    /**
+     * Number of documents of {@code type}, including any written just before the call. Compared with
+     * the row count at startup to decide whether an index needs a full pass.
+     */
+    long count(Class<?> type);
+}
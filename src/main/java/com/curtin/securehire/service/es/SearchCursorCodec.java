@@ -0,0 +1,39 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Turns a {@link SearchBackend}'s paging state into the opaque {@code nextCursor} string handed to
+ * clients and back: JSON, base64url-encoded. What the state holds is up to each backend.
+ */
+@Component
+public class SearchCursorCodec {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public String encode(Object cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    /**
+     * @throws BadRequestException if {@code cursor} is not a cursor of this type
+     */
+    public <C> C decode(String cursor, Class<C> type) {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), type);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
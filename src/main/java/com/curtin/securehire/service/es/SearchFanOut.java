@@ -0,0 +1,127 @@
+package com.curtin.securehire.service.es;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the per-index queries behind the aggregate search and suggestion endpoints concurrently.
+ *
+ * <p>Every source of a {@link Batch} starts at once on its own virtual thread and is awaited against a
+ * deadline measured from the start of the batch, so the response takes about as long as the slowest
+ * source that finishes in time. A source that fails or misses the deadline contributes an empty list
+ * and is named in {@link Batch#getPartialSources()} instead of failing the request.</p>
+ *
+ * <p>Late sources are counted in {@code search.fanout.timeouts}, tagged {@code endpoint} and
+ * {@code source}.</p>
+ */
+@Slf4j
+@Service
+public class SearchFanOut {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.fanout.suggest-timeout-ms:200}")
+    private long suggestTimeoutMs;
+
+    @Value("${search.fanout.search-timeout-ms:1000}")
+    private long searchTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Start a batch under the type-ahead deadline.
+     */
+    public Batch suggestions() {
+        return new Batch("suggest", suggestTimeoutMs);
+    }
+
+    /**
+     * Start a batch under the full-text search deadline.
+     */
+    public Batch search() {
+        return new Batch("search", searchTimeoutMs);
+    }
+
+    public final class Batch {
+
+        private final String endpoint;
+        private final long timeoutMs;
+        private final long startNanos = System.nanoTime();
+        private final List<String> partialSources = new ArrayList<>();
+
+        private Batch(String endpoint, long timeoutMs) {
+            this.endpoint = endpoint;
+            this.timeoutMs = timeoutMs;
+        }
+
+        /**
+         * Start one source; call {@link Source#get()} on the request thread once all are submitted.
+         */
+        public <T> Source<T> submit(String name, Supplier<List<T>> query) {
+            return new Source<>(this, name, CompletableFuture.supplyAsync(query, executor));
+        }
+
+        /**
+         * Sources awaited so far that failed or missed the deadline.
+         */
+        public List<String> getPartialSources() {
+            return partialSources;
+        }
+
+        public boolean isPartial() {
+            return !partialSources.isEmpty();
+        }
+    }
+
+    public final class Source<T> {
+
+        private final Batch batch;
+        private final String name;
+        private final CompletableFuture<List<T>> future;
+
+        private Source(Batch batch, String name, CompletableFuture<List<T>> future) {
+            this.batch = batch;
+            this.name = name;
+            this.future = future;
+        }
+
+        /**
+         * The source's results, or an empty list if it failed or is still running at the deadline.
+         */
+        public List<T> get() {
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(batch.timeoutMs) - (System.nanoTime() - batch.startNanos);
+                return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                meterRegistry.counter("search.fanout.timeouts", "endpoint", batch.endpoint, "source", name).increment();
+                log.warn("{} source {} exceeded its {} ms budget, returning partial results", batch.endpoint, name, batch.timeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("{} source {} failed: {}", batch.endpoint, name, e.getMessage(), e);
+            }
+            batch.partialSources.add(name);
+            return List.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.constant.SearchBootstrapState;
+import com.curtin.securehire.constant.SearchDocumentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code searchIndex} health: OUT_OF_SERVICE while the startup bootstrap in
+ * {@link ElasticsearchSyncService} is still checking or loading an index, UP otherwise. A failed
+ * bootstrap only shows in the details: searches are then answered from Postgres
+ * ({@link PostgresSearchFallback}) and the scheduled sync retries the index, so holding readiness back
+ * would take every node, and every non-search endpoint, out of the load balancer for an Elasticsearch
+ * outage.
+ *
+ * <p>Meant for the readiness group only, to hold traffic back until search results are complete. The
+ * root {@code /actuator/health} ranks OUT_OF_SERVICE below UP (see {@code application.yml}), so a
+ * bootstrap never fails a liveness-style check of the whole application.</p>
+ */
+@Component
+public class SearchIndexHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private ElasticsearchSyncService elasticsearchSyncService;
+
+    @Override
+    public Health health() {
+        Map<SearchDocumentType, SearchBootstrapState> states = elasticsearchSyncService.getBootstrapStates();
+        Status status;
+        if (states.containsValue(SearchBootstrapState.PENDING) || states.containsValue(SearchBootstrapState.RUNNING)) {
+            status = Status.OUT_OF_SERVICE;
+        } else {
+            status = Status.UP;
+        }
+        Health.Builder health = Health.status(status);
+        states.forEach((type, state) -> health.withDetail(type.name().toLowerCase(), state));
+        Map<SearchDocumentType, String> errors = elasticsearchSyncService.getBootstrapErrors();
+        if (!errors.isEmpty()) {
+            health.withDetail("errors", errors);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,303 @@
+package com.curtin.securehire.service.es;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.json.JsonData;
+import com.curtin.securehire.entity.es.*;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned Elasticsearch indexes behind stable aliases.
+ *
+ * <p>Every document class is bound to an alias ({@code jobs}, {@code candidates}, ...) that points at
+ * exactly one concrete index {@code <alias>_v<N>}; repositories read and write through the alias and
+ * never create indexes themselves. A rebuild creates the next version with no replicas and refresh
+ * disabled, bulk-loads it, restores replicas and refresh, and then moves the alias in a single
+ * {@code _aliases} request, so queries only ever see a complete index. The previous
+ * {@code retained-versions} indexes are kept for rollback; older ones are deleted.</p>
+ *
+ * <p>An index created by older code under the alias name itself is left in place until the first
+ * rebuild, which removes it in the same request that creates the alias.</p>
+ *
+ * <p>Each version records a hash of its settings and mapping in the mapping {@code _meta}. When the
+ * document class no longer matches the live index (a new field or analyzer), the alias is flagged at
+ * startup and rebuilt like a legacy index.</p>
+ *
+ * <p>Nodes starting together on a fresh cluster all try to create the first version. It always gets the
+ * name {@code <alias>_v1}, so only one create succeeds; the others find the index and only point the alias
+ * at it.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "search.backend", havingValue = "elasticsearch", matchIfMissing = true)
+public class SearchIndexManager {
+
+    private static final String DEFINITION_HASH = "definition_hash";
+
+    // Only types the sync and rebuild load; resumes keep their plain index until they have a sync target
+    private static final List<Class<?>> DOCUMENT_CLASSES = List.of(
+            JobDocument.class,
+            CandidateDocument.class,
+            RecruiterDocument.class,
+            SkillDocument.class,
+            LocationDocument.class);
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${search.index.replicas:1}")
+    private String replicas;
+
+    @Value("${search.index.refresh-interval:1s}")
+    private String refreshInterval;
+
+    @Value("${search.index.retained-versions:1}")
+    private int retainedVersions;
+
+    // Aliases whose first version was created empty at startup and still needs a full load
+    private final Set<String> created = ConcurrentHashMap.newKeySet();
+
+    // Aliases still shadowed by a legacy concrete index of the same name
+    private final Set<String> legacy = ConcurrentHashMap.newKeySet();
+
+    // Aliases whose live index was built from an older settings or mapping definition
+    private final Set<String> outdated = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void ensureAliases() {
+        for (Class<?> documentClass : DOCUMENT_CLASSES) {
+            String alias = aliasFor(documentClass);
+            try {
+                if (elasticsearchClient.indices().existsAlias(r -> r.name(alias)).value()) {
+                    if (!definitionHash(documentClass).equals(liveDefinitionHash(alias))) {
+                        log.warn("Index behind {} predates the current mapping; it will be rebuilt", alias);
+                        outdated.add(alias);
+                    }
+                    continue;
+                }
+                if (elasticsearchClient.indices().exists(r -> r.index(alias)).value()) {
+                    log.warn("Index {} is not behind an alias yet; it will be replaced on the first rebuild", alias);
+                    legacy.add(alias);
+                    continue;
+                }
+                createFirstVersion(documentClass);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to set up Elasticsearch alias " + alias, e);
+            }
+        }
+    }
+
+    /**
+     * Create {@code <alias>_v1} and point the alias at it. If another node created it first, point the
+     * alias at that index unless the other node already has; the bootstrap's count check loads it if
+     * that node dies before doing so.
+     */
+    private void createFirstVersion(Class<?> documentClass) throws IOException {
+        String alias = aliasFor(documentClass);
+        String index = alias + "_v1";
+        try {
+            create(documentClass, index);
+        } catch (ElasticsearchException e) {
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+            log.info("Index {} was created by another node", index);
+            if (!elasticsearchClient.indices().existsAlias(r -> r.name(alias)).value()) {
+                activate(documentClass, index);
+            }
+            return;
+        }
+        activate(documentClass, index);
+        created.add(alias);
+    }
+
+    /**
+     * Whether the alias for this class was first created, empty, during this startup.
+     */
+    public boolean isNew(Class<?> documentClass) {
+        return created.contains(aliasFor(documentClass));
+    }
+
+    /**
+     * Whether this class still reads and writes a pre-alias index of the same name, or an index whose
+     * settings or mapping no longer match the document class, so a full rebuild is due.
+     */
+    public boolean needsRebuild(Class<?> documentClass) {
+        String alias = aliasFor(documentClass);
+        return legacy.contains(alias) || outdated.contains(alias);
+    }
+
+    /**
+     * Create the next, empty index version for a document class, tuned for bulk loading.
+     *
+     * @return the new index name
+     */
+    public String createVersion(Class<?> documentClass) throws IOException {
+        String alias = aliasFor(documentClass);
+        int version = versions(alias).keySet().stream().max(Integer::compare).orElse(0) + 1;
+        String index = alias + "_v" + version;
+        create(documentClass, index);
+        return index;
+    }
+
+    private void create(Class<?> documentClass, String index) throws IOException {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(documentClass);
+        String settings = indexOps.createSettings().toJson();
+        String mapping = indexOps.createMapping().toJson();
+        String hash = definitionHash(documentClass);
+        elasticsearchClient.indices().create(r -> r
+                .index(index)
+                .settings(s -> s.withJson(new StringReader(settings))
+                        .numberOfReplicas("0")
+                        .refreshInterval(t -> t.time("-1")))
+                .mappings(m -> m.withJson(new StringReader(mapping))
+                        .meta(DEFINITION_HASH, JsonData.of(hash))));
+        log.info("Created Elasticsearch index {}", index);
+    }
+
+    /**
+     * Make a loaded index version live: restore replicas and refresh, then point the alias at it in one
+     * atomic request and drop versions beyond the retention.
+     */
+    public void activate(Class<?> documentClass, String index) throws IOException {
+        String alias = aliasFor(documentClass);
+        elasticsearchClient.indices().putSettings(r -> r
+                .index(index)
+                .settings(s -> s.numberOfReplicas(replicas).refreshInterval(t -> t.time(refreshInterval))));
+        elasticsearchClient.indices().refresh(r -> r.index(index));
+
+        List<Action> actions = new ArrayList<>();
+        actions.add(Action.of(a -> a.add(x -> x.index(index).alias(alias))));
+        if (legacy.contains(alias)) {
+            actions.add(Action.of(a -> a.removeIndex(x -> x.index(alias))));
+        } else {
+            for (String current : currentIndices(alias)) {
+                if (!current.equals(index)) {
+                    actions.add(Action.of(a -> a.remove(x -> x.index(current).alias(alias))));
+                }
+            }
+        }
+        elasticsearchClient.indices().updateAliases(r -> r.actions(actions));
+        legacy.remove(alias);
+        outdated.remove(alias);
+        log.info("Alias {} now points at {}", alias, index);
+
+        deleteOldVersions(alias, index);
+    }
+
+    /**
+     * Drop a version that failed to load; it was never behind the alias.
+     */
+    public void discard(String index) {
+        try {
+            elasticsearchClient.indices().delete(r -> r.index(index));
+        } catch (Exception e) {
+            log.warn("Failed to delete abandoned index {}: {}", index, e.getMessage());
+        }
+    }
+
+    public void markLoaded(Class<?> documentClass) {
+        created.remove(aliasFor(documentClass));
+    }
+
+    /**
+     * Concrete index the alias points at, or null if none.
+     */
+    public String activeIndex(Class<?> documentClass) {
+        try {
+            List<String> indices = currentIndices(aliasFor(documentClass));
+            return indices.isEmpty() ? null : indices.get(0);
+        } catch (IOException e) {
+            log.warn("Failed to resolve alias for {}: {}", documentClass.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String definitionHash(Class<?> documentClass) {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(documentClass);
+        String definition = indexOps.createSettings().toJson() + indexOps.createMapping().toJson();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(definition.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Definition hash stored on the index behind the alias, or null for versions created before hashes
+     * were recorded.
+     */
+    private String liveDefinitionHash(String alias) throws IOException {
+        Map<String, IndexMappingRecord> mappings = elasticsearchClient.indices()
+                .getMapping(r -> r.index(alias)).result();
+        if (mappings.isEmpty()) {
+            return null;
+        }
+        JsonData hash = mappings.values().iterator().next().mappings().meta().get(DEFINITION_HASH);
+        return hash == null ? null : hash.to(String.class);
+    }
+
+    private void deleteOldVersions(String alias, String active) throws IOException {
+        List<Map.Entry<Integer, String>> older = versions(alias).entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(active))
+                .sorted(Map.Entry.<Integer, String>comparingByKey(Comparator.reverseOrder()))
+                .toList();
+        for (Map.Entry<Integer, String> entry : older.subList(Math.min(retainedVersions, older.size()), older.size())) {
+            elasticsearchClient.indices().delete(r -> r.index(entry.getValue()));
+            log.info("Deleted old Elasticsearch index {}", entry.getValue());
+        }
+    }
+
+    private List<String> currentIndices(String alias) throws IOException {
+        if (!elasticsearchClient.indices().existsAlias(r -> r.name(alias)).value()) {
+            return List.of();
+        }
+        return new ArrayList<>(elasticsearchClient.indices().getAlias(r -> r.name(alias)).result().keySet());
+    }
+
+    private Map<Integer, String> versions(String alias) throws IOException {
+        Pattern pattern = Pattern.compile(Pattern.quote(alias) + "_v(\\d+)");
+        Map<Integer, String> versions = new LinkedHashMap<>();
+        for (String index : elasticsearchClient.indices()
+                .get(r -> r.index(alias + "_v*").allowNoIndices(true)).result().keySet()) {
+            Matcher matcher = pattern.matcher(index);
+            if (matcher.matches()) {
+                versions.put(Integer.parseInt(matcher.group(1)), index);
+            }
+        }
+        return versions;
+    }
+
+    private String aliasFor(Class<?> documentClass) {
+        return elasticsearchOperations.getIndexCoordinatesFor(documentClass).getIndexName();
+    }
+}
@@ -0,0 +1,181 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous Elasticsearch writes for entity changes.
+ *
+ * <p>Services call {@link #enqueue} instead of indexing inline. The id is recorded once the surrounding
+ * transaction commits (straight away when there is none), and repeated changes to the same id before the
+ * next flush collapse into one entry. A background flush reloads the current rows and sends them as one
+ * {@code _bulk} request per document type, every {@code flush-interval-ms} or as soon as
+ * {@code batch-size} ids are pending.</p>
+ *
+ * <p>The queue is in memory: ids pending at a crash, or dropped once {@code max-pending} is reached, are
+ * picked up by the watermark sync in {@link ElasticsearchSyncService}.</p>
+ *
+ * <p>Metrics: {@code search.index.outbox.pending}, {@code search.index.outbox.lag} (age in seconds of
+ * the oldest pending change), {@code search.index.outbox.latency} (commit to indexed) and
+ * {@code search.index.outbox.dropped}.</p>
+ */
+@Slf4j
+@Service
+public class SearchIndexOutbox {
+
+    @Autowired
+    private ElasticsearchSyncService elasticsearchSyncService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${search.outbox.max-pending:100000}")
+    private int maxPending;
+
+    // Time of the first change not yet indexed, per document
+    private final Map<Key, Instant> pending = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("search-outbox").factory());
+
+    private Timer latencyTimer;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        latencyTimer = meterRegistry.timer("search.index.outbox.latency");
+        droppedCounter = meterRegistry.counter("search.index.outbox.dropped");
+        Gauge.builder("search.index.outbox.pending", pending, Map::size).register(meterRegistry);
+        Gauge.builder("search.index.outbox.lag", this, SearchIndexOutbox::lagSeconds).register(meterRegistry);
+    }
+
+    /**
+     * Queue a document for re-indexing after the current transaction commits.
+     */
+    public void enqueue(SearchDocumentType type, Integer id) {
+        if (id == null) {
+            return;
+        }
+        Key key = new Key(type, id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(key);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${search.outbox.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            for (SearchDocumentType type : SearchDocumentType.values()) {
+                List<Key> keys = new ArrayList<>();
+                for (Key key : pending.keySet()) {
+                    if (key.type == type) {
+                        keys.add(key);
+                    }
+                }
+                for (int from = 0; from < keys.size(); from += batchSize) {
+                    flushBatch(type, keys.subList(from, Math.min(from + batchSize, keys.size())));
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushBatch(SearchDocumentType type, List<Key> keys) {
+        // Removed before the rows are read: a change committed after this point is queued again
+        Map<Key, Instant> batch = new HashMap<>();
+        for (Key key : keys) {
+            Instant since = pending.remove(key);
+            if (since != null) {
+                batch.put(key, since);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Integer> ids = batch.keySet().stream().map(Key::id).sorted().toList();
+            elasticsearchSyncService.indexIds(type, ids);
+            Instant now = Instant.now();
+            batch.values().forEach(since -> latencyTimer.record(Duration.between(since, now)));
+            log.debug("Flushed {} {} documents from the search outbox", ids.size(), type);
+        } catch (Exception e) {
+            // Keep the original timestamps so the lag metric shows how long they have been waiting
+            batch.forEach(pending::putIfAbsent);
+            log.error("Failed to flush {} {} documents from the search outbox: {}", batch.size(), type, e.getMessage(), e);
+        }
+    }
+
+    private void add(Key key) {
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            droppedCounter.increment();
+            return;
+        }
+        pending.putIfAbsent(key, Instant.now());
+        if (pending.size() >= batchSize && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    private double lagSeconds() {
+        Instant oldest = null;
+        for (Instant since : pending.values()) {
+            if (oldest == null || since.isBefore(oldest)) {
+                oldest = since;
+            }
+        }
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private record Key(SearchDocumentType type, int id) {
+    }
+}
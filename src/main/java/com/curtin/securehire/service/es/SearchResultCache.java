@@ -0,0 +1,259 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.constant.SearchDocumentType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of search and suggestion results, in front of the {@code *SearchService} query
+ * methods.
+ *
+ * <p>Entries are held in a size-bounded Caffeine cache (W-TinyLFU admission, so a burst of one-off
+ * queries cannot evict the popular ones). Every key carries its document type's generation; anything
+ * that writes to an index calls {@link #invalidate}, which bumps the generation so earlier entries are
+ * never read again and simply age out. The generation is bumped a second time {@code refresh-delay-ms}
+ * later, once the write is visible to searches, so results read between the write and the index refresh
+ * are dropped as well.</p>
+ *
+ * <p>Bumps are also published to {@code search_cache_generations} in Postgres, which every node polls
+ * every {@code shared-poll-ms}; a changed counter bumps the local generation, so a write on one node
+ * invalidates the caches of the others within about a second. Publishing happens on the cache's own
+ * thread, never inside the writer's transaction.</p>
+ *
+ * <p>Results answered by {@link PostgresSearchFallback} are not cached, so searches return to
+ * Elasticsearch as soon as it recovers rather than after {@code ttl}.</p>
+ *
+ * <p>Metrics: {@code search.cache.requests} tagged {@code type} and {@code result=hit|miss},
+ * {@code search.cache.hit.ratio} per {@code type}, plus the standard Caffeine cache meters under
+ * {@code cache=search-results}.</p>
+ */
+@Slf4j
+@Service
+public class SearchResultCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${search.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${search.cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${search.cache.refresh-delay-ms:1500}")
+    private long refreshDelayMs;
+
+    @Value("${search.cache.shared-poll-ms:1000}")
+    private long sharedPollMs;
+
+    private final Map<SearchDocumentType, AtomicLong> generations = new EnumMap<>(SearchDocumentType.class);
+
+    // Shared counters as last read from Postgres
+    private final Map<SearchDocumentType, Long> sharedGenerations = new ConcurrentHashMap<>();
+
+    // Local bumps not yet published to Postgres
+    private final Set<SearchDocumentType> unpublished = ConcurrentHashMap.newKeySet();
+
+    private final Map<SearchDocumentType, Counter> hits = new EnumMap<>(SearchDocumentType.class);
+
+    private final Map<SearchDocumentType, Counter> misses = new EnumMap<>(SearchDocumentType.class);
+
+    // Set while a loader runs on this thread; true once it asked for its result not to be cached
+    private final ThreadLocal<Boolean> skipped = new ThreadLocal<>();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("search-cache").factory());
+
+    private Cache<Key, Object> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search-results");
+
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            generations.put(type, new AtomicLong());
+            Counter hit = meterRegistry.counter("search.cache.requests", "type", type.name(), "result", "hit");
+            Counter miss = meterRegistry.counter("search.cache.requests", "type", type.name(), "result", "miss");
+            hits.put(type, hit);
+            misses.put(type, miss);
+            Gauge.builder("search.cache.hit.ratio", () -> {
+                double total = hit.count() + miss.count();
+                return total == 0 ? 0 : hit.count() / total;
+            }).tag("type", type.name()).register(meterRegistry);
+        }
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::syncSharedGenerations, sharedPollMs, sharedPollMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Return the cached result of {@code operation} for these arguments, or run {@code loader} and cache
+     * what it returns.
+     *
+     * @param query  free text, normalised (case, whitespace, Unicode form) before it becomes part of the key
+     * @param params any other arguments the result depends on (filters, page, size); compared with equals
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SearchDocumentType type, String operation, String query, List<?> params, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // Read the generation before loading: if a write lands meanwhile, the result goes under the old key
+        Key key = new Key(type, generations.get(type).get(), operation, normalize(query), params);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.get(type).increment();
+            return (T) cached;
+        }
+        misses.get(type).increment();
+        Boolean outer = skipped.get();
+        skipped.set(false);
+        T result;
+        boolean skip;
+        try {
+            result = loader.get();
+        } finally {
+            skip = skipped.get();
+            if (outer == null) {
+                skipped.remove();
+            } else {
+                // A nested load that must not be cached taints the result it is part of
+                skipped.set(outer || skip);
+            }
+        }
+        if (result != null && !skip) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Do not cache the result the current thread is loading, because it is a stand-in (e.g. answered
+     * from Postgres while Elasticsearch is down) that should not outlive the outage. No-op outside a
+     * loader.
+     */
+    public void skipCaching() {
+        if (skipped.get() != null) {
+            skipped.set(true);
+        }
+    }
+
+    /**
+     * Make every cached result for this document type stale. Call after writing to its index.
+     */
+    public void invalidate(SearchDocumentType type) {
+        generations.get(type).incrementAndGet();
+        unpublished.add(type);
+        try {
+            scheduler.schedule(() -> {
+                generations.get(type).incrementAndGet();
+                unpublished.add(type);
+            }, refreshDelayMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Shutting down; the immediate bump is enough
+            log.debug("Could not schedule delayed invalidation of {}: {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * {@link #invalidate} once the current transaction commits, or straight away when there is none, so a
+     * rolled-back write never empties the cache.
+     */
+    public void invalidateAfterCommit(SearchDocumentType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(type);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(type);
+            }
+        });
+    }
+
+    /**
+     * Publish pending bumps, then pick up those of other nodes.
+     */
+    private void syncSharedGenerations() {
+        try {
+            for (SearchDocumentType type : unpublished) {
+                unpublished.remove(type);
+                try {
+                    jdbcTemplate.update("INSERT INTO search_cache_generations (document_type, generation) VALUES (?, 1) " +
+                            "ON CONFLICT (document_type) DO UPDATE SET generation = search_cache_generations.generation + 1",
+                            type.name());
+                } catch (RuntimeException e) {
+                    unpublished.add(type);
+                    throw e;
+                }
+            }
+            jdbcTemplate.query("SELECT document_type, generation FROM search_cache_generations", rs -> {
+                SearchDocumentType type = SearchDocumentType.valueOf(rs.getString(1));
+                Long previous = sharedGenerations.put(type, rs.getLong(2));
+                if (previous != null && previous != rs.getLong(2)) {
+                    generations.get(type).incrementAndGet();
+                }
+            });
+        } catch (Exception e) {
+            // Retried on the next poll; until then only this node's own writes invalidate its cache
+            log.warn("Failed to sync shared search cache generations: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return Normalizer.normalize(query, Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Key(SearchDocumentType type, long generation, String operation, String query, List<?> params) {
+    }
+}
@@ -1,10 +1,13 @@
 package com.curtin.securehire.service.es;
 
+import com.curtin.securehire.constant.SearchDocumentType;
 import com.curtin.securehire.entity.db.Skill;
 import com.curtin.securehire.entity.es.SkillDocument;
-import com.curtin.securehire.repository.es.SkillSearchRepository;
+import com.curtin.securehire.repository.db.SkillRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +18,24 @@ import java.util.stream.Collectors;
 public class SkillSearchService {
 
     @Autowired
-    private SkillSearchRepository skillSearchRepository;
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private PostgresSearchFallback postgresSearchFallback;
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${search.suggest.size:10}")
+    private int suggestSize;
 
     public void indexSkill(Skill skill) {
         SkillDocument document = convertToDocument(skill);
-        skillSearchRepository.save(document);
+        searchBackend.index(List.of(document));
+        searchResultCache.invalidate(SearchDocumentType.SKILL);
         log.info("Indexed skill with ID: {}", skill.getId());
     }
 
@@ -27,21 +43,47 @@ public class SkillSearchService {
         List<SkillDocument> documents = skills.stream()
                 .map(this::convertToDocument)
                 .collect(Collectors.toList());
-        skillSearchRepository.saveAll(documents);
+        searchBackend.index(documents);
+        searchResultCache.invalidate(SearchDocumentType.SKILL);
         log.info("Indexed {} skills", skills.size());
     }
 
-    public List<SkillDocument> searchSkills(String query) {
+    public List<SkillDocument> searchSkills(String query, int limit) {
         log.info("Searching skills with query: {}", query);
-        return skillSearchRepository.findByNameContaining(query);
+        return searchResultCache.get(SearchDocumentType.SKILL, "search", query, List.of(limit),
+                () -> postgresSearchFallback.call("skills",
+                        () -> searchBackend.search(SkillDocument.class, query, limit),
+                        () -> searchDatabase(query, limit)));
     }
 
     public List<SkillDocument> suggestSkills(String prefix) {
         log.info("Getting skill suggestions with prefix: {}", prefix);
-        return skillSearchRepository.findByNameStartingWith(prefix);
+        return searchResultCache.get(SearchDocumentType.SKILL, "suggest", prefix, List.of(suggestSize),
+                () -> postgresSearchFallback.call("skills",
+                        () -> searchBackend.suggest(SkillDocument.class, prefix, suggestSize),
+                        () -> suggestDatabase(prefix, suggestSize)));
+    }
+
+    /**
+     * Skill search answered by Postgres full-text search instead of the search backend.
+     */
+    public List<SkillDocument> searchDatabase(String query, int limit) {
+        return postgresSearchFallback.query(() -> skillRepository.searchFullText(query, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
+    }
+
+    private List<SkillDocument> suggestDatabase(String prefix, int limit) {
+        String prefixQuery = PostgresSearchFallback.prefixQuery(prefix);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return postgresSearchFallback.query(() -> skillRepository.suggestFullText(prefixQuery, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDocument)
+                .collect(Collectors.toList()));
     }
 
-    private SkillDocument convertToDocument(Skill skill) {
+    public SkillDocument convertToDocument(Skill skill) {
         SkillDocument document = new SkillDocument();
         document.setId(skill.getId());
         document.setName(skill.getName());
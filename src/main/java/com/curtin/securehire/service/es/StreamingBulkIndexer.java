@@ -0,0 +1,213 @@
+package com.curtin.securehire.service.es;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Indexes a table into the {@link SearchBackend} without holding it in memory.
+ *
+ * <p>Ids are read in keyset-paged chunks of {@code batch-size}; each chunk is loaded, converted to
+ * documents and detached in its own short transaction, then sent as one {@code _bulk} request on a
+ * background thread. At most {@code max-in-flight} bulk requests are outstanding, so the reader blocks
+ * instead of queueing documents when Elasticsearch falls behind, and memory stays bounded by
+ * {@code batch-size * (max-in-flight + 1)} documents regardless of table size.</p>
+ */
+@Slf4j
+@Service
+public class StreamingBulkIndexer {
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private SearchBackend searchBackend;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${search.sync.batch-size:500}")
+    private int batchSize;
+
+    @Value("${search.sync.max-in-flight:4}")
+    private int maxInFlight;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * One keyset page of ids greater than {@code afterId}, in ascending order.
+     */
+    @FunctionalInterface
+    public interface IdPager {
+        List<Integer> next(int afterId, Pageable page);
+    }
+
+    /**
+     * Index every id returned by {@code ids}, converting each chunk with {@code toDocuments}.
+     *
+     * @return the number of ids read
+     * @throws IllegalStateException if any bulk request failed, after all outstanding requests finish
+     */
+    public int index(IdPager ids, Function<List<Integer>, List<?>> toDocuments) {
+        return index(ids, toDocuments, null);
+    }
+
+    /**
+     * As {@link #index(IdPager, Function)}, writing into {@code target} instead of the documents' own
+     * index (e.g. a new index version that is not behind the alias yet).
+     */
+    public int index(IdPager ids, Function<List<Integer>, List<?>> toDocuments, IndexCoordinates target) {
+        return index(ids, toDocuments, target, Integer.MIN_VALUE, id -> { });
+    }
+
+    /**
+     * As {@link #index(IdPager, Function)}, starting after {@code startAfterId} and calling
+     * {@code checkpoint} with the highest id up to which every chunk has been indexed as bulk requests
+     * complete, so an interrupted pass can be resumed from the last checkpoint. Calls are serialized
+     * and never go backwards.
+     */
+    public int index(IdPager ids, Function<List<Integer>, List<?>> toDocuments, int startAfterId, IntConsumer checkpoint) {
+        return index(ids, toDocuments, null, startAfterId, checkpoint);
+    }
+
+    private int index(IdPager ids, Function<List<Integer>, List<?>> toDocuments, IndexCoordinates target,
+                      int startAfterId, IntConsumer checkpoint) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Checkpoints checkpoints = new Checkpoints(checkpoint);
+        Pageable page = PageRequest.of(0, batchSize);
+        int afterId = startAfterId;
+        int total = 0;
+
+        try {
+            while (failure.get() == null) {
+                int from = afterId;
+                Chunk chunk = load(() -> ids.next(from, page), toDocuments);
+                if (chunk.ids.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.ids.get(chunk.ids.size() - 1);
+                total += chunk.ids.size();
+                int lastId = afterId;
+                checkpoints.started(lastId);
+                if (chunk.documents.isEmpty()) {
+                    checkpoints.finished(lastId);
+                    continue;
+                }
+
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        if (target == null) {
+                            searchBackend.index(chunk.documents);
+                        } else {
+                            elasticsearchOperations.save(chunk.documents, target);
+                        }
+                        checkpoints.finished(lastId);
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Wait for the outstanding bulk requests
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while bulk indexing", e);
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("Bulk indexing failed after " + total + " rows: "
+                    + failure.get().getMessage(), failure.get());
+        }
+        return total;
+    }
+
+    /**
+     * Load and index a single chunk of ids on the calling thread. Ids whose rows no longer exist are
+     * skipped.
+     *
+     * @return the number of documents sent
+     */
+    public int indexChunk(List<Integer> ids, Function<List<Integer>, List<?>> toDocuments) {
+        Chunk chunk = load(() -> ids, toDocuments);
+        searchBackend.index(chunk.documents);
+        return chunk.documents.size();
+    }
+
+    private Chunk load(Supplier<List<Integer>> ids, Function<List<Integer>, List<?>> toDocuments) {
+        return transactionTemplate.execute(status -> {
+            List<Integer> chunkIds = ids.get();
+            List<?> documents = chunkIds.isEmpty() ? List.of() : toDocuments.apply(chunkIds);
+            // Documents are plain objects by now; drop the entities so the context never grows
+            entityManager.clear();
+            return new Chunk(chunkIds, documents);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Chunk(List<Integer> ids, List<?> documents) {
+    }
+
+    /**
+     * Bulk requests finish out of order, so a chunk's last id is only reported once every earlier
+     * chunk has finished too. A failed chunk is never finished, which holds the checkpoint before it.
+     */
+    static final class Checkpoints {
+        private final IntConsumer checkpoint;
+        // Last ids of started chunks, in id order
+        private final Deque<Integer> started = new ArrayDeque<>();
+        private final Set<Integer> finished = new HashSet<>();
+
+        Checkpoints(IntConsumer checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        synchronized void started(int lastId) {
+            started.addLast(lastId);
+        }
+
+        synchronized void finished(int lastId) {
+            finished.add(lastId);
+            Integer reached = null;
+            while (!started.isEmpty() && finished.remove(started.peekFirst())) {
+                reached = started.removeFirst();
+            }
+            if (reached != null) {
+                checkpoint.accept(reached);
+            }
+        }
+    }
+}
@@ -1,3 +1,5 @@
 -- Ensure vector extension is enabled
 CREATE EXTENSION IF NOT EXISTS vector;
 
+-- Trigram matching for fuzzy name search (indexes are created by FullTextSearchInitializer)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
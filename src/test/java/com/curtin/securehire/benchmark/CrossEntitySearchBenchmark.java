@@ -0,0 +1,143 @@
+package com.curtin.securehire.benchmark;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.curtin.securehire.service.es.CrossEntitySearchService.Section;
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.ssl.SSLContexts;
+import org.elasticsearch.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Latency of the three ways {@code /api/search/all} can reach Elasticsearch: one search request per
+ * entity index sent one after another (the original controller), the same requests sent concurrently
+ * ({@code search.all.backend=fanout}) and a single {@code _msearch} ({@code search.all.backend=msearch}).
+ *
+ * <p>All three run the same {@link Section} queries against a live, populated cluster, so only the
+ * transport differs. This is a plain main class (not run by surefire):</p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.curtin.securehire.benchmark.CrossEntitySearchBenchmark \
+ *     -Dexec.args="localhost 9200 elastic changeme 500"
+ * </pre>
+ */
+public class CrossEntitySearchBenchmark {
+
+    private static final String[] QUERIES = {"java", "engineer", "sydney", "data", "manager", "python", "perth",
+            "developer", "sales", "cloud", "design", "analyst"};
+
+    private static final int SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 9200;
+        String username = args.length > 2 ? args[2] : "elastic";
+        String password = args.length > 3 ? args[3] : "changeme";
+        int iterations = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+
+        try (RestClient restClient = restClient(host, port, username, password);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ElasticsearchClient client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+            int sections = Section.values().length;
+
+            Mode sequential = query -> {
+                long hits = 0;
+                for (Section section : Section.values()) {
+                    hits += search(client, section, query);
+                }
+                return hits;
+            };
+            Mode parallel = query -> {
+                List<Future<Long>> futures = new ArrayList<>();
+                for (Section section : Section.values()) {
+                    futures.add(executor.submit(() -> search(client, section, query)));
+                }
+                long hits = 0;
+                for (Future<Long> future : futures) {
+                    hits += future.get();
+                }
+                return hits;
+            };
+            Mode multi = query -> {
+                MsearchRequest.Builder request = new MsearchRequest.Builder();
+                for (Section section : Section.values()) {
+                    request.searches(item -> item
+                            .header(h -> h.index(section.getIndex()))
+                            .body(b -> b.query(section.query(query)).size(SIZE)));
+                }
+                return client.msearch(request.build(), Map.class).responses().stream()
+                        .filter(item -> !item.isFailure())
+                        .mapToLong(item -> item.result().hits().hits().size())
+                        .sum();
+            };
+
+            // Warm up connections, caches and the JIT before timing anything
+            for (int i = 0; i < Math.min(50, iterations); i++) {
+                String query = QUERIES[i % QUERIES.length];
+                sequential.run(query);
+                parallel.run(query);
+                multi.run(query);
+            }
+
+            System.out.printf("%d queries over %d indexes, %d hits per index%n", iterations, sections, SIZE);
+            System.out.printf("%-10s %10s %10s %10s %10s %12s%n", "mode", "requests", "mean ms", "p50 ms", "p95 ms", "hits/query");
+            run("sequential", sequential, sections, iterations);
+            run("parallel", parallel, sections, iterations);
+            run("msearch", multi, 1, iterations);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Mode {
+        long run(String query) throws Exception;
+    }
+
+    private static void run(String name, Mode mode, int requests, int iterations) throws Exception {
+        long[] nanos = new long[iterations];
+        long hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            hits += mode.run(QUERIES[i % QUERIES.length]);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0) / 1e6;
+        System.out.printf("%-10s %10d %10.2f %10.2f %10.2f %12.1f%n", name, requests, mean,
+                nanos[iterations / 2] / 1e6, nanos[(int) (iterations * 0.95)] / 1e6, hits / (double) iterations);
+    }
+
+    private static long search(ElasticsearchClient client, Section section, String query) throws Exception {
+        return client.search(s -> s.index(section.getIndex()).query(section.query(query)).size(SIZE), Map.class)
+                .hits().hits().size();
+    }
+
+    private static RestClient restClient(String host, int port, String username, String password) throws Exception {
+        BasicCredentialsProvider credentials = new BasicCredentialsProvider();
+        credentials.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+        return RestClient.builder(new HttpHost(host, port, "https"))
+                .setHttpClientConfigCallback(builder -> {
+                    try {
+                        return builder.setDefaultCredentialsProvider(credentials)
+                                .setSSLContext(SSLContexts.custom().loadTrustMaterial(null, (chain, authType) -> true).build())
+                                .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                })
+                .build();
+    }
+}
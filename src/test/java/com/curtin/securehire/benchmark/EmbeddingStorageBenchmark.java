@@ -0,0 +1,154 @@
+package com.curtin.securehire.benchmark;
+
+import com.curtin.securehire.service.db.vector.QuantizedVector;
+import com.curtin.securehire.service.db.vector.Vectors;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Recall-vs-memory comparison of the embedding representations: the original double[] path, float[]
+ * and int8 scalar quantization with a per-vector scale.
+ *
+ * <p>Exact top-K by cosine similarity over double[] is the ground truth; float[] and int8 are scored
+ * brute force over the same clustered synthetic vectors so only the representation differs. This is a
+ * plain main class (not run by surefire):</p>
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.curtin.securehire.benchmark.EmbeddingStorageBenchmark \
+ *     -Dexec.args="20000 1536 200 10"
+ * </pre>
+ */
+public class EmbeddingStorageBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 1536;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        Random random = new Random(42);
+        double[][] doubles = clusteredVectors(random, count, dimension, 64);
+        float[][] floats = new float[count][];
+        QuantizedVector[] quantized = new QuantizedVector[count];
+        for (int i = 0; i < count; i++) {
+            floats[i] = Vectors.toFloatArray(doubles[i]);
+            quantized[i] = QuantizedVector.quantize(floats[i]);
+        }
+        double[][] queryVectors = clusteredVectors(random, queries, dimension, 64);
+
+        long doubleBytes = arrayBytes(8L * dimension);
+        long floatBytes = arrayBytes(4L * dimension);
+        long int8Bytes = arrayBytes(dimension) + 16 + 4; // codes + QuantizedVector object with its float scale
+
+        double floatRecall = 0;
+        double int8Recall = 0;
+        long doubleNanos = 0;
+        long floatNanos = 0;
+        long int8Nanos = 0;
+
+        for (double[] query : queryVectors) {
+            float[] floatQuery = Vectors.normalize(Vectors.toFloatArray(query));
+
+            long start = System.nanoTime();
+            Set<Integer> truth = topK(count, k, i -> cosine(query, doubles[i]));
+            doubleNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Set<Integer> floatHits = topK(count, k, i -> Vectors.dot(floatQuery, floats[i]));
+            floatNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Set<Integer> int8Hits = topK(count, k, i -> QuantizedVector.dot(floatQuery, quantized[i]));
+            int8Nanos += System.nanoTime() - start;
+
+            floatRecall += overlap(truth, floatHits) / (double) k;
+            int8Recall += overlap(truth, int8Hits) / (double) k;
+        }
+
+        System.out.printf("%d vectors x %d dims, %d queries, recall@%d against double[] ground truth%n",
+                count, dimension, queries, k);
+        System.out.printf("%-8s %14s %14s %10s %14s%n", "format", "bytes/vector", "total MB", "recall", "ms/query");
+        print("double[]", doubleBytes, count, 1.0, doubleNanos, queries);
+        print("float[]", floatBytes, count, floatRecall / queries, floatNanos, queries);
+        print("int8", int8Bytes, count, int8Recall / queries, int8Nanos, queries);
+    }
+
+    private interface Scorer {
+        double score(int index);
+    }
+
+    private static Set<Integer> topK(int count, int k, Scorer scorer) {
+        Integer[] order = new Integer[count];
+        double[] scores = new double[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            scores[i] = scorer.score(i);
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        return new HashSet<>(Arrays.asList(order).subList(0, k));
+    }
+
+    private static int overlap(Set<Integer> truth, Set<Integer> hits) {
+        int matches = 0;
+        for (Integer id : hits) {
+            if (truth.contains(id)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static double cosine(double[] a, double[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    /**
+     * Unit vectors scattered around a number of random centroids, which is closer to real embedding
+     * distributions than isotropic noise.
+     */
+    private static double[][] clusteredVectors(Random random, int count, int dimension, int clusters) {
+        Random centroidRandom = new Random(7);
+        double[][] centroids = new double[clusters][dimension];
+        for (double[] centroid : centroids) {
+            for (int j = 0; j < dimension; j++) {
+                centroid[j] = centroidRandom.nextGaussian();
+            }
+        }
+        double[][] vectors = new double[count][dimension];
+        for (double[] vector : vectors) {
+            double[] centroid = centroids[random.nextInt(clusters)];
+            double norm = 0;
+            for (int j = 0; j < dimension; j++) {
+                vector[j] = centroid[j] + random.nextGaussian() * 0.8;
+                norm += vector[j] * vector[j];
+            }
+            norm = Math.sqrt(norm);
+            for (int j = 0; j < dimension; j++) {
+                vector[j] /= norm;
+            }
+        }
+        return vectors;
+    }
+
+    // 16-byte array header, payload rounded up to the 8-byte object alignment
+    private static long arrayBytes(long payload) {
+        return 16 + ((payload + 7) / 8) * 8;
+    }
+
+    private static void print(String format, long bytesPerVector, int count, double recall, long nanos, int queries) {
+        System.out.printf("%-8s %14d %14.1f %10.4f %14.2f%n", format, bytesPerVector,
+                bytesPerVector * (double) count / (1024 * 1024), recall, nanos / 1e6 / queries);
+    }
+}
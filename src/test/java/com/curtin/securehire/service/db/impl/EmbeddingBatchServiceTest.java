@@ -0,0 +1,214 @@
+package com.curtin.securehire.service.db.impl;
+
+import com.curtin.securehire.constant.EmbeddingStorage;
+import com.curtin.securehire.entity.db.Job;
+import com.curtin.securehire.entity.db.type.PgVectorType;
+import com.curtin.securehire.service.db.embedding.EmbeddingCache;
+import com.curtin.securehire.service.db.embedding.EmbeddingTextBuilder;
+import com.curtin.securehire.service.db.embedding.OpenAiEmbeddingProvider;
+import com.curtin.securehire.service.db.vector.VectorIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link EmbeddingBatchService} against a stub embeddings endpoint on {@code openai.api.base-url}. The
+ * stub answers each input with a vector whose first component is the input's length, in reverse order,
+ * so the test can check that every vector lands on the right row.
+ */
+class EmbeddingBatchServiceTest {
+
+    private static final int DIMENSION = 4;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Inputs of each embeddings request, in arrival order
+    private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+
+    private MockWebServer server;
+    private OpenAiEmbeddingProvider provider;
+    private JdbcTemplate jdbcTemplate;
+    private VectorIndex jobVectorIndex;
+    private EmbeddingBatchService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return embeddingsResponse(request);
+            }
+        });
+        server.start();
+
+        provider = new OpenAiEmbeddingProvider();
+        ReflectionTestUtils.setField(provider, "apiKey", "test-key");
+        ReflectionTestUtils.setField(provider, "baseUrl", server.url("/").toString());
+        ReflectionTestUtils.setField(provider, "timeoutSeconds", 5L);
+        ReflectionTestUtils.setField(provider, "maxIdleConnections", 1);
+        ReflectionTestUtils.setField(provider, "model", "test-model");
+        ReflectionTestUtils.setField(provider, "dimension", DIMENSION);
+        provider.init();
+
+        EmbeddingCache embeddingCache = mock(EmbeddingCache.class);
+        when(embeddingCache.key(anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0) + ":" + invocation.getArgument(1));
+        when(embeddingCache.getAll(any())).thenReturn(Collections.emptyMap());
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        jobVectorIndex = mock(VectorIndex.class);
+
+        service = new EmbeddingBatchService();
+        ReflectionTestUtils.setField(service, "embeddingProvider", provider);
+        ReflectionTestUtils.setField(service, "embeddingTextBuilder", new EmbeddingTextBuilder());
+        ReflectionTestUtils.setField(service, "embeddingCache", embeddingCache);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "namedParameterJdbcTemplate", mock(NamedParameterJdbcTemplate.class));
+        ReflectionTestUtils.setField(service, "jobVectorIndex", jobVectorIndex);
+        ReflectionTestUtils.setField(service, "userVectorIndex", mock(VectorIndex.class));
+        ReflectionTestUtils.setField(service, "embeddingStorage", EmbeddingStorage.FLOAT32);
+        ReflectionTestUtils.setField(service, "maxInputsPerRequest", 256);
+        ReflectionTestUtils.setField(service, "maxTokensPerRequest", 50000);
+        ReflectionTestUtils.setField(service, "maxTokensPerInput", 8000);
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        provider.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void packsInputsIntoRequestsWithinTheTokenBudget() {
+        // Each job text is 464 chars, 117 estimated tokens: two fit in 300 tokens, three do not
+        ReflectionTestUtils.setField(service, "maxTokensPerRequest", 300);
+        List<Job> jobs = jobs(5, 440);
+
+        int written = service.embedJobs(jobs);
+
+        assertThat(written).isEqualTo(5);
+        assertThat(requests).extracting(List::size).containsExactly(2, 2, 1);
+        assertUpsertedOnce(jobs);
+    }
+
+    @Test
+    void capsInputsPerRequest() {
+        ReflectionTestUtils.setField(service, "maxInputsPerRequest", 3);
+        List<Job> jobs = jobs(7, 10);
+
+        service.embedJobs(jobs);
+
+        assertThat(requests).extracting(List::size).containsExactly(3, 3, 1);
+        assertUpsertedOnce(jobs);
+    }
+
+    @Test
+    void sendsIdenticalTextsOnce() {
+        List<Job> jobs = jobs(4, 10);
+        jobs.get(3).setTitle(jobs.get(0).getTitle());
+        jobs.get(3).setDescription(jobs.get(0).getDescription());
+
+        int written = service.embedJobs(jobs);
+
+        assertThat(written).isEqualTo(4);
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).hasSize(3);
+        assertUpsertedOnce(jobs);
+    }
+
+    /**
+     * One JDBC batch for all rows, each row carrying the vector of its own job's text, and every vector
+     * added to the in-memory index.
+     */
+    @SuppressWarnings("unchecked")
+    private void assertUpsertedOnce(List<Job> jobs) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(jobs.size());
+
+        EmbeddingTextBuilder textBuilder = new EmbeddingTextBuilder();
+        for (int i = 0; i < jobs.size(); i++) {
+            Object[] row = rows.getValue().get(i);
+            Job job = jobs.get(i);
+            assertThat(row[0]).isEqualTo(job.getId());
+            assertThat(row[1]).isEqualTo(PgVectorType.toText(vectorFor(textBuilder.forJob(job))));
+        }
+        verify(jobVectorIndex, times(jobs.size())).upsert(anyInt(), any(float[].class));
+        verify(jobVectorIndex).upsert(eq(jobs.get(0).getId()), any(float[].class));
+    }
+
+    private static List<Job> jobs(int count, int descriptionLength) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Job job = new Job();
+            job.setId(100 + i);
+            job.setTitle("Title " + i);
+            job.setDescription(String.valueOf((char) ('a' + i)).repeat(descriptionLength));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static float[] vectorFor(String input) {
+        return new float[]{input.length(), 1, 0, 0};
+    }
+
+    private MockResponse embeddingsResponse(RecordedRequest request) {
+        try {
+            JsonNode body = objectMapper.readTree(request.getBody().readUtf8());
+            List<String> inputs = new ArrayList<>();
+            body.get("input").forEach(input -> inputs.add(input.asText()));
+            requests.add(inputs);
+
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("object", "list");
+            response.put("model", body.get("model").asText());
+            ArrayNode data = response.putArray("data");
+            for (int i = inputs.size() - 1; i >= 0; i--) {
+                ObjectNode embedding = data.addObject();
+                embedding.put("object", "embedding");
+                embedding.put("index", i);
+                ArrayNode values = embedding.putArray("embedding");
+                for (float value : vectorFor(inputs.get(i))) {
+                    values.add(value);
+                }
+            }
+            response.putObject("usage").put("prompt_tokens", 1).put("total_tokens", 1);
+            return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(objectMapper.writeValueAsString(response));
+        } catch (IOException e) {
+            return new MockResponse().setResponseCode(400);
+        }
+    }
+}
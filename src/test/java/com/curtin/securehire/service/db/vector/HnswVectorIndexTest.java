@@ -0,0 +1,161 @@
+package com.curtin.securehire.service.db.vector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswVectorIndexTest {
+
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 2000;
+    private static final int K = 10;
+
+    private float[][] vectors;
+    private float[][] queries;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        vectors = clusteredVectors(random, COUNT);
+        queries = clusteredVectors(random, 50);
+    }
+
+    @Test
+    void recallAgainstExactSearch() {
+        HnswVectorIndex index = build(false);
+
+        assertThat(recall(index, id -> true)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void quantizedRecallAgainstExactSearch() {
+        HnswVectorIndex index = build(true);
+
+        assertThat(recall(index, id -> true)).isGreaterThanOrEqualTo(0.85);
+    }
+
+    @Test
+    void filteredSearchOnlyReturnsMatchingIdsAndFillsK() {
+        HnswVectorIndex index = build(false);
+        IntPredicate everyTenth = id -> id % 10 == 0;
+
+        for (float[] query : queries) {
+            List<VectorMatch> matches = index.search(query, K, 64, everyTenth);
+            assertThat(matches).hasSize(K);
+            assertThat(matches).allMatch(match -> everyTenth.test(match.getId()));
+        }
+        assertThat(recall(index, everyTenth)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void removedIdsNeverTakeResultSlots() {
+        HnswVectorIndex index = build(false);
+        Set<Integer> removed = new HashSet<>();
+        for (int id = 0; id < COUNT; id += 2) {
+            index.remove(id);
+            removed.add(id);
+        }
+
+        assertThat(index.size()).isEqualTo(COUNT - removed.size());
+        for (float[] query : queries) {
+            List<VectorMatch> matches = index.search(query, K);
+            assertThat(matches).hasSize(K);
+            assertThat(matches).noneMatch(match -> removed.contains(match.getId()));
+        }
+        assertThat(recall(index, id -> !removed.contains(id))).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void upsertReplacesTheStoredVector() {
+        HnswVectorIndex index = build(false);
+        float[] query = queries[0];
+
+        index.upsert(7, query);
+
+        List<VectorMatch> matches = index.search(query, 1);
+        assertThat(matches).extracting(VectorMatch::getId).containsExactly(7);
+        assertThat(matches.get(0).getDistance()).isLessThan(1e-5);
+        assertThat(index.size()).isEqualTo(COUNT);
+    }
+
+    @Test
+    void idsSnapshotsTheLiveIds() {
+        HnswVectorIndex index = build(false);
+        index.remove(3);
+
+        Set<Integer> ids = IntStream.of(index.ids()).boxed().collect(Collectors.toSet());
+
+        assertThat(ids).hasSize(COUNT - 1).doesNotContain(3).contains(0, 4, COUNT - 1);
+    }
+
+    private HnswVectorIndex build(boolean quantized) {
+        HnswVectorIndex index = new HnswVectorIndex(DIMENSION, 16, 200, 64, quantized);
+        for (int id = 0; id < COUNT; id++) {
+            index.upsert(id, vectors[id]);
+        }
+        return index;
+    }
+
+    /**
+     * Mean overlap between the index's top K and the exact top K among ids accepted by {@code filter}.
+     */
+    private double recall(HnswVectorIndex index, IntPredicate filter) {
+        double total = 0;
+        for (float[] query : queries) {
+            Set<Integer> truth = exactTopK(query, filter);
+            Set<Integer> found = index.search(query, K, 64, filter).stream()
+                    .map(VectorMatch::getId)
+                    .collect(Collectors.toSet());
+            found.retainAll(truth);
+            total += found.size() / (double) K;
+        }
+        return total / queries.length;
+    }
+
+    private Set<Integer> exactTopK(float[] query, IntPredicate filter) {
+        float[] normalized = Vectors.normalize(query);
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < COUNT; id++) {
+            if (filter.test(id)) {
+                ids.add(id);
+            }
+        }
+        ids.sort(Comparator.comparingDouble(id -> Vectors.cosineDistanceNormalized(normalized, vectors[id])));
+        return new HashSet<>(ids.subList(0, K));
+    }
+
+    /**
+     * Unit vectors scattered around a few random centroids, closer to real embeddings than isotropic noise.
+     */
+    private static float[][] clusteredVectors(Random random, int count) {
+        Random centroidRandom = new Random(7);
+        float[][] centroids = new float[16][DIMENSION];
+        for (float[] centroid : centroids) {
+            for (int j = 0; j < DIMENSION; j++) {
+                centroid[j] = (float) centroidRandom.nextGaussian();
+            }
+        }
+        float[][] result = new float[count][DIMENSION];
+        for (float[] vector : result) {
+            float[] centroid = centroids[random.nextInt(centroids.length)];
+            for (int j = 0; j < DIMENSION; j++) {
+                vector[j] = centroid[j] + (float) (random.nextGaussian() * 0.8);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            result[i] = Vectors.normalize(result[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.curtin.securehire.service.es;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.curtin.securehire.entity.es.SkillDocument;
+import com.curtin.securehire.repository.es.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.repository.support.ElasticsearchRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * {@link ElasticsearchSearchBackend} against a single-node cluster in a container, on indexes and aliases
+ * created by {@link SearchIndexManager}. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ElasticsearchSearchBackendContractTest extends SearchBackendContractTest {
+
+    @Container
+    private static final ElasticsearchContainer ELASTICSEARCH =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.15.0")
+                    .withEnv("xpack.security.enabled", "false")
+                    .withEnv("ES_JAVA_OPTS", "-Xms512m -Xmx512m");
+
+    private static RestClient restClient;
+    private static ElasticsearchTemplate template;
+
+    @BeforeAll
+    static void createIndexes() {
+        restClient = RestClient.builder(HttpHost.create(ELASTICSEARCH.getHttpHostAddress())).build();
+        ElasticsearchClient client = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+        template = new ElasticsearchTemplate(client);
+        // Writes are searchable as soon as they return, as the contract expects
+        template.setRefreshPolicy(RefreshPolicy.IMMEDIATE);
+
+        SearchIndexManager indexManager = new SearchIndexManager();
+        ReflectionTestUtils.setField(indexManager, "elasticsearchClient", client);
+        ReflectionTestUtils.setField(indexManager, "elasticsearchOperations", template);
+        ReflectionTestUtils.setField(indexManager, "replicas", "0");
+        ReflectionTestUtils.setField(indexManager, "refreshInterval", "1s");
+        ReflectionTestUtils.setField(indexManager, "retainedVersions", 1);
+        indexManager.ensureAliases();
+    }
+
+    @AfterAll
+    static void closeClient() throws IOException {
+        if (restClient != null) {
+            restClient.close();
+        }
+    }
+
+    @Override
+    protected SearchBackend openBackend() {
+        template.delete(DeleteQuery.builder(Query.findAll()).build(), SkillDocument.class);
+
+        ElasticsearchRepositoryFactory repositories = new ElasticsearchRepositoryFactory(template);
+        SearchCursorCodec codec = new SearchCursorCodec();
+        ReflectionTestUtils.setField(codec, "objectMapper", new ObjectMapper());
+
+        ElasticsearchSearchBackend opened = new ElasticsearchSearchBackend();
+        ReflectionTestUtils.setField(opened, "elasticsearchOperations", template);
+        ReflectionTestUtils.setField(opened, "candidateSearchRepository", repositories.getRepository(CandidateSearchRepository.class));
+        ReflectionTestUtils.setField(opened, "recruiterSearchRepository", repositories.getRepository(RecruiterSearchRepository.class));
+        ReflectionTestUtils.setField(opened, "skillSearchRepository", repositories.getRepository(SkillSearchRepository.class));
+        ReflectionTestUtils.setField(opened, "locationSearchRepository", repositories.getRepository(LocationSearchRepository.class));
+        ReflectionTestUtils.setField(opened, "jobSearchRepository", repositories.getRepository(JobSearchRepository.class));
+        ReflectionTestUtils.setField(opened, "searchCursorCodec", codec);
+        ReflectionTestUtils.setField(opened, "keepAlive", Duration.ofMinutes(1));
+        opened.init();
+        return opened;
+    }
+}
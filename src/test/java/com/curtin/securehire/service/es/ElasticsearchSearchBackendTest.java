@@ -0,0 +1,142 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.entity.es.SkillDocument;
+import com.curtin.securehire.exception.BadRequestException;
+import com.curtin.securehire.repository.es.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ElasticsearchSearchBackend} against mocked operations: when cursor paging opens, reuses and
+ * closes point-in-times, and how pages are cut from the hits. What the backend returns is covered by
+ * {@link ElasticsearchSearchBackendContractTest}.
+ */
+class ElasticsearchSearchBackendTest {
+
+    private ElasticsearchOperations elasticsearchOperations;
+    private ElasticsearchSearchBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        SearchCursorCodec codec = new SearchCursorCodec();
+        ReflectionTestUtils.setField(codec, "objectMapper", new ObjectMapper());
+
+        backend = new ElasticsearchSearchBackend();
+        ReflectionTestUtils.setField(backend, "elasticsearchOperations", elasticsearchOperations);
+        ReflectionTestUtils.setField(backend, "candidateSearchRepository", mock(CandidateSearchRepository.class));
+        ReflectionTestUtils.setField(backend, "recruiterSearchRepository", mock(RecruiterSearchRepository.class));
+        ReflectionTestUtils.setField(backend, "skillSearchRepository", mock(SkillSearchRepository.class));
+        ReflectionTestUtils.setField(backend, "locationSearchRepository", mock(LocationSearchRepository.class));
+        ReflectionTestUtils.setField(backend, "jobSearchRepository", mock(JobSearchRepository.class));
+        ReflectionTestUtils.setField(backend, "searchCursorCodec", codec);
+        ReflectionTestUtils.setField(backend, "keepAlive", Duration.ofMinutes(1));
+        backend.init();
+    }
+
+    @Test
+    void firstPageOpensNoPointInTimeAndSecondSkipsItsHits() {
+        SearchHits<SkillDocument> first = hits(null, 1, 2, 3);
+        when(elasticsearchOperations.search(any(Query.class), eq(SkillDocument.class), any(IndexCoordinates.class)))
+                .thenReturn(first);
+
+        SearchPage<SkillDocument> page = backend.searchPage(SkillDocument.class, "java", 2, null);
+
+        assertThat(page.getItems()).extracting(SkillDocument::getId).containsExactly(1, 2);
+        assertThat(page.getNextCursor()).isNotNull();
+        verify(elasticsearchOperations, never()).openPointInTime(any(IndexCoordinates.class), any(Duration.class));
+
+        // The PIT search returns the first page again, then one more hit: the last page
+        when(elasticsearchOperations.openPointInTime(any(IndexCoordinates.class), any(Duration.class))).thenReturn("pit-1");
+        SearchHits<SkillDocument> second = hits("pit-2", 1, 2, 3);
+        when(elasticsearchOperations.search(any(Query.class), eq(SkillDocument.class))).thenReturn(second);
+
+        page = backend.searchPage(SkillDocument.class, "java", 2, page.getNextCursor());
+
+        assertThat(page.getItems()).extracting(SkillDocument::getId).containsExactly(3);
+        assertThat(page.getNextCursor()).isNull();
+        verify(elasticsearchOperations).closePointInTime("pit-2");
+    }
+
+    @Test
+    void laterPagesContinueOnTheLatestPointInTime() {
+        SearchHits<SkillDocument> first = hits(null, 1, 2);
+        SearchHits<SkillDocument> second = hits("pit-2", 1, 2, 3);
+        SearchHits<SkillDocument> third = hits("pit-3", 4);
+        when(elasticsearchOperations.search(any(Query.class), eq(SkillDocument.class), any(IndexCoordinates.class)))
+                .thenReturn(first);
+        when(elasticsearchOperations.openPointInTime(any(IndexCoordinates.class), any(Duration.class))).thenReturn("pit-1");
+        when(elasticsearchOperations.search(any(Query.class), eq(SkillDocument.class)))
+                .thenReturn(second)
+                .thenReturn(third);
+
+        String cursor = backend.searchPage(SkillDocument.class, "java", 1, null).getNextCursor();
+        cursor = backend.searchPage(SkillDocument.class, "java", 1, cursor).getNextCursor();
+        SearchPage<SkillDocument> page = backend.searchPage(SkillDocument.class, "java", 1, cursor);
+
+        assertThat(page.getItems()).extracting(SkillDocument::getId).containsExactly(4);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(elasticsearchOperations, times(2)).search(queries.capture(), eq(SkillDocument.class));
+        assertThat(queries.getAllValues().get(1).getPointInTime().id()).isEqualTo("pit-2");
+        assertThat(queries.getAllValues().get(1).getSearchAfter()).containsExactly(2.0);
+    }
+
+    @Test
+    void rejectsCursorsOfOtherQueries() {
+        SearchHits<SkillDocument> first = hits(null, 1, 2);
+        when(elasticsearchOperations.search(any(Query.class), eq(SkillDocument.class), any(IndexCoordinates.class)))
+                .thenReturn(first);
+        String cursor = backend.searchPage(SkillDocument.class, "java", 1, null).getNextCursor();
+
+        assertThatThrownBy(() -> backend.searchPage(SkillDocument.class, "python", 1, cursor))
+                .isInstanceOf(BadRequestException.class);
+        verify(elasticsearchOperations, never()).openPointInTime(any(IndexCoordinates.class), any(Duration.class));
+        verify(elasticsearchOperations, never()).closePointInTime(anyString());
+    }
+
+    /**
+     * Hits for skills with the given ids, each sorted by a score equal to its id.
+     */
+    @SuppressWarnings("unchecked")
+    private static SearchHits<SkillDocument> hits(String pit, int... ids) {
+        List<SearchHit<SkillDocument>> hits = new ArrayList<>();
+        for (int id : ids) {
+            SearchHit<SkillDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(skill(id, "Java " + id));
+            when(hit.getSortValues()).thenReturn(List.of((float) id));
+            hits.add(hit);
+        }
+        SearchHits<SkillDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(searchHits.getPointInTimeId()).thenReturn(pit);
+        return searchHits;
+    }
+
+    private static SkillDocument skill(int id, String name) {
+        return new SkillDocument(id, name, "TECHNICAL", null);
+    }
+}
@@ -0,0 +1,114 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.entity.es.SkillDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.index.IndexWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LuceneSearchBackend} on real indexes in a temporary directory: the shared contract, plus the
+ * pinned searcher behind cursors and recovery after restarts.
+ */
+class LuceneSearchBackendTest extends SearchBackendContractTest {
+
+    @TempDir
+    Path path;
+
+    @Override
+    protected SearchBackend openBackend() throws IOException {
+        return open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (backend != null) {
+            lucene().close();
+        }
+    }
+
+    @Test
+    void blankQueriesMatchNothing() {
+        assertThat(backend.search(SkillDocument.class, "  ", 10)).isEmpty();
+    }
+
+    @Test
+    void searchPageReadsFromThePinnedSearcher() {
+        SearchPage<SkillDocument> page = backend.searchPage(SkillDocument.class, "java", 1, null);
+
+        // Written after the first page: later pages still see the index as it was then
+        backend.index(List.of(skill(20, "Java 20")));
+
+        List<Integer> seen = new ArrayList<>();
+        page.getItems().forEach(skill -> seen.add(skill.getId()));
+        while (page.getNextCursor() != null) {
+            page = backend.searchPage(SkillDocument.class, "java", 1, page.getNextCursor());
+            page.getItems().forEach(skill -> seen.add(skill.getId()));
+        }
+
+        assertThat(seen).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void keepsDocumentsAcrossACleanRestart() throws IOException {
+        lucene().close();
+        backend = open();
+
+        assertThat(backend.count(SkillDocument.class)).isEqualTo(4);
+    }
+
+    @Test
+    void emptiesAnIndexThatWasNotClosedCleanly() throws IOException {
+        lucene().commitPending();
+        crash(lucene());
+        backend = null;
+
+        backend = open();
+
+        assertThat(backend.count(SkillDocument.class)).isZero();
+    }
+
+    private LuceneSearchBackend lucene() {
+        return (LuceneSearchBackend) backend;
+    }
+
+    private LuceneSearchBackend open() throws IOException {
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        SearchCursorCodec codec = new SearchCursorCodec();
+        ReflectionTestUtils.setField(codec, "objectMapper", new ObjectMapper());
+
+        LuceneSearchBackend opened = new LuceneSearchBackend();
+        ReflectionTestUtils.setField(opened, "elasticsearchConverter", converter);
+        ReflectionTestUtils.setField(opened, "searchCursorCodec", codec);
+        ReflectionTestUtils.setField(opened, "path", path.toString());
+        ReflectionTestUtils.setField(opened, "keepAlive", Duration.ofMinutes(1));
+        opened.init();
+        return opened;
+    }
+
+    /**
+     * Drop the writers without the closing commit, as a killed process would.
+     */
+    private static void crash(LuceneSearchBackend backend) throws IOException {
+        Map<?, ?> indexes = (Map<?, ?>) ReflectionTestUtils.getField(backend, "indexes");
+        for (Object index : indexes.values()) {
+            IndexWriter writer = ReflectionTestUtils.invokeMethod(index, "writer");
+            writer.rollback();
+        }
+    }
+}
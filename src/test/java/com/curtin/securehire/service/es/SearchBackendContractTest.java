@@ -0,0 +1,114 @@
+package com.curtin.securehire.service.es;
+
+import com.curtin.securehire.dto.SearchPage;
+import com.curtin.securehire.entity.es.SkillDocument;
+import com.curtin.securehire.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every {@link SearchBackend} must share, so switching {@code search.backend} does not change
+ * what callers get back. Each subclass runs it against a real, empty store.
+ */
+abstract class SearchBackendContractTest {
+
+    protected SearchBackend backend;
+
+    /**
+     * A backend over empty indexes, whose writes are visible to the next search.
+     */
+    protected abstract SearchBackend openBackend() throws Exception;
+
+    @BeforeEach
+    void indexSkills() throws Exception {
+        backend = openBackend();
+        backend.index(List.of(
+                skill(1, "Java"),
+                skill(2, "JavaScript"),
+                skill(3, "Python"),
+                skill(4, "Spring Boot")));
+    }
+
+    @Test
+    void searchMatchesWordsContainedInAField() {
+        assertThat(backend.search(SkillDocument.class, "java", 10))
+                .extracting(SkillDocument::getName)
+                .containsExactlyInAnyOrder("Java", "JavaScript");
+    }
+
+    @Test
+    void suggestMatchesWordPrefixes() {
+        assertThat(backend.suggest(SkillDocument.class, "pyt", 10))
+                .extracting(SkillDocument::getName)
+                .containsExactly("Python");
+        assertThat(backend.suggest(SkillDocument.class, "spring bo", 10))
+                .extracting(SkillDocument::getName)
+                .containsExactly("Spring Boot");
+        assertThat(backend.suggest(SkillDocument.class, "boot java", 10)).isEmpty();
+    }
+
+    @Test
+    void deleteRemovesDocumentsAndIgnoresUnknownIds() {
+        assertThat(backend.count(SkillDocument.class)).isEqualTo(4);
+
+        backend.delete(SkillDocument.class, List.of("2", "99"));
+        backend.delete(SkillDocument.class, List.of());
+
+        assertThat(backend.count(SkillDocument.class)).isEqualTo(3);
+        assertThat(backend.search(SkillDocument.class, "java", 10))
+                .extracting(SkillDocument::getId)
+                .containsExactly(1);
+    }
+
+    @Test
+    void indexReplacesDocumentsById() {
+        backend.index(List.of(skill(3, "Rust")));
+
+        assertThat(backend.count(SkillDocument.class)).isEqualTo(4);
+        assertThat(backend.search(SkillDocument.class, "python", 10)).isEmpty();
+        assertThat(backend.search(SkillDocument.class, "rust", 10)).extracting(SkillDocument::getId).containsExactly(3);
+    }
+
+    @Test
+    void searchPageWalksEveryMatchOnce() {
+        List<SkillDocument> more = new ArrayList<>();
+        for (int i = 10; i < 15; i++) {
+            more.add(skill(i, "Java " + i));
+        }
+        backend.index(more);
+
+        List<Integer> seen = new ArrayList<>();
+        SearchPage<SkillDocument> page = backend.searchPage(SkillDocument.class, "java", 3, null);
+        int pages = 1;
+        page.getItems().forEach(skill -> seen.add(skill.getId()));
+        while (page.getNextCursor() != null) {
+            assertThat(page.getItems()).hasSize(3);
+            page = backend.searchPage(SkillDocument.class, "java", 3, page.getNextCursor());
+            page.getItems().forEach(skill -> seen.add(skill.getId()));
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrder(1, 2, 10, 11, 12, 13, 14);
+    }
+
+    @Test
+    void searchPageRejectsCursorsOfOtherQueries() {
+        String cursor = backend.searchPage(SkillDocument.class, "java", 1, null).getNextCursor();
+
+        assertThatThrownBy(() -> backend.searchPage(SkillDocument.class, "python", 1, cursor))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> backend.searchPage(SkillDocument.class, "java", 1, "not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    protected static SkillDocument skill(int id, String name) {
+        return new SkillDocument(id, name, "TECHNICAL", null);
+    }
+}
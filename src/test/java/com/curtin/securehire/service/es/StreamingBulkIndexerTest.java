@@ -0,0 +1,131 @@
+package com.curtin.securehire.service.es;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamingBulkIndexerTest {
+
+    private static final List<Integer> IDS = IntStream.rangeClosed(1, 10).boxed().toList();
+
+    private final List<Integer> checkpoints = new CopyOnWriteArrayList<>();
+
+    // First ids of the chunks whose bulk request fails
+    private final List<Integer> failing = new CopyOnWriteArrayList<>();
+
+    private final List<Integer> indexed = new CopyOnWriteArrayList<>();
+
+    private StreamingBulkIndexer indexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        SearchBackend searchBackend = mock(SearchBackend.class);
+        doAnswer(invocation -> {
+            List<Integer> documents = invocation.getArgument(0);
+            if (failing.contains(documents.get(0))) {
+                throw new IllegalStateException("bulk request failed");
+            }
+            indexed.addAll(documents);
+            return null;
+        }).when(searchBackend).index(any());
+
+        indexer = new StreamingBulkIndexer();
+        ReflectionTestUtils.setField(indexer, "elasticsearchOperations", mock(ElasticsearchOperations.class));
+        ReflectionTestUtils.setField(indexer, "searchBackend", searchBackend);
+        ReflectionTestUtils.setField(indexer, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(indexer, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(indexer, "batchSize", 2);
+        ReflectionTestUtils.setField(indexer, "maxInFlight", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexer.shutdown();
+    }
+
+    @Test
+    void checkpointWaitsForEveryEarlierChunk() {
+        List<Integer> reported = new ArrayList<>();
+        StreamingBulkIndexer.Checkpoints checkpoints = new StreamingBulkIndexer.Checkpoints(reported::add);
+        checkpoints.started(2);
+        checkpoints.started(4);
+        checkpoints.started(6);
+
+        checkpoints.finished(4);
+        checkpoints.finished(6);
+        assertThat(reported).isEmpty();
+
+        checkpoints.finished(2);
+        assertThat(reported).containsExactly(6);
+    }
+
+    @Test
+    void unfinishedChunkHoldsTheCheckpointBeforeIt() {
+        List<Integer> reported = new ArrayList<>();
+        StreamingBulkIndexer.Checkpoints checkpoints = new StreamingBulkIndexer.Checkpoints(reported::add);
+        checkpoints.started(2);
+        checkpoints.started(4);
+        checkpoints.started(6);
+
+        checkpoints.finished(2);
+        checkpoints.finished(6);
+
+        assertThat(reported).containsExactly(2);
+    }
+
+    @Test
+    void checkpointsOfACompletePassEndAtTheLastId() {
+        int total = indexer.index(this::page, ids -> ids, Integer.MIN_VALUE, checkpoints::add);
+
+        assertThat(total).isEqualTo(10);
+        assertThat(indexed).containsExactlyInAnyOrderElementsOf(IDS);
+        assertThat(checkpoints).isSorted().endsWith(10);
+    }
+
+    @Test
+    void resumesFromTheLastCheckpointOfAFailedPass() {
+        failing.add(5);
+
+        assertThatThrownBy(() -> indexer.index(this::page, ids -> ids, Integer.MIN_VALUE, checkpoints::add))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(checkpoints).isSorted().endsWith(4);
+
+        failing.clear();
+        indexed.clear();
+        int resumeAfter = checkpoints.get(checkpoints.size() - 1);
+        checkpoints.clear();
+
+        int total = indexer.index(this::page, ids -> ids, resumeAfter, checkpoints::add);
+
+        assertThat(total).isEqualTo(6);
+        assertThat(indexed).containsExactlyInAnyOrder(5, 6, 7, 8, 9, 10);
+        assertThat(checkpoints).isSorted().endsWith(10);
+    }
+
+    private List<Integer> page(int afterId, Pageable page) {
+        return IDS.stream().filter(id -> id > afterId).limit(page.getPageSize()).toList();
+    }
+}